@@ -20,15 +20,37 @@ package universum.studios.android.widget.adapter;
 
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * A {@link DataSet} implementation that may be used to wrap a set of items and use it as data
  * set in adapters.
+ * <p>
+ * If a {@link KeyExtractor} is specified via {@link #setKeyExtractor(KeyExtractor)}, ids of items
+ * returned by {@link #getItemId(int)} are keys extracted from the items. The extracted keys are
+ * cached in an array parallel to the data, which is built lazily and patched incrementally on
+ * modifications of the data in the same way as the id index described below.
+ * <p>
+ * Positions of items for {@link #positionOfId(long)} are resolved via an index mapping ids of items
+ * (as returned by {@link #getItemId(int)} of this data set) to theirs positions. Both the ids and the
+ * positions are positions of the attached data, not of the adapter. The index is built lazily on
+ * the first lookup after the data has been attached and it is then patched incrementally whenever
+ * the data are modified via {@code insertData(...)}, {@code removeData(...)}, {@code moveData(...)}
+ * or {@code replaceData(...)}. Change of the whole data set notified by the adapter always
+ * invalidates the index, as the items may have been modified in place. If there is no key extractor
+ * specified, ids are positions, so no index is needed for the lookup.
+ * <p>
+ * Registered listeners are stored in copy-on-write arrays, so dispatching of notifications to them
+ * does not allocate any objects and listeners may safely register or unregister themselves (or
+ * other listeners) from within theirs callbacks. Such changes take effect for the next dispatch.
  *
  * @param <A> Type of the adapter where this data set will be used.
  * @author Martin Albedinsky
@@ -134,6 +156,21 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Empty array of data change listeners.
+	 */
+	private static final OnDataChangeListener[] NO_DATA_CHANGE_LISTENERS = new OnDataChangeListener[0];
+
+	/**
+	 * Empty array of data set listeners.
+	 */
+	private static final OnDataSetListener[] NO_DATA_SET_LISTENERS = new OnDataSetListener[0];
+
+	/**
+	 * Empty array of data set action listeners.
+	 */
+	private static final OnDataSetActionListener[] NO_DATA_SET_ACTION_LISTENERS = new OnDataSetActionListener[0];
+
 	/**
 	 * Members =====================================================================================
 	 */
@@ -144,25 +181,65 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	private final A mAdapter;
 
 	/**
-	 * List with registered data change listeners.
+	 * Array with registered data change listeners. Replaced by a new array whenever a listener is
+	 * registered or unregistered.
 	 */
-	private List<OnDataChangeListener> mDataChangeListeners;
+	private OnDataChangeListener[] mDataChangeListeners = NO_DATA_CHANGE_LISTENERS;
 
 	/**
-	 * List with registered data set listeners.
+	 * Array with registered data set listeners. Replaced by a new array whenever a listener is
+	 * registered or unregistered.
 	 */
-	private List<OnDataSetListener> mDataSetListeners;
+	private OnDataSetListener[] mDataSetListeners = NO_DATA_SET_LISTENERS;
 
 	/**
-	 * List with registered data set action listeners.
+	 * Array with registered data set action listeners. Replaced by a new array whenever a listener
+	 * is registered or unregistered.
 	 */
-	private List<OnDataSetActionListener> mDataSetActionListeners;
+	private OnDataSetActionListener[] mDataSetActionListeners = NO_DATA_SET_ACTION_LISTENERS;
 
 	/**
 	 * Data attached to this data set.
 	 */
 	private List<I> mData;
 
+	/**
+	 * Flag indicating whether the attached data are owned by this data set, that is, they have
+	 * been copied into a list that may be safely modified.
+	 */
+	private boolean mDataOwned;
+
+	/**
+	 * Extractor used to provide ids of items. May be {@code null}.
+	 */
+	private KeyExtractor<I> mKeyExtractor;
+
+	/**
+	 * Keys extracted from the items of the adapter, cached at the same positions as the items.
+	 * Valid only if {@link #mKeysValid} is {@code true}.
+	 */
+	private long[] mKeys;
+
+	/**
+	 * Count of the valid keys in {@link #mKeys}.
+	 */
+	private int mKeysCount;
+
+	/**
+	 * Flag indicating whether the current {@link #mKeys} reflect the current data of the adapter.
+	 */
+	private boolean mKeysValid;
+
+	/**
+	 * Index mapping ids of items to theirs positions. Valid only if {@link #mIdIndexValid} is {@code true}.
+	 */
+	private LongIntHashMap mIdIndex;
+
+	/**
+	 * Flag indicating whether the current {@link #mIdIndex} reflects the current data of the adapter.
+	 */
+	private boolean mIdIndexValid;
+
 	/**
 	 * Listener flags determining which listeners are enabled to be notified.
 	 */
@@ -221,8 +298,7 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@Override
 	public void registerOnDataChangeListener(@NonNull OnDataChangeListener listener) {
-		if (mDataChangeListeners == null) this.mDataChangeListeners = new ArrayList<>(1);
-		if (!mDataChangeListeners.contains(listener)) this.mDataChangeListeners.add(listener);
+		this.mDataChangeListeners = appendListener(mDataChangeListeners, listener);
 	}
 
 	/**
@@ -237,10 +313,9 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 		if ((mEnabledListeners & LISTENER_DATA_CHANGE) == 0 || (mEnabledListenerCallbacks & CALLBACK_DATA_CHANGE) == 0) {
 			return;
 		}
-		if (mDataChangeListeners != null && !mDataChangeListeners.isEmpty()) {
-			for (final OnDataChangeListener listener : mDataChangeListeners) {
-				listener.onDataChange(mAdapter, data);
-			}
+		final OnDataChangeListener[] listeners = mDataChangeListeners;
+		for (final OnDataChangeListener listener : listeners) {
+			listener.onDataChange(mAdapter, data);
 		}
 	}
 
@@ -256,10 +331,9 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 		if ((mEnabledListeners & LISTENER_DATA_CHANGE) == 0 || (mEnabledListenerCallbacks & CALLBACK_DATA_CHANGED) == 0) {
 			return;
 		}
-		if (mDataChangeListeners != null && !mDataChangeListeners.isEmpty()) {
-			for (final OnDataChangeListener listener : mDataChangeListeners) {
-				listener.onDataChanged(mAdapter, data);
-			}
+		final OnDataChangeListener[] listeners = mDataChangeListeners;
+		for (final OnDataChangeListener listener : listeners) {
+			listener.onDataChanged(mAdapter, data);
 		}
 	}
 
@@ -267,15 +341,14 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@Override
 	public void unregisterOnDataChangeListener(@NonNull OnDataChangeListener listener) {
-		if (mDataChangeListeners != null) this.mDataChangeListeners.remove(listener);
+		this.mDataChangeListeners = removeListener(mDataChangeListeners, listener);
 	}
 
 	/**
 	 */
 	@Override
 	public void registerOnDataSetListener(@NonNull OnDataSetListener listener) {
-		if (mDataSetListeners == null) this.mDataSetListeners = new ArrayList<>(1);
-		if (!mDataSetListeners.contains(listener)) this.mDataSetListeners.add(listener);
+		this.mDataSetListeners = appendListener(mDataSetListeners, listener);
 	}
 
 	/**
@@ -286,13 +359,13 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@SuppressWarnings("unchecked")
 	void notifyDataSetChanged() {
+		onDataSetChange();
 		if ((mEnabledListeners & LISTENER_DATA_SET) == 0 || (mEnabledListenerCallbacks & CALLBACK_DATA_SET_CHANGED) == 0) {
 			return;
 		}
-		if (mDataSetListeners != null && !mDataSetListeners.isEmpty()) {
-			for (final OnDataSetListener listener : mDataSetListeners) {
-				listener.onDataSetChanged(mAdapter);
-			}
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			listener.onDataSetChanged(mAdapter);
 		}
 	}
 
@@ -304,29 +377,126 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@SuppressWarnings("unchecked")
 	void notifyDataSetInvalidated() {
+		onDataSetChange();
 		if ((mEnabledListeners & LISTENER_DATA_SET) == 0 || (mEnabledListenerCallbacks & CALLBACK_DATA_SET_INVALIDATED) == 0) {
 			return;
 		}
-		if (mDataSetListeners != null && !mDataSetListeners.isEmpty()) {
-			for (final OnDataSetListener listener : mDataSetListeners) {
-				listener.onDataSetInvalidated(mAdapter);
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			listener.onDataSetInvalidated(mAdapter);
+		}
+	}
+
+	/**
+	 * Notifies registered {@link OnDataSetListener OnDataSetListeners} that <var>itemCount</var>
+	 * items have been inserted at the <var>positionStart</var>. Listeners that are not
+	 * {@link OnDataSetRangeListener OnDataSetRangeListeners} are notified about change of the whole
+	 * data set.
+	 */
+	@SuppressWarnings("unchecked")
+	void notifyItemRangeInserted(int positionStart, int itemCount) {
+		onItemRangeChange();
+		if (!areDataSetChangeCallbacksEnabled()) return;
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			if (listener instanceof OnDataSetRangeListener) {
+				((OnDataSetRangeListener) listener).onItemRangeInserted(mAdapter, positionStart, itemCount);
+			} else {
+				listener.onDataSetChanged(mAdapter);
+			}
+		}
+	}
+
+	/**
+	 * Notifies registered {@link OnDataSetListener OnDataSetListeners} that <var>itemCount</var>
+	 * items have been removed from the <var>positionStart</var>. Listeners that are not
+	 * {@link OnDataSetRangeListener OnDataSetRangeListeners} are notified about change of the whole
+	 * data set.
+	 */
+	@SuppressWarnings("unchecked")
+	void notifyItemRangeRemoved(int positionStart, int itemCount) {
+		onItemRangeChange();
+		if (!areDataSetChangeCallbacksEnabled()) return;
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			if (listener instanceof OnDataSetRangeListener) {
+				((OnDataSetRangeListener) listener).onItemRangeRemoved(mAdapter, positionStart, itemCount);
+			} else {
+				listener.onDataSetChanged(mAdapter);
+			}
+		}
+	}
+
+	/**
+	 * Notifies registered {@link OnDataSetListener OnDataSetListeners} that <var>itemCount</var>
+	 * items have been changed from the <var>positionStart</var>. Listeners that are not
+	 * {@link OnDataSetRangeListener OnDataSetRangeListeners} are notified about change of the whole
+	 * data set.
+	 */
+	@SuppressWarnings("unchecked")
+	void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		onItemRangeChange();
+		if (!areDataSetChangeCallbacksEnabled()) return;
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			if (listener instanceof OnDataSetRangeListener) {
+				((OnDataSetRangeListener) listener).onItemRangeChanged(mAdapter, positionStart, itemCount, payload);
+			} else {
+				listener.onDataSetChanged(mAdapter);
 			}
 		}
 	}
 
+	/**
+	 * Notifies registered {@link OnDataSetListener OnDataSetListeners} that <var>itemCount</var>
+	 * items have been moved from the <var>fromPosition</var> to the <var>toPosition</var>. Listeners
+	 * that are not {@link OnDataSetRangeListener OnDataSetRangeListeners} are notified about change
+	 * of the whole data set.
+	 */
+	@SuppressWarnings("unchecked")
+	void notifyItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+		onItemRangeChange();
+		if (!areDataSetChangeCallbacksEnabled()) return;
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			if (listener instanceof OnDataSetRangeListener) {
+				((OnDataSetRangeListener) listener).onItemRangeMoved(mAdapter, fromPosition, toPosition, itemCount);
+			} else {
+				listener.onDataSetChanged(mAdapter);
+			}
+		}
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether {@link OnDataSetListener OnDataSetListeners} may be
+	 * notified about changes of this data set.
+	 */
+	private boolean areDataSetChangeCallbacksEnabled() {
+		return (mEnabledListeners & LISTENER_DATA_SET) != 0 && (mEnabledListenerCallbacks & CALLBACK_DATA_SET_CHANGED) != 0;
+	}
+
 	/**
 	 */
 	@Override
 	public void unregisterOnDataSetListener(@NonNull OnDataSetListener listener) {
-		if (mDataSetListeners != null) this.mDataSetListeners.remove(listener);
+		this.mDataSetListeners = removeListener(mDataSetListeners, listener);
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there are some {@link OnDataSetListener OnDataSetListeners}
+	 * registered.
+	 *
+	 * @return {@code True} if there is at least one data set listener registered, {@code false} otherwise.
+	 */
+	boolean hasDataSetListeners() {
+		return mDataSetListeners.length > 0;
 	}
 
 	/**
 	 */
 	@Override
 	public void registerOnDataSetActionListener(@NonNull OnDataSetActionListener listener) {
-		if (mDataSetActionListeners == null) this.mDataSetActionListeners = new ArrayList<>(1);
-		if (!mDataSetActionListeners.contains(listener)) this.mDataSetActionListeners.add(listener);
+		this.mDataSetActionListeners = appendListener(mDataSetActionListeners, listener);
 	}
 
 	/**
@@ -345,11 +515,10 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 		if ((mEnabledListeners & LISTENER_DATA_SET_ACTION) == 0 || (mEnabledListenerCallbacks & CALLBACK_DATA_SET_ACTION_SELECTED) == 0) {
 			return false;
 		}
-		if (mDataSetActionListeners != null && !mDataSetActionListeners.isEmpty()) {
-			for (final OnDataSetActionListener listener : mDataSetActionListeners) {
-				if (listener.onDataSetActionSelected(mAdapter, action, position, getItemId(position), payload)) {
-					return true;
-				}
+		final OnDataSetActionListener[] listeners = mDataSetActionListeners;
+		for (final OnDataSetActionListener listener : listeners) {
+			if (listener.onDataSetActionSelected(mAdapter, action, position, getItemId(position), payload)) {
+				return true;
 			}
 		}
 		return false;
@@ -359,7 +528,48 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@Override
 	public void unregisterOnDataSetActionListener(@NonNull OnDataSetActionListener listener) {
-		if (mDataSetActionListeners != null) this.mDataSetActionListeners.remove(listener);
+		this.mDataSetActionListeners = removeListener(mDataSetActionListeners, listener);
+	}
+
+	/**
+	 * Returns a copy of the given <var>listeners</var> array with the specified <var>listener</var>
+	 * appended at its end. If the listener is already presented in the array, the same array is
+	 * returned.
+	 *
+	 * @param listeners The current array of listeners.
+	 * @param listener  The listener to append.
+	 * @param <L>       Type of the listeners.
+	 * @return New array of listeners or the same one if the listener is already registered.
+	 */
+	private static <L> L[] appendListener(L[] listeners, L listener) {
+		for (final L registeredListener : listeners) {
+			if (registeredListener.equals(listener)) {
+				return listeners;
+			}
+		}
+		final L[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listener;
+		return newListeners;
+	}
+
+	/**
+	 * Returns a copy of the given <var>listeners</var> array without the specified <var>listener</var>.
+	 * If the listener is not presented in the array, the same array is returned.
+	 *
+	 * @param listeners The current array of listeners.
+	 * @param listener  The listener to remove.
+	 * @param <L>       Type of the listeners.
+	 * @return New array of listeners or the same one if the listener is not registered.
+	 */
+	private static <L> L[] removeListener(L[] listeners, L listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				final L[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+				return newListeners;
+			}
+		}
+		return listeners;
 	}
 
 	/**
@@ -374,9 +584,282 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	List<I> attachData(List<I> data) {
 		final List<I> oldData = mData;
 		this.mData = data;
+		this.mDataOwned = false;
+		invalidateItemIds();
 		return oldData;
 	}
 
+	/**
+	 * Invoked whenever the adapter notifies a change of its whole data set. Such a change may be
+	 * caused also by modification of items in place, so cached keys and the id index are always
+	 * invalidated.
+	 *
+	 * @see #onItemRangeChange()
+	 */
+	void onDataSetChange() {
+		invalidateItemIds();
+	}
+
+	/**
+	 * Invoked whenever the adapter notifies a change of a range of items in its data set. As changes
+	 * of data that are not owned by this data set cannot be tracked, cached keys and the id index
+	 * are invalidated in such case.
+	 *
+	 * @see #onDataSetChange()
+	 */
+	void onItemRangeChange() {
+		if (!mDataOwned) invalidateItemIds();
+	}
+
+	/**
+	 * Invalidates the cached keys of items and the index mapping ids to positions, so they are built
+	 * again when requested next time.
+	 */
+	private void invalidateItemIds() {
+		this.mKeysValid = false;
+		this.mIdIndexValid = false;
+	}
+
+	/**
+	 * Sets an extractor used to provide ids of items.
+	 *
+	 * @param extractor The desired extractor. May be {@code null} to use positions as ids.
+	 * @see DataSetAdapter#setKeyExtractor(KeyExtractor)
+	 */
+	void setKeyExtractor(@Nullable KeyExtractor<I> extractor) {
+		this.mKeyExtractor = extractor;
+		invalidateItemIds();
+	}
+
+	/**
+	 * Returns the extractor used to provide ids of items.
+	 *
+	 * @return Key extractor or {@code null} if not specified.
+	 */
+	@Nullable
+	KeyExtractor<I> getKeyExtractor() {
+		return mKeyExtractor;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether the id index may be incrementally patched. If not,
+	 * it is invalidated.
+	 *
+	 * @return {@code True} if the index is valid and ids of items are keys extracted from the items,
+	 * {@code false} otherwise.
+	 */
+	private boolean prepareIdIndexPatch() {
+		if (mIdIndexValid && mKeyExtractor == null) this.mIdIndexValid = false;
+		return mIdIndexValid;
+	}
+
+	/**
+	 * Ensures that the data attached to this data set may be safely modified. The attached data are
+	 * copied into a new list before first modification so the list attached via {@link #attachData(List)}
+	 * is never modified by this data set.
+	 */
+	private void ensureDataOwned() {
+		if (!mDataOwned) {
+			this.mData = mData == null ? new ArrayList<I>() : new ArrayList<>(mData);
+			this.mDataOwned = true;
+		}
+	}
+
+	/**
+	 * Returns a view of the attached data in the {@code [position, position + count)} range.
+	 *
+	 * @param position The start position of the range.
+	 * @param count    Count of items in the range.
+	 * @return List backed by the attached data.
+	 * @throws IndexOutOfBoundsException If the specified range is out of bounds of the current
+	 *                                   data set.
+	 */
+	@NonNull
+	List<I> getDataRange(int position, int count) {
+		assertValidRangeOrThrow(position, count);
+		return mData.subList(position, position + count);
+	}
+
+	/**
+	 * Inserts the given <var>items</var> into the attached data at the specified <var>position</var>.
+	 *
+	 * @param position The position at which to insert the items. Must be from the range {@code [0, getItemCount()]}.
+	 * @param items    The items to be inserted.
+	 * @throws IndexOutOfBoundsException If the specified position is out of bounds of the current
+	 *                                   data set.
+	 * @see #removeData(int, int)
+	 */
+	void insertData(int position, @NonNull List<I> items) {
+		if (position < 0 || position > getItemCount()) {
+			throw new IndexOutOfBoundsException(
+					"Cannot insert items at invalid position(" + position + "). " +
+							"Data set has items in count of(" + getItemCount() + ")."
+			);
+		}
+		ensureDataOwned();
+		mData.addAll(position, items);
+		if (mKeysValid) {
+			final int count = items.size();
+			ensureKeysCapacity(mKeysCount + count);
+			System.arraycopy(mKeys, position, mKeys, position + count, mKeysCount - position);
+			for (int i = 0; i < count; i++) {
+				mKeys[position + i] = mKeyExtractor.extractKey(items.get(i));
+			}
+			this.mKeysCount += count;
+		}
+		if (prepareIdIndexPatch()) {
+			final int count = items.size();
+			mIdIndex.shiftValues(position, Integer.MAX_VALUE, count);
+			for (int i = position; i < position + count; i++) {
+				mIdIndex.put(getItemId(i), i);
+			}
+		}
+	}
+
+	/**
+	 * Removes items in the range {@code [position, position + count)} from the attached data.
+	 *
+	 * @param position The position from which to start removal.
+	 * @param count    Count of items to remove.
+	 * @return List with the removed items.
+	 * @throws IndexOutOfBoundsException If the specified range is out of bounds of the current
+	 *                                   data set.
+	 * @see #insertData(int, List)
+	 */
+	@NonNull
+	List<I> removeData(int position, int count) {
+		assertValidRangeOrThrow(position, count);
+		ensureDataOwned();
+		final boolean patchIdIndex = prepareIdIndexPatch();
+		if (patchIdIndex) {
+			for (int i = position; i < position + count; i++) {
+				mIdIndex.remove(getItemId(i));
+			}
+		}
+		final List<I> range = mData.subList(position, position + count);
+		final List<I> removed = new ArrayList<>(range);
+		range.clear();
+		if (mKeysValid) {
+			System.arraycopy(mKeys, position + count, mKeys, position, mKeysCount - position - count);
+			this.mKeysCount -= count;
+		}
+		if (patchIdIndex) {
+			mIdIndex.shiftValues(position + count, Integer.MAX_VALUE, -count);
+		}
+		return removed;
+	}
+
+	/**
+	 * Moves an item at the specified <var>fromPosition</var> to the specified <var>toPosition</var>
+	 * within the attached data.
+	 *
+	 * @param fromPosition The current position of the item to move.
+	 * @param toPosition   The position to which to move the item.
+	 * @return The moved item.
+	 * @throws IndexOutOfBoundsException If one of the specified positions is out of bounds of the
+	 *                                   current data set.
+	 */
+	@NonNull
+	I moveData(int fromPosition, int toPosition) {
+		assertValidRangeOrThrow(fromPosition, 1);
+		assertValidRangeOrThrow(toPosition, 1);
+		ensureDataOwned();
+		final boolean patchIdIndex = prepareIdIndexPatch();
+		final long itemId = patchIdIndex ? getItemId(fromPosition) : NO_ID;
+		final I item = mData.remove(fromPosition);
+		mData.add(toPosition, item);
+		if (mKeysValid) {
+			final long key = mKeys[fromPosition];
+			if (fromPosition < toPosition) System.arraycopy(mKeys, fromPosition + 1, mKeys, fromPosition, toPosition - fromPosition);
+			else System.arraycopy(mKeys, toPosition, mKeys, toPosition + 1, fromPosition - toPosition);
+			mKeys[toPosition] = key;
+		}
+		if (patchIdIndex) {
+			if (fromPosition < toPosition) mIdIndex.shiftValues(fromPosition + 1, toPosition + 1, -1);
+			else mIdIndex.shiftValues(toPosition, fromPosition, 1);
+			mIdIndex.put(itemId, toPosition);
+		}
+		return item;
+	}
+
+	/**
+	 * Replaces an item at the specified <var>position</var> within the attached data with the given
+	 * one.
+	 *
+	 * @param position The position of the item to replace.
+	 * @param item     The item to replace the current one with.
+	 * @return The replaced item.
+	 * @throws IndexOutOfBoundsException If the specified position is out of bounds of the current
+	 *                                   data set.
+	 */
+	@NonNull
+	I replaceData(int position, @NonNull I item) {
+		assertValidRangeOrThrow(position, 1);
+		ensureDataOwned();
+		final boolean patchIdIndex = prepareIdIndexPatch();
+		if (patchIdIndex) mIdIndex.remove(getItemId(position));
+		final I replaced = mData.set(position, item);
+		if (mKeysValid) mKeys[position] = mKeyExtractor.extractKey(item);
+		if (patchIdIndex) mIdIndex.put(getItemId(position), position);
+		return replaced;
+	}
+
+	/**
+	 * Searches the {@code [fromPosition, toPosition)} range of the attached data, which must be sorted
+	 * according to the given <var>comparator</var>, for a position at which should be the given
+	 * <var>item</var> inserted to keep the data sorted. If there are items equal to the given one
+	 * in the range, the returned position is after the last of them.
+	 *
+	 * @param item         The item for which to search.
+	 * @param comparator   Comparator by which are the attached data sorted.
+	 * @param fromPosition The start position of the range to search (inclusive).
+	 * @param toPosition   The end position of the range to search (exclusive).
+	 * @return Insertion position from the {@code [fromPosition, toPosition]} range.
+	 * @see #sortData(Comparator)
+	 */
+	int searchData(@NonNull I item, @NonNull Comparator<? super I> comparator, int fromPosition, int toPosition) {
+		int low = fromPosition;
+		int high = toPosition;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (comparator.compare(mData.get(middle), item) <= 0) low = middle + 1;
+			else high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Sorts the attached data according to the given <var>comparator</var>. The sort is stable, so
+	 * equal items keep theirs relative order.
+	 *
+	 * @param comparator Comparator by which to sort the data.
+	 * @see #searchData(Object, Comparator, int, int)
+	 */
+	void sortData(@NonNull Comparator<? super I> comparator) {
+		if (getItemCount() < 2) return;
+		ensureDataOwned();
+		Collections.sort(mData, comparator);
+		invalidateItemIds();
+	}
+
+	/**
+	 * Asserts that the {@code [position, position + count)} range is within bounds of the current
+	 * data set, if not an exception is thrown.
+	 *
+	 * @param position The start position of the range.
+	 * @param count    Count of items in the range.
+	 * @throws IndexOutOfBoundsException If the range is out of bounds of the current data set.
+	 */
+	void assertValidRangeOrThrow(int position, int count) {
+		final int itemCount = getItemCount();
+		if (position < 0 || count < 0 || position + count > itemCount) {
+			throw new IndexOutOfBoundsException(
+					"Requested invalid range [" + position + ", " + (position + count) + "). " +
+							"Data set has items in count of(" + itemCount + ")."
+			);
+		}
+	}
+
 	/**
 	 * Returns the current data attached to this data set.
 	 *
@@ -426,7 +909,61 @@ final class AdapterDataSet<A extends DataSetAdapter<I>, I> implements DataSet<I>
 	 */
 	@Override
 	public long getItemId(int position) {
-		return position;
+		if (mKeyExtractor == null) return position;
+		if (!mKeysValid) rebuildKeys();
+		return position >= 0 && position < mKeysCount ? mKeys[position] : NO_ID;
+	}
+
+	/**
+	 * Extracts keys of all items of the attached data into the keys cache. The keys are indexed by
+	 * positions of the data, not by positions of the adapter, which may present also other items
+	 * (like headers).
+	 */
+	private void rebuildKeys() {
+		final int itemCount = getItemCount();
+		ensureKeysCapacity(itemCount);
+		for (int i = 0; i < itemCount; i++) {
+			mKeys[i] = mKeyExtractor.extractKey(mData.get(i));
+		}
+		this.mKeysCount = itemCount;
+		this.mKeysValid = true;
+	}
+
+	/**
+	 * Ensures that the keys cache has capacity for at least the specified count of keys.
+	 */
+	private void ensureKeysCapacity(int capacity) {
+		if (mKeys == null) {
+			this.mKeys = new long[Math.max(capacity, 16)];
+		} else if (mKeys.length < capacity) {
+			this.mKeys = Arrays.copyOf(mKeys, Math.max(capacity, mKeys.length + (mKeys.length >> 1)));
+		}
+	}
+
+	/**
+	 * Resolves the position via index mapping ids returned by {@link #getItemId(int)} to positions,
+	 * so this lookup has constant complexity except the first lookup after the index has been
+	 * invalidated.
+	 */
+	@Override
+	public int positionOfId(long id) {
+		if (mKeyExtractor == null) return id >= 0 && id < getItemCount() ? (int) id : NO_POSITION;
+		if (!mIdIndexValid) rebuildIdIndex();
+		return mIdIndex.get(id, NO_POSITION);
+	}
+
+	/**
+	 * Builds the index mapping ids of items to theirs positions from the current attached data.
+	 * If there are multiple items with the same id, the lowest position is mapped.
+	 */
+	private void rebuildIdIndex() {
+		final int itemCount = getItemCount();
+		if (mIdIndex == null) this.mIdIndex = new LongIntHashMap(itemCount);
+		else mIdIndex.clear(itemCount);
+		for (int i = itemCount - 1; i >= 0; i--) {
+			mIdIndex.put(getItemId(i), i);
+		}
+		this.mIdIndexValid = true;
 	}
 
 	/**
@@ -0,0 +1,151 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holder for executors shared by adapters of this library that need to perform some work off the
+ * main thread (like computation of differences between two data sets) and then to publish results
+ * of such work back on the main thread.
+ *
+ * @author Martin Albedinsky
+ */
+final class AdapterExecutors {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "AdapterExecutors";
+
+	/**
+	 * Name of the background thread used by the default background executor.
+	 */
+	private static final String BACKGROUND_THREAD_NAME = "WidgetAdapters-Background";
+
+	/**
+	 * Time in seconds after which is terminated the background thread of the default background
+	 * executor if there is no work to run.
+	 */
+	private static final long BACKGROUND_KEEP_ALIVE_SECONDS = 30;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize lazy initialization of the shared executors.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Default executor used to run background work of adapters.
+	 */
+	private static ThreadPoolExecutor sBackgroundExecutor;
+
+	/**
+	 * Handler used to post results of background work on the main thread.
+	 */
+	private static Handler sMainHandler;
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private AdapterExecutors() {
+		// Creation of instances of this class is not publicly allowed.
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the default executor that should be used by adapters to run theirs background work.
+	 * <p>
+	 * The returned executor runs all submitted tasks sequentially on a single background thread,
+	 * which is started on demand and terminated when there is no work to run for a while.
+	 *
+	 * @return Shared background executor.
+	 */
+	@NonNull
+	static Executor background() {
+		synchronized (LOCK) {
+			if (sBackgroundExecutor == null) {
+				final ThreadFactory threadFactory = new ThreadFactory() {
+
+					/**
+					 */
+					@Override
+					public Thread newThread(@NonNull Runnable runnable) {
+						final Thread thread = new Thread(runnable, BACKGROUND_THREAD_NAME);
+						thread.setDaemon(true);
+						return thread;
+					}
+				};
+				sBackgroundExecutor = new ThreadPoolExecutor(
+						1, 1, BACKGROUND_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+						new LinkedBlockingQueue<Runnable>(),
+						threadFactory
+				);
+				sBackgroundExecutor.allowCoreThreadTimeOut(true);
+			}
+			return sBackgroundExecutor;
+		}
+	}
+
+	/**
+	 * Returns the handler that may be used to post results of background work on the main thread.
+	 *
+	 * @return Shared main thread handler.
+	 */
+	@NonNull
+	static Handler mainHandler() {
+		synchronized (LOCK) {
+			if (sMainHandler == null) sMainHandler = new Handler(Looper.getMainLooper());
+			return sMainHandler;
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,486 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Filtering engine used by {@link FilterableItemsAdapter} implementations to filter theirs items
+ * via {@link ItemFilter} on a background thread.
+ * <p>
+ * Filtering of source items for the current query runs on the filter executor and its result is
+ * published on the main thread via {@link Callback#onItemsFiltered(List)}. Whenever the query or the
+ * source items change, filtering that may be still running is cancelled and its result discarded.
+ * If the new query starts with the query of the last published result, only the items of that
+ * result are filtered instead of all source items.
+ * <p>
+ * Source items are held as a private snapshot which is never modified in place, so filtering may
+ * safely read it on a background thread. In-place changes of the presented items should be reported
+ * via {@code onItem...(...)} methods, so they are also applied to the source items and are not lost
+ * once filtering is cleared.
+ * <p>
+ * All methods of this class must be called on the main thread.
+ *
+ * @param <I> Type of the filtered items.
+ * @author Martin Albedinsky
+ */
+final class AdapterItemsFilter<I> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "AdapterItemsFilter";
+
+	/**
+	 * Count of filtered items after which is checked whether the filtering has been cancelled.
+	 */
+	private static final int CANCELLATION_CHECK_INTERVAL = 256;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Callback to which are published results of filtering.
+	 *
+	 * @param <I> Type of the filtered items.
+	 */
+	interface Callback<I> {
+
+		/**
+		 * Invoked on the main thread with the items that should be presented by the adapter.
+		 *
+		 * @param items Items that match the current query or the source items if filtering has been
+		 *              cleared. May be {@code null} if the source items are {@code null}.
+		 */
+		void onItemsFiltered(@Nullable List<I> items);
+	}
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Callback to which are published results of filtering.
+	 */
+	private final Callback<I> mCallback;
+
+	/**
+	 * Filter used to evaluate items.
+	 */
+	private ItemFilter<I> mFilter;
+
+	/**
+	 * Executor on which runs filtering. If {@code null}, a default shared background executor is used.
+	 */
+	private Executor mExecutor;
+
+	/**
+	 * Snapshot of the unfiltered source items. Never modified in place.
+	 */
+	private List<I> mSource;
+
+	/**
+	 * The current query. Empty if filtering is not active.
+	 */
+	private String mQuery = "";
+
+	/**
+	 * Query for which has been computed the last published result.
+	 */
+	private String mResultQuery;
+
+	/**
+	 * The last published result.
+	 */
+	private List<I> mResult;
+
+	/**
+	 * Generation of filtering requests. Used to cancel filtering that has become outdated.
+	 */
+	private volatile int mGeneration;
+
+	/**
+	 * Flag indicating whether there is filtering requested of which result has not been published yet.
+	 */
+	private boolean mFilteringPending;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of AdapterItemsFilter with the specified <var>callback</var>.
+	 *
+	 * @param callback Callback to which to publish results of filtering.
+	 */
+	AdapterItemsFilter(@NonNull Callback<I> callback) {
+		this.mCallback = callback;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Sets a filter used to evaluate items. If filtering is active, it is performed again with the
+	 * new filter.
+	 *
+	 * @param filter The desired filter. May be {@code null} so all items will match.
+	 */
+	void setFilter(@Nullable ItemFilter<I> filter) {
+		this.mFilter = filter;
+		clearResult();
+		if (isFiltering()) requestFiltering();
+	}
+
+	/**
+	 * Returns the filter used to evaluate items.
+	 *
+	 * @return Item filter or {@code null} if not specified.
+	 */
+	@Nullable
+	ItemFilter<I> getFilter() {
+		return mFilter;
+	}
+
+	/**
+	 * Sets an executor on which should run filtering.
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one.
+	 */
+	void setExecutor(@Nullable Executor executor) {
+		this.mExecutor = executor;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there is a filtering query specified at this time.
+	 *
+	 * @return {@code True} if the presented items are filtered, {@code false} otherwise.
+	 */
+	boolean isFiltering() {
+		return mQuery.length() > 0;
+	}
+
+	/**
+	 * Returns the current filtering query.
+	 *
+	 * @return The query. Empty if filtering is not active.
+	 */
+	@NonNull
+	String getQuery() {
+		return mQuery;
+	}
+
+	/**
+	 * Sets the unfiltered source items. If filtering is active, the new items are filtered for the
+	 * current query.
+	 * <p>
+	 * The given items are copied, so the list may be modified afterwards without affecting filtering.
+	 *
+	 * @param source The desired source items. May be {@code null}.
+	 */
+	void setSource(@Nullable List<I> source) {
+		this.mSource = source == null ? null : new ArrayList<>(source);
+		clearResult();
+		if (isFiltering()) requestFiltering();
+	}
+
+	/**
+	 * Replaces the unfiltered source items with the given ones.
+	 *
+	 * @param source The desired source items. May be {@code null}.
+	 * @return The previous source items.
+	 * @see #setSource(List)
+	 */
+	@Nullable
+	List<I> swapSource(@Nullable List<I> source) {
+		final List<I> oldSource = mSource;
+		setSource(source);
+		return oldSource;
+	}
+
+	/**
+	 * Returns the unfiltered source items.
+	 *
+	 * @return Source items. May be {@code null}.
+	 */
+	@Nullable
+	List<I> getSource() {
+		return mSource;
+	}
+
+	/**
+	 * Returns the unfiltered items of the adapter.
+	 *
+	 * @param presentedItems The items that are presented by the adapter at this time.
+	 * @return Source items if filtering is active, the presented items otherwise.
+	 */
+	@Nullable
+	List<I> getSourceItems(@Nullable List<I> presentedItems) {
+		return isFiltering() ? mSource : presentedItems;
+	}
+
+	/**
+	 * Filters the items of the adapter for the specified <var>query</var>. If filtering is not active
+	 * yet, a snapshot of the given <var>presentedItems</var> becomes the source items.
+	 *
+	 * @param query          The desired query. May be {@code null} to clear filtering.
+	 * @param presentedItems The items that are presented by the adapter at this time.
+	 * @see #filter(CharSequence)
+	 */
+	void filterItems(@Nullable CharSequence query, @Nullable List<I> presentedItems) {
+		if (!isFiltering()) {
+			if (query == null || query.length() == 0) return;
+			setSource(presentedItems);
+		}
+		filter(query);
+	}
+
+	/**
+	 * Requests filtering of the source items for the specified <var>query</var>. Filtering that is
+	 * still running for a different query is cancelled.
+	 * <p>
+	 * If the query is {@code null} or empty, the source items are immediately published.
+	 *
+	 * @param query The desired query. May be {@code null} to clear filtering.
+	 */
+	void filter(@Nullable CharSequence query) {
+		final String newQuery = query == null ? "" : query.toString();
+		if (newQuery.equals(mQuery)) return;
+		this.mQuery = newQuery;
+		if (isFiltering()) {
+			requestFiltering();
+		} else {
+			// Cancel filtering that may be still running.
+			this.mGeneration++;
+			this.mFilteringPending = false;
+			clearResult();
+			final List<I> source = mSource;
+			this.mSource = null;
+			mCallback.onItemsFiltered(source);
+		}
+	}
+
+	/**
+	 * Clears the last published result, so it is not used as base for the next filtering.
+	 */
+	private void clearResult() {
+		this.mResult = null;
+		this.mResultQuery = null;
+	}
+
+	/**
+	 * Requests filtering for the current query on the filter executor.
+	 */
+	private void requestFiltering() {
+		final int generation = ++mGeneration;
+		this.mFilteringPending = true;
+		final ItemFilter<I> filter = mFilter;
+		final String query = mQuery;
+		// Only narrowing of the previous query may reuse its result.
+		final List<I> items = mResult != null && query.startsWith(mResultQuery) ? mResult : mSource;
+		final Executor executor = mExecutor == null ? AdapterExecutors.background() : mExecutor;
+		executor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				final List<I> result = performFiltering(items, filter, query, generation);
+				if (result == null) {
+					return;
+				}
+				AdapterExecutors.mainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						publishResult(result, query, generation);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Filters the given <var>items</var>. Called on the filter executor.
+	 *
+	 * @return Items matching the query or {@code null} if the filtering has been cancelled.
+	 */
+	final List<I> performFiltering(List<I> items, ItemFilter<I> filter, String query, int generation) {
+		final int itemCount = items == null ? 0 : items.size();
+		final List<I> result = new ArrayList<>();
+		for (int i = 0; i < itemCount; i++) {
+			if (i % CANCELLATION_CHECK_INTERVAL == 0 && generation != mGeneration) {
+				return null;
+			}
+			final I item = items.get(i);
+			if (filter == null || filter.matches(item, query)) {
+				result.add(item);
+			}
+		}
+		return generation == mGeneration ? result : null;
+	}
+
+	/**
+	 * Publishes the given <var>result</var> to the callback if it is not outdated.
+	 */
+	final void publishResult(List<I> result, String query, int generation) {
+		if (generation != mGeneration) {
+			return;
+		}
+		this.mFilteringPending = false;
+		this.mResult = result;
+		this.mResultQuery = query;
+		mCallback.onItemsFiltered(result);
+	}
+
+	/**
+	 * Applies insertion of the given <var>items</var> at the specified <var>position</var> of the
+	 * presented items also to the source items. Does nothing if filtering is not active.
+	 *
+	 * @param presentedItems The presented items after the insertion.
+	 * @param position       Position at which have been the items inserted into the presented items.
+	 * @param items          The inserted items.
+	 */
+	void onItemsInserted(@NonNull List<I> presentedItems, int position, @NonNull List<I> items) {
+		if (!isFiltering()) return;
+		final List<I> source = mSource == null ? new ArrayList<I>(items.size()) : new ArrayList<>(mSource);
+		source.addAll(sourceIndexOf(source, presentedItems, position + items.size(), position - 1), items);
+		onSourceChanged(source);
+	}
+
+	/**
+	 * Applies removal of the given <var>items</var> from the presented items also to the source items.
+	 * Does nothing if filtering is not active.
+	 *
+	 * @param items The removed items.
+	 */
+	void onItemsRemoved(@NonNull List<I> items) {
+		if (!isFiltering() || mSource == null || items.isEmpty()) return;
+		// Count of removed occurrences for each removed item, so the source is traversed only once.
+		final IdentityHashMap<I, int[]> removedCounts = new IdentityHashMap<>(items.size());
+		for (final I item : items) {
+			final int[] count = removedCounts.get(item);
+			if (count == null) removedCounts.put(item, new int[]{1});
+			else count[0]++;
+		}
+		final List<I> source = new ArrayList<>(mSource.size());
+		for (final I item : mSource) {
+			final int[] count = removedCounts.get(item);
+			if (count != null && count[0] > 0) count[0]--;
+			else source.add(item);
+		}
+		onSourceChanged(source);
+	}
+
+	/**
+	 * Applies move of an item to the specified <var>toPosition</var> within the presented items also
+	 * to the source items. Does nothing if filtering is not active.
+	 *
+	 * @param presentedItems The presented items after the move.
+	 * @param toPosition     Position to which has been the item moved.
+	 */
+	void onItemMoved(@NonNull List<I> presentedItems, int toPosition) {
+		if (!isFiltering() || mSource == null) return;
+		final I item = presentedItems.get(toPosition);
+		final List<I> source = new ArrayList<>(mSource);
+		final int index = indexOfIdentical(source, item);
+		if (index == -1) return;
+		source.remove(index);
+		source.add(sourceIndexOf(source, presentedItems, toPosition + 1, toPosition - 1), item);
+		onSourceChanged(source);
+	}
+
+	/**
+	 * Applies replacement of the given <var>oldItem</var> with the <var>newItem</var> within the
+	 * presented items also to the source items. Does nothing if filtering is not active.
+	 *
+	 * @param oldItem The replaced item.
+	 * @param newItem The item which has replaced the old one.
+	 */
+	void onItemReplaced(@NonNull I oldItem, @NonNull I newItem) {
+		if (!isFiltering() || mSource == null) return;
+		final int index = indexOfIdentical(mSource, oldItem);
+		if (index == -1) return;
+		final List<I> source = new ArrayList<>(mSource);
+		source.set(index, newItem);
+		onSourceChanged(source);
+	}
+
+	/**
+	 * Attaches the given changed <var>source</var> items. The last published result is cleared as it
+	 * does not reflect the change, and if there is filtering pending for the previous source items,
+	 * it is requested again, so its result does not revert the change.
+	 */
+	private void onSourceChanged(List<I> source) {
+		this.mSource = source;
+		clearResult();
+		if (mFilteringPending) requestFiltering();
+	}
+
+	/**
+	 * Returns index within the given <var>source</var> items before the presented item at the
+	 * <var>nextPosition</var> or, if there is no such item, after the presented item at the
+	 * <var>previousPosition</var>. If neither of them is found, size of the source is returned.
+	 */
+	private static <I> int sourceIndexOf(List<I> source, List<I> presentedItems, int nextPosition, int previousPosition) {
+		final int presentedCount = presentedItems == null ? 0 : presentedItems.size();
+		if (nextPosition >= 0 && nextPosition < presentedCount) {
+			final int index = indexOfIdentical(source, presentedItems.get(nextPosition));
+			if (index != -1) return index;
+		}
+		if (previousPosition >= 0 && previousPosition < presentedCount) {
+			final int index = indexOfIdentical(source, presentedItems.get(previousPosition));
+			if (index != -1) return index + 1;
+		}
+		return source.size();
+	}
+
+	/**
+	 * Returns index of the given <var>item</var> instance within the given <var>items</var> or
+	 * {@code -1} if there is no such instance.
+	 */
+	private static <I> int indexOfIdentical(List<I> items, I item) {
+		for (int i = 0; i < items.size(); i++) {
+			if (items.get(i) == item) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -150,4 +150,17 @@ public interface DataSet<I> {
 	 * @see #getItem(int)
 	 */
 	long getItemId(int position);
+
+	/**
+	 * Returns the position of an item with the specified <var>id</var>.
+	 * <p>
+	 * This is a reverse lookup to {@link #getItemId(int)}, so ids of items in this data set should
+	 * be unique in order to obtain meaningful results.
+	 *
+	 * @param id The id of item of which position to obtain.
+	 * @return Position of the item or {@link #NO_POSITION} if there is no item with such id or this
+	 * data set does not support this lookup.
+	 * @see #getItemId(int)
+	 */
+	int positionOfId(long id);
 }
@@ -20,6 +20,7 @@ package universum.studios.android.widget.adapter;
 
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 /**
  * A convenience interface specifying common API for adapters with data set.
@@ -47,6 +48,54 @@ public interface DataSetAdapter<I> extends DataSet<I> {
 	 */
 	boolean hasStableIds();
 
+	/**
+	 * Sets an extractor that should be used to provide ids of items from the data set of this adapter.
+	 * <p>
+	 * When specified, this adapter reports that it has stable ids and {@link #getItemId(int)} returns
+	 * the key extracted for an item at the requested position. Extracted keys are cached, so the
+	 * extractor is invoked for each item only once per data change.
+	 *
+	 * @param extractor The desired key extractor. May be {@code null} to clear the current one, so
+	 *                  ids of items will be theirs positions.
+	 * @see #getKeyExtractor()
+	 */
+	void setKeyExtractor(@Nullable KeyExtractor<I> extractor);
+
+	/**
+	 * Returns the extractor used to provide ids of items from the data set of this adapter.
+	 *
+	 * @return Key extractor or {@code null} if there is no extractor specified.
+	 * @see #setKeyExtractor(KeyExtractor)
+	 */
+	@Nullable
+	KeyExtractor<I> getKeyExtractor();
+
+	/**
+	 * Begins a new batch of data set changes for this adapter.
+	 * <p>
+	 * While there is a batch active, all data set notifications requested upon this adapter (including
+	 * those requested by its modules) are only recorded and merged together. When the outermost batch
+	 * is ended via {@link #endBatch()}, a single minimal notification representing all the recorded
+	 * ones is dispatched. Ranged notifications that cannot be merged into a single ranged notification
+	 * are merged into a single <b>data set changed</b> notification.
+	 * <p>
+	 * Batches may be nested, but each call to this method must be paired with call to {@link #endBatch()}.
+	 *
+	 * @see #endBatch()
+	 */
+	void beginBatch();
+
+	/**
+	 * Ends the current batch of data set changes began via {@link #beginBatch()}.
+	 * <p>
+	 * If the ended batch is the outermost one, the notification merged from all notifications recorded
+	 * during the batch (if any) is dispatched by this adapter.
+	 *
+	 * @throws IllegalStateException If there is no batch to end.
+	 * @see #beginBatch()
+	 */
+	void endBatch();
+
 	/**
 	 * Saves the current state of this adapter.
 	 * <p>
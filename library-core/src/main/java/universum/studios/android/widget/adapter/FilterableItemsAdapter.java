@@ -0,0 +1,102 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link ItemsAdapter} interface extension for adapters of which items may be filtered via
+ * {@link ItemFilter}.
+ * <p>
+ * Filtering runs on a background thread, filtering that is still running for a previous query is
+ * cancelled and if the new query only extends the previous one, only the previously filtered items
+ * are filtered again. Filtered items are attached to the adapter in the same way as items passed to
+ * {@link #swapItems(List)}, while the unfiltered items remain accessible via {@link #getSourceItems()}.
+ * In-place changes of items made while the items are filtered are applied to both the filtered and
+ * the source items.
+ *
+ * @author Martin Albedinsky
+ */
+public interface FilterableItemsAdapter<I> extends ItemsAdapter<I> {
+
+	/**
+	 * Specifies a filter that should be used to filter items of this adapter via {@link #filterItems(CharSequence)}.
+	 * If the items are being filtered at this time, they are filtered again using the new filter.
+	 *
+	 * @param filter The desired filter. May be {@code null} so all items will match any query.
+	 * @see #getItemFilter()
+	 */
+	void setItemFilter(@Nullable ItemFilter<I> filter);
+
+	/**
+	 * Returns the filter used to filter items of this adapter.
+	 *
+	 * @return Item filter or {@code null} if not specified.
+	 * @see #setItemFilter(ItemFilter)
+	 */
+	@Nullable
+	ItemFilter<I> getItemFilter();
+
+	/**
+	 * Specifies an executor on which should run filtering of items.
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one that runs
+	 *                 filtering on a single shared background thread.
+	 * @see #filterItems(CharSequence)
+	 */
+	void setFilterExecutor(@Nullable Executor executor);
+
+	/**
+	 * Filters the source items of this adapter for the specified <var>query</var>. The items are
+	 * filtered on a background thread and the filtered items are attached to this adapter once the
+	 * filtering finishes.
+	 * <p>
+	 * While the items are filtered, items passed to {@link #swapItems(List)} become the new source
+	 * items which are filtered for the current query.
+	 *
+	 * @param query The desired query. May be {@code null} or empty to clear filtering and attach
+	 *              back all source items.
+	 * @see #setItemFilter(ItemFilter)
+	 * @see #getSourceItems()
+	 */
+	void filterItems(@Nullable CharSequence query);
+
+	/**
+	 * Returns the current filtering query.
+	 *
+	 * @return The query specified via {@link #filterItems(CharSequence)} or empty string if the items
+	 * are not filtered.
+	 */
+	@NonNull
+	CharSequence getFilterQuery();
+
+	/**
+	 * Returns the unfiltered items of this adapter.
+	 *
+	 * @return Source items if the items are filtered at this time, the same items as {@link #getItems()}
+	 * otherwise.
+	 * @see #filterItems(CharSequence)
+	 */
+	@Nullable
+	List<I> getSourceItems();
+}
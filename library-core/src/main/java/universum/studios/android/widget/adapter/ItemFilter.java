@@ -0,0 +1,46 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Filter used to determine which items of an adapter's data set match a filtering query.
+ * <p>
+ * <b>Note</b>, that {@link #matches(Object, CharSequence)} is invoked on a <b>background</b> thread.
+ * <p>
+ * As an adapter may reuse results of the previous query when the new query only extends it (the
+ * previous query is a prefix of the new one), the filter must be <b>narrowing</b>: an item that
+ * does not match a query must not match any query that starts with that query. This is satisfied
+ * by all common text filters, like <i>contains</i> or <i>starts with</i>.
+ *
+ * @param <I> Type of the items that this filter evaluates.
+ * @author Martin Albedinsky
+ */
+public interface ItemFilter<I> {
+
+	/**
+	 * Checks whether the given <var>item</var> matches the specified <var>query</var>.
+	 *
+	 * @param item  The item to check.
+	 * @param query The current filtering query. Never empty.
+	 * @return {@code True} if the item should be presented for the query, {@code false} otherwise.
+	 */
+	boolean matches(@NonNull I item, @NonNull CharSequence query);
+}
@@ -18,6 +18,7 @@
  */
 package universum.studios.android.widget.adapter;
 
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.List;
@@ -25,6 +26,11 @@ import java.util.List;
 /**
  * A {@link DataSetAdapter} interface extension for simple adapters that provide set of items
  * as theirs data set.
+ * <p>
+ * Besides changing of the whole items data set, the items may be also changed in place via
+ * {@link #insertItems(int, List)}, {@link #removeItems(int, int)}, {@link #moveItem(int, int)} and
+ * {@link #replaceItem(int, Object)}. For these changes the registered {@link OnDataChangeListener OnDataChangeListeners}
+ * receive only the affected items instead of the whole items data set.
  *
  * @author Martin Albedinsky
  */
@@ -49,8 +55,60 @@ public interface ItemsAdapter<I> extends DataSetAdapter<I> {
 	@Nullable
 	List<I> swapItems(@Nullable List<I> items);
 
+	/**
+	 * Inserts the given <var>items</var> into the current items data set of this adapter at the
+	 * specified <var>position</var>.
+	 *
+	 * @param position The position at which to insert the items. Must be from the range {@code [0, getItemCount()]}.
+	 * @param items    The desired items to insert.
+	 * @throws IndexOutOfBoundsException If the specified position is out of bounds of the current
+	 *                                   items data set.
+	 * @see #removeItems(int, int)
+	 */
+	void insertItems(int position, @NonNull List<I> items);
+
+	/**
+	 * Removes items in the {@code [position, position + count)} range from the current items data
+	 * set of this adapter.
+	 *
+	 * @param position The position from which to start removal.
+	 * @param count    Count of items to remove.
+	 * @throws IndexOutOfBoundsException If the specified range is out of bounds of the current
+	 *                                   items data set.
+	 * @see #insertItems(int, List)
+	 */
+	void removeItems(int position, int count);
+
+	/**
+	 * Moves an item at the specified <var>fromPosition</var> to the specified <var>toPosition</var>
+	 * within the current items data set of this adapter.
+	 *
+	 * @param fromPosition The current position of the item to move.
+	 * @param toPosition   The position to which to move the item.
+	 * @throws IndexOutOfBoundsException If one of the specified positions is out of bounds of the
+	 *                                   current items data set.
+	 */
+	void moveItem(int fromPosition, int toPosition);
+
+	/**
+	 * Replaces an item at the specified <var>position</var> within the current items data set of
+	 * this adapter with the given <var>item</var>.
+	 *
+	 * @param position The position of the item to replace.
+	 * @param item     The item to replace the current one with.
+	 * @return The replaced item.
+	 * @throws IndexOutOfBoundsException If the specified position is out of bounds of the current
+	 *                                   items data set.
+	 */
+	@NonNull
+	I replaceItem(int position, @NonNull I item);
+
 	/**
 	 * Returns the current items data set of this adapter.
+	 * <p>
+	 * <b>Note</b>, that after the items data set has been changed in place, the returned list is
+	 * a copy of the list that has been attached via {@link #swapItems(List)} as such list is never
+	 * modified by this adapter.
 	 *
 	 * @return This adapter's items data set or {@code null} if there is no items data set provided
 	 * by this adapter.
@@ -0,0 +1,43 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Extractor which provides a unique key for an item of adapter's data set. When installed upon a
+ * {@link DataSetAdapter} via {@link DataSetAdapter#setKeyExtractor(KeyExtractor)}, the extracted
+ * keys are used as ids of items and the adapter reports that it has stable ids.
+ *
+ * @param <I> Type of the items from which are keys extracted.
+ * @author Martin Albedinsky
+ */
+public interface KeyExtractor<I> {
+
+	/**
+	 * Extracts a key from the given <var>item</var>.
+	 * <p>
+	 * The extracted key must be unique within the data set and must not change for the same item,
+	 * otherwise adapter views will not be able to properly track theirs items across data set changes.
+	 *
+	 * @param item The item from which to extract the key.
+	 * @return The key of the item.
+	 */
+	long extractKey(@NonNull I item);
+}
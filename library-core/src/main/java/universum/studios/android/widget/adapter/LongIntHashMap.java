@@ -0,0 +1,276 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive {@code long} keys and <b>non-negative</b> primitive {@code int} values
+ * implemented using open addressing with linear probing, so neither keys nor values are boxed and
+ * no objects are allocated per mapping.
+ * <p>
+ * This map is used to map ids of items to theirs positions, so negative values are not supported
+ * as they are used internally to mark empty slots.
+ *
+ * @author Martin Albedinsky
+ */
+final class LongIntHashMap {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "LongIntHashMap";
+
+	/**
+	 * Value marking an empty slot.
+	 */
+	private static final int EMPTY = -1;
+
+	/**
+	 * Minimum capacity of the hash table.
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Keys of the hash table.
+	 */
+	private long[] mKeys;
+
+	/**
+	 * Values of the hash table. Slot is empty if its value is {@link #EMPTY}.
+	 */
+	private int[] mValues;
+
+	/**
+	 * Count of mappings in this map.
+	 */
+	private int mSize;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of LongIntHashMap with initial capacity for the specified count of
+	 * mappings.
+	 *
+	 * @param expectedSize Count of mappings that should fit into the map without resizing.
+	 */
+	LongIntHashMap(int expectedSize) {
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns size of the hash table able to hold the specified count of mappings with load factor
+	 * of at most {@code 0.5}.
+	 */
+	private static int tableSizeFor(int size) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < size * 2) capacity <<= 1;
+		return capacity;
+	}
+
+	/**
+	 * Allocates a new empty hash table with the specified capacity.
+	 */
+	private void allocate(int capacity) {
+		this.mKeys = new long[capacity];
+		this.mValues = new int[capacity];
+		Arrays.fill(mValues, EMPTY);
+		this.mSize = 0;
+	}
+
+	/**
+	 * Returns index of the slot at which should the specified key be stored in a table with the
+	 * specified (power of two) capacity.
+	 */
+	private static int slotOf(long key, int capacity) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		hash ^= hash >>> 32;
+		return (int) hash & (capacity - 1);
+	}
+
+	/**
+	 * Returns count of mappings in this map.
+	 */
+	int size() {
+		return mSize;
+	}
+
+	/**
+	 * Removes all mappings from this map. If the map is not large enough to hold the specified
+	 * count of mappings, its table is reallocated.
+	 *
+	 * @param expectedSize Count of mappings that should fit into the map without resizing.
+	 */
+	void clear(int expectedSize) {
+		final int capacity = tableSizeFor(expectedSize);
+		if (capacity > mKeys.length) {
+			allocate(capacity);
+		} else {
+			Arrays.fill(mValues, EMPTY);
+			this.mSize = 0;
+		}
+	}
+
+	/**
+	 * Returns the value mapped to the specified <var>key</var>.
+	 *
+	 * @param key          The key of which value to obtain.
+	 * @param defaultValue Value to be returned if there is no mapping for the key.
+	 * @return Mapped value or the default one.
+	 */
+	int get(long key, int defaultValue) {
+		final long[] keys = mKeys;
+		final int[] values = mValues;
+		final int mask = keys.length - 1;
+		int slot = slotOf(key, keys.length);
+		while (values[slot] != EMPTY) {
+			if (keys[slot] == key) return values[slot];
+			slot = (slot + 1) & mask;
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Maps the specified <var>value</var> to the specified <var>key</var>, replacing the previous
+	 * mapping if any.
+	 *
+	 * @param key   The key to map.
+	 * @param value The non-negative value to map.
+	 */
+	void put(long key, int value) {
+		if ((mSize + 1) * 2 > mKeys.length) rehash(mKeys.length << 1);
+		final long[] keys = mKeys;
+		final int[] values = mValues;
+		final int mask = keys.length - 1;
+		int slot = slotOf(key, keys.length);
+		while (values[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		this.mSize++;
+	}
+
+	/**
+	 * Removes mapping for the specified <var>key</var> (if any).
+	 *
+	 * @param key The key of which mapping to remove.
+	 */
+	void remove(long key) {
+		final long[] keys = mKeys;
+		final int[] values = mValues;
+		final int mask = keys.length - 1;
+		int slot = slotOf(key, keys.length);
+		while (values[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				deleteSlot(slot);
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Deletes mapping at the specified <var>slot</var> and shifts back all mappings of the following
+	 * probe sequence that would become unreachable, so no tombstones are needed.
+	 */
+	private void deleteSlot(int slot) {
+		final long[] keys = mKeys;
+		final int[] values = mValues;
+		final int mask = keys.length - 1;
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while (values[next] != EMPTY) {
+			final int ideal = slotOf(keys[next], keys.length);
+			// Move the mapping into the gap if its ideal slot does not lie cyclically in (gap, next].
+			if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		values[gap] = EMPTY;
+		this.mSize--;
+	}
+
+	/**
+	 * Adds the specified <var>delta</var> to all values from the {@code [start, end)} range.
+	 * This does not change structure of the hash table, so it does not need rehashing.
+	 *
+	 * @param start Start of the range of values to shift (inclusive).
+	 * @param end   End of the range of values to shift (exclusive).
+	 * @param delta The delta by which to shift the values.
+	 */
+	void shiftValues(int start, int end, int delta) {
+		final int[] values = mValues;
+		for (int i = 0; i < values.length; i++) {
+			final int value = values[i];
+			if (value >= start && value < end) values[i] = value + delta;
+		}
+	}
+
+	/**
+	 * Rehashes all mappings into a new table with the specified capacity.
+	 */
+	private void rehash(int capacity) {
+		final long[] oldKeys = mKeys;
+		final int[] oldValues = mValues;
+		allocate(capacity);
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] == EMPTY) continue;
+			int slot = slotOf(oldKeys[i], capacity);
+			while (mValues[slot] != EMPTY) slot = (slot + 1) & mask;
+			mKeys[slot] = oldKeys[i];
+			mValues[slot] = oldValues[i];
+			this.mSize++;
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,335 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Recorder of adapter notifications used to implement {@link DataSetAdapter#beginBatch()} and
+ * {@link DataSetAdapter#endBatch()} transactions.
+ * <p>
+ * While a batch is active, notifications are recorded via {@code record...(...)} methods and merged
+ * together. When the outermost batch is ended via {@link #end()}, the merged notification may be
+ * dispatched to a {@link Target} via {@link #dispatch(Target)}. Ranged notifications that may be
+ * expressed by a single ranged notification (like insertions of adjacent ranges) are merged into
+ * such notification, all others are merged into a single <b>data set changed</b> notification.
+ *
+ * @author Martin Albedinsky
+ */
+final class NotificationBatch {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "NotificationBatch";
+
+	/**
+	 * Type identifying that there is no notification recorded.
+	 */
+	private static final int TYPE_NONE = 0;
+
+	/**
+	 * Type identifying recorded insertion of items range.
+	 */
+	private static final int TYPE_RANGE_INSERTED = 1;
+
+	/**
+	 * Type identifying recorded removal of items range.
+	 */
+	private static final int TYPE_RANGE_REMOVED = 2;
+
+	/**
+	 * Type identifying recorded change of items range.
+	 */
+	private static final int TYPE_RANGE_CHANGED = 3;
+
+	/**
+	 * Type identifying recorded move of items range.
+	 */
+	private static final int TYPE_RANGE_MOVED = 4;
+
+	/**
+	 * Type identifying recorded change of the whole data set.
+	 */
+	private static final int TYPE_CHANGED = 5;
+
+	/**
+	 * Type identifying recorded invalidation of the whole data set.
+	 */
+	private static final int TYPE_INVALIDATED = 6;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Target to which may be dispatched the merged notification.
+	 */
+	interface Target {
+
+		/**
+		 * Invoked to dispatch change of the whole data set.
+		 */
+		void onChanged();
+
+		/**
+		 * Invoked to dispatch invalidation of the whole data set.
+		 */
+		void onInvalidated();
+
+		/**
+		 * Invoked to dispatch insertion of <var>itemCount</var> items at the <var>positionStart</var>.
+		 */
+		void onItemRangeInserted(int positionStart, int itemCount);
+
+		/**
+		 * Invoked to dispatch removal of <var>itemCount</var> items from the <var>positionStart</var>.
+		 */
+		void onItemRangeRemoved(int positionStart, int itemCount);
+
+		/**
+		 * Invoked to dispatch change of <var>itemCount</var> items from the <var>positionStart</var>.
+		 */
+		void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload);
+
+		/**
+		 * Invoked to dispatch move of <var>itemCount</var> items from the <var>fromPosition</var>
+		 * to the <var>toPosition</var>.
+		 */
+		void onItemRangeMoved(int fromPosition, int toPosition, int itemCount);
+	}
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Depth of the nested batches. Batch is active if depth is greater than {@code 0}.
+	 */
+	private int mDepth;
+
+	/**
+	 * Type of the currently recorded notification.
+	 */
+	private int mType = TYPE_NONE;
+
+	/**
+	 * Start position (or from position for move) of the currently recorded ranged notification.
+	 */
+	private int mPosition;
+
+	/**
+	 * Item count of the currently recorded ranged notification.
+	 */
+	private int mCount;
+
+	/**
+	 * Target position of the currently recorded move notification.
+	 */
+	private int mToPosition;
+
+	/**
+	 * Payload of the currently recorded change notification.
+	 */
+	private Object mPayload;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Begins a new (possibly nested) batch.
+	 *
+	 * @see #end()
+	 */
+	void begin() {
+		this.mDepth++;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there is a batch active at this time.
+	 *
+	 * @return {@code True} if notifications should be recorded, {@code false} if they should be
+	 * dispatched immediately.
+	 */
+	boolean isActive() {
+		return mDepth > 0;
+	}
+
+	/**
+	 * Ends the current batch.
+	 *
+	 * @return {@code True} if the ended batch was the outermost one, so the recorded notification
+	 * should be dispatched now, {@code false} otherwise.
+	 * @throws IllegalStateException If there is no batch to end.
+	 * @see #begin()
+	 */
+	boolean end() {
+		if (mDepth == 0) throw new IllegalStateException("No batch to end. Each endBatch() must be paired with beginBatch().");
+		return --mDepth == 0;
+	}
+
+	/**
+	 * Records change of the whole data set.
+	 */
+	void recordChanged() {
+		if (mType != TYPE_INVALIDATED) this.mType = TYPE_CHANGED;
+	}
+
+	/**
+	 * Records invalidation of the whole data set.
+	 */
+	void recordInvalidated() {
+		this.mType = TYPE_INVALIDATED;
+	}
+
+	/**
+	 * Records insertion of <var>itemCount</var> items at the <var>positionStart</var>.
+	 */
+	void recordItemRangeInserted(int positionStart, int itemCount) {
+		if (itemCount <= 0) return;
+		if (mType == TYPE_NONE) {
+			recordRange(TYPE_RANGE_INSERTED, positionStart, itemCount, null);
+		} else if (mType == TYPE_RANGE_INSERTED && positionStart >= mPosition && positionStart <= mPosition + mCount) {
+			this.mCount += itemCount;
+		} else {
+			recordChanged();
+		}
+	}
+
+	/**
+	 * Records removal of <var>itemCount</var> items from the <var>positionStart</var>.
+	 */
+	void recordItemRangeRemoved(int positionStart, int itemCount) {
+		if (itemCount <= 0) return;
+		if (mType == TYPE_NONE) {
+			recordRange(TYPE_RANGE_REMOVED, positionStart, itemCount, null);
+		} else if (mType == TYPE_RANGE_REMOVED && positionStart <= mPosition && positionStart + itemCount >= mPosition) {
+			this.mPosition = positionStart;
+			this.mCount += itemCount;
+		} else {
+			recordChanged();
+		}
+	}
+
+	/**
+	 * Records change of <var>itemCount</var> items from the <var>positionStart</var>.
+	 */
+	void recordItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		if (itemCount <= 0) return;
+		switch (mType) {
+			case TYPE_NONE:
+				recordRange(TYPE_RANGE_CHANGED, positionStart, itemCount, payload);
+				break;
+			case TYPE_RANGE_INSERTED:
+				// Changes of just inserted items do not need to be notified.
+				if (positionStart < mPosition || positionStart + itemCount > mPosition + mCount) {
+					recordChanged();
+				}
+				break;
+			case TYPE_RANGE_CHANGED:
+				if (payload == mPayload && positionStart <= mPosition + mCount && positionStart + itemCount >= mPosition) {
+					final int end = Math.max(mPosition + mCount, positionStart + itemCount);
+					this.mPosition = Math.min(mPosition, positionStart);
+					this.mCount = end - mPosition;
+				} else {
+					recordChanged();
+				}
+				break;
+			default:
+				recordChanged();
+				break;
+		}
+	}
+
+	/**
+	 * Records move of <var>itemCount</var> items from the <var>fromPosition</var> to the <var>toPosition</var>.
+	 */
+	void recordItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+		if (itemCount <= 0 || fromPosition == toPosition) return;
+		if (mType == TYPE_NONE) {
+			recordRange(TYPE_RANGE_MOVED, fromPosition, itemCount, null);
+			this.mToPosition = toPosition;
+		} else {
+			recordChanged();
+		}
+	}
+
+	/**
+	 * Records a ranged notification of the specified <var>type</var>.
+	 */
+	private void recordRange(int type, int position, int count, Object payload) {
+		this.mType = type;
+		this.mPosition = position;
+		this.mCount = count;
+		this.mPayload = payload;
+	}
+
+	/**
+	 * Dispatches the recorded notification (if any) to the given <var>target</var> and clears it.
+	 *
+	 * @param target The target to which to dispatch the recorded notification.
+	 */
+	void dispatch(@NonNull Target target) {
+		final int type = mType;
+		final Object payload = mPayload;
+		this.mType = TYPE_NONE;
+		this.mPayload = null;
+		switch (type) {
+			case TYPE_RANGE_INSERTED:
+				target.onItemRangeInserted(mPosition, mCount);
+				break;
+			case TYPE_RANGE_REMOVED:
+				target.onItemRangeRemoved(mPosition, mCount);
+				break;
+			case TYPE_RANGE_CHANGED:
+				target.onItemRangeChanged(mPosition, mCount, payload);
+				break;
+			case TYPE_RANGE_MOVED:
+				target.onItemRangeMoved(mPosition, mToPosition, mCount);
+				break;
+			case TYPE_CHANGED:
+				target.onChanged();
+				break;
+			case TYPE_INVALIDATED:
+				target.onInvalidated();
+				break;
+			case TYPE_NONE:
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
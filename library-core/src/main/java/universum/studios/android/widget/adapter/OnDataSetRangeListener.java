@@ -0,0 +1,79 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * An {@link OnDataSetListener} which also receives callbacks about changes of particular ranges of
+ * items in adapter's data set, so it may update its state incrementally.
+ * <p>
+ * This listener is registered in the same way as {@link OnDataSetListener}. Adapters that are able
+ * to notify ranged changes invoke the corresponding {@code onItemRange...(...)} callbacks, while
+ * changes of the whole data set are still delivered via {@link #onDataSetChanged(Object)} and
+ * {@link #onDataSetInvalidated(Object)}.
+ *
+ * @param <A> Type of the Adapter to which will be this data set listener attached.
+ * @author Martin Albedinsky
+ */
+public interface OnDataSetRangeListener<A> extends OnDataSetListener<A> {
+
+	/**
+	 * Invoked whenever <var>itemCount</var> items starting at the <var>positionStart</var> have been
+	 * inserted into the data set of the passed <var>adapter</var>.
+	 *
+	 * @param adapter       The adapter of which data set was just changed.
+	 * @param positionStart Position of the first inserted item.
+	 * @param itemCount     Count of the inserted items.
+	 */
+	void onItemRangeInserted(@NonNull A adapter, int positionStart, int itemCount);
+
+	/**
+	 * Invoked whenever <var>itemCount</var> items previously starting at the <var>positionStart</var>
+	 * have been removed from the data set of the passed <var>adapter</var>.
+	 *
+	 * @param adapter       The adapter of which data set was just changed.
+	 * @param positionStart Previous position of the first removed item.
+	 * @param itemCount     Count of the removed items.
+	 */
+	void onItemRangeRemoved(@NonNull A adapter, int positionStart, int itemCount);
+
+	/**
+	 * Invoked whenever <var>itemCount</var> items starting at the <var>positionStart</var> have been
+	 * changed in the data set of the passed <var>adapter</var>.
+	 *
+	 * @param adapter       The adapter of which data set was just changed.
+	 * @param positionStart Position of the first changed item.
+	 * @param itemCount     Count of the changed items.
+	 * @param payload       Optional payload describing the change. May be {@code null}.
+	 */
+	void onItemRangeChanged(@NonNull A adapter, int positionStart, int itemCount, @Nullable Object payload);
+
+	/**
+	 * Invoked whenever <var>itemCount</var> items have been moved from the <var>fromPosition</var>
+	 * to the <var>toPosition</var> in the data set of the passed <var>adapter</var>.
+	 *
+	 * @param adapter      The adapter of which data set was just changed.
+	 * @param fromPosition Previous position of the first moved item.
+	 * @param toPosition   New position of the first moved item.
+	 * @param itemCount    Count of the moved items.
+	 */
+	void onItemRangeMoved(@NonNull A adapter, int fromPosition, int toPosition, int itemCount);
+}
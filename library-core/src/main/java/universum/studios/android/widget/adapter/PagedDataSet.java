@@ -0,0 +1,802 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link DataSet} implementation which does not hold all its items in memory, but only fixed-size
+ * pages of them that are loaded on demand from a {@link PageSource}.
+ * <p>
+ * Count of items of this data set is always exact (as reported by {@link PageSource#getItemCount()}),
+ * for positions of which page has not been loaded yet, the <b>placeholder</b> item specified for
+ * this data set is returned by {@link #getItem(int)} and {@link #isPlaceholderAt(int)} returns {@code true}.
+ * <p>
+ * Each call to {@link #getItem(int)} (which is typically called whenever an adapter binds view for
+ * a particular position) is treated as access to the requested position via {@link #loadAround(int)},
+ * which requests loading of all pages within the prefetch distance (see {@link #setPrefetchDistance(int)})
+ * of that position. Pages are loaded via {@link PageSource#loadPage(int, int)} on a background executor
+ * (see {@link #setExecutor(Executor)}) and attached to this data set on the main thread, where also
+ * all registered {@link OnPageLoadListener OnPageLoadListeners} are notified. Count of loaded pages
+ * is limited (see {@link #setMaxLoadedPages(int)}) and when the limit is reached, the least recently
+ * accessed page outside of the prefetch window is evicted.
+ * <p>
+ * All methods of this data set must be called on the main thread.
+ *
+ * <h3>Usage with adapters</h3>
+ * <pre>
+ * final PagedDataSet&lt;Product&gt; products = new PagedDataSet&lt;&gt;(productsSource, 50, Product.PLACEHOLDER);
+ * products.registerOnPageLoadListener(new PagedDataSet.OnPageLoadListener() {
+ *
+ *     &#64;Override
+ *     public void onPageLoaded(&#64;NonNull PagedDataSet&lt;?&gt; dataSet, int positionStart, int itemCount) {
+ *         adapter.notifyItemRangeChanged(positionStart, itemCount);
+ *     }
+ * });
+ * // The list view does not materialize any items.
+ * adapter.changeItems(products.asList());
+ * </pre>
+ *
+ * @param <I> Type of the items provided by this data set.
+ * @author Martin Albedinsky
+ */
+public class PagedDataSet<I> implements DataSet<I> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "PagedDataSet";
+
+	/**
+	 * Default count of pages that may be loaded at the same time.
+	 */
+	public static final int DEFAULT_MAX_LOADED_PAGES = 8;
+
+	/**
+	 * Empty array of data change listeners.
+	 */
+	private static final OnDataChangeListener[] NO_DATA_CHANGE_LISTENERS = new OnDataChangeListener[0];
+
+	/**
+	 * Empty array of data set listeners.
+	 */
+	private static final OnDataSetListener[] NO_DATA_SET_LISTENERS = new OnDataSetListener[0];
+
+	/**
+	 * Empty array of data set action listeners.
+	 */
+	private static final OnDataSetActionListener[] NO_DATA_SET_ACTION_LISTENERS = new OnDataSetActionListener[0];
+
+	/**
+	 * Empty array of page load listeners.
+	 */
+	private static final OnPageLoadListener[] NO_PAGE_LOAD_LISTENERS = new OnPageLoadListener[0];
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Source from which may {@link PagedDataSet} load pages of its items.
+	 *
+	 * @param <I> Type of the items provided by this source.
+	 * @author Martin Albedinsky
+	 */
+	public interface PageSource<I> {
+
+		/**
+		 * Returns the total count of items available within this source.
+		 * <p>
+		 * This is called on the main thread whenever a paged data set is created or invalidated,
+		 * so it should be fast.
+		 *
+		 * @return Count of items that may be loaded from this source.
+		 */
+		@IntRange(from = 0)
+		int getItemCount();
+
+		/**
+		 * Loads a page of items from this source.
+		 * <p>
+		 * This is called on a background thread.
+		 *
+		 * @param startPosition Position of the first item of the page to load.
+		 * @param loadSize      Count of items to load. The returned list should contain exactly this
+		 *                      count of items, for missing items will be used placeholders.
+		 * @return List with the loaded items.
+		 */
+		@NonNull
+		List<I> loadPage(int startPosition, int loadSize);
+	}
+
+	/**
+	 * Listener that may be used to receive callback about loaded pages of {@link PagedDataSet}.
+	 *
+	 * @author Martin Albedinsky
+	 */
+	public interface OnPageLoadListener {
+
+		/**
+		 * Invoked whenever a new page of items has been loaded and attached to the given <var>dataSet</var>.
+		 * Items in the specified range are no longer placeholders.
+		 *
+		 * @param dataSet       The data set to which has been the page attached.
+		 * @param positionStart Position of the first loaded item.
+		 * @param itemCount     Count of the loaded items.
+		 */
+		void onPageLoaded(@NonNull PagedDataSet<?> dataSet, int positionStart, int itemCount);
+	}
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Source from which are pages of this data set loaded.
+	 */
+	private final PageSource<I> mSource;
+
+	/**
+	 * Count of items in a single page.
+	 */
+	private final int mPageSize;
+
+	/**
+	 * Item returned for positions of which page is not loaded.
+	 */
+	private final I mPlaceholder;
+
+	/**
+	 * Executor used to load pages.
+	 */
+	private Executor mExecutor;
+
+	/**
+	 * Current count of items of this data set.
+	 */
+	private int mItemCount;
+
+	/**
+	 * Array with the loaded pages. Page at an index is {@code null} if it is not loaded.
+	 */
+	private Object[][] mPages;
+
+	/**
+	 * Array with flags indicating whether a page at an index is being loaded at this time.
+	 */
+	private boolean[] mPagesLoading;
+
+	/**
+	 * Indexes of the loaded pages ordered from the least recently accessed to the most recently accessed.
+	 */
+	private int[] mLoadedPages;
+
+	/**
+	 * Count of the valid indexes in {@link #mLoadedPages}.
+	 */
+	private int mLoadedPagesCount;
+
+	/**
+	 * Maximum count of pages that may be loaded at the same time.
+	 */
+	private int mMaxLoadedPages = DEFAULT_MAX_LOADED_PAGES;
+
+	/**
+	 * Distance (in positions) from the last accessed position within which should be pages prefetched,
+	 * as requested via {@link #setPrefetchDistance(int)}.
+	 */
+	private int mRequestedPrefetchDistance;
+
+	/**
+	 * Distance (in positions) from the last accessed position within which are pages prefetched. This
+	 * is the requested distance clamped so all pages within it fit into {@link #mMaxLoadedPages}.
+	 */
+	private int mPrefetchDistance;
+
+	/**
+	 * Last position passed to {@link #loadAround(int)}.
+	 */
+	private int mLastAccessedPosition = NO_POSITION;
+
+	/**
+	 * Generation of the data of this data set, incremented whenever this data set is invalidated, so
+	 * results of pages loaded before invalidation may be discarded.
+	 */
+	private int mGeneration;
+
+	/**
+	 * List view of this data set.
+	 */
+	private List<I> mListView;
+
+	/**
+	 * Registered data change listeners.
+	 */
+	private OnDataChangeListener[] mDataChangeListeners = NO_DATA_CHANGE_LISTENERS;
+
+	/**
+	 * Registered data set listeners.
+	 */
+	private OnDataSetListener[] mDataSetListeners = NO_DATA_SET_LISTENERS;
+
+	/**
+	 * Registered data set action listeners.
+	 */
+	private OnDataSetActionListener[] mDataSetActionListeners = NO_DATA_SET_ACTION_LISTENERS;
+
+	/**
+	 * Registered page load listeners.
+	 */
+	private OnPageLoadListener[] mPageLoadListeners = NO_PAGE_LOAD_LISTENERS;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of PagedDataSet with the specified page source.
+	 * <p>
+	 * Prefetch distance is by default set to the specified <var>pageSize</var> (clamped as described
+	 * in {@link #setPrefetchDistance(int)}).
+	 *
+	 * @param source      The source from which to load pages of items.
+	 * @param pageSize    Count of items in a single page.
+	 * @param placeholder Item to be returned for positions of which page is not loaded.
+	 * @throws IllegalArgumentException If the specified page size is not positive.
+	 */
+	public PagedDataSet(@NonNull PageSource<I> source, @IntRange(from = 1) int pageSize, @NonNull I placeholder) {
+		if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive, specified(" + pageSize + ").");
+		this.mSource = source;
+		this.mPageSize = pageSize;
+		this.mPlaceholder = placeholder;
+		this.mExecutor = AdapterExecutors.background();
+		this.mRequestedPrefetchDistance = pageSize;
+		resetPages();
+		updatePrefetchDistance();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the count of items in a single page of this data set.
+	 *
+	 * @return Page size specified for this data set.
+	 */
+	public final int getPageSize() {
+		return mPageSize;
+	}
+
+	/**
+	 * Sets a distance from the last accessed position within which should be pages prefetched.
+	 * <p>
+	 * All pages within the prefetch distance must fit into the count of pages that may be loaded at
+	 * the same time, otherwise the prefetched pages would evict each other and would be loaded again
+	 * in a loop. So the distance is clamped to at most {@code (maxLoadedPages - 1) * pageSize / 2}
+	 * positions and is clamped again whenever {@link #setMaxLoadedPages(int)} is called.
+	 * <p>
+	 * Default value: <b>page size</b>
+	 *
+	 * @param distance The desired distance in positions. May be {@code 0} to load only page of the
+	 *                 accessed position.
+	 * @see #getPrefetchDistance()
+	 */
+	public void setPrefetchDistance(@IntRange(from = 0) int distance) {
+		this.mRequestedPrefetchDistance = Math.max(0, distance);
+		updatePrefetchDistance();
+	}
+
+	/**
+	 * Updates the current prefetch distance to the requested one clamped so all pages within it fit
+	 * into the maximum count of loaded pages.
+	 */
+	private void updatePrefetchDistance() {
+		// A window of 2 * distance + 1 positions spans at most (2 * distance + 2 * pageSize - 1) / pageSize pages.
+		final int maxDistance = (int) Math.min(Integer.MAX_VALUE, (long) (mMaxLoadedPages - 1) * mPageSize / 2);
+		this.mPrefetchDistance = Math.min(mRequestedPrefetchDistance, maxDistance);
+	}
+
+	/**
+	 * Returns the distance within which are pages prefetched.
+	 *
+	 * @return Prefetch distance in positions, clamped so all prefetched pages fit into the maximum
+	 * count of loaded pages.
+	 * @see #setPrefetchDistance(int)
+	 */
+	public int getPrefetchDistance() {
+		return mPrefetchDistance;
+	}
+
+	/**
+	 * Sets a maximum count of pages that may be loaded at the same time. When this count is exceeded,
+	 * the least recently accessed pages are evicted.
+	 * <p>
+	 * Default value: <b>{@link #DEFAULT_MAX_LOADED_PAGES}</b>
+	 *
+	 * @param maxPages The desired count of pages.
+	 * @throws IllegalArgumentException If the specified count is not positive.
+	 * @see #getMaxLoadedPages()
+	 */
+	public void setMaxLoadedPages(@IntRange(from = 1) int maxPages) {
+		if (maxPages <= 0) throw new IllegalArgumentException("Max loaded pages must be positive, specified(" + maxPages + ").");
+		this.mMaxLoadedPages = maxPages;
+		updatePrefetchDistance();
+		if (mLoadedPages.length < maxPages) {
+			this.mLoadedPages = Arrays.copyOf(mLoadedPages, maxPages);
+		}
+		trimLoadedPages(maxPages);
+	}
+
+	/**
+	 * Returns the maximum count of pages that may be loaded at the same time.
+	 *
+	 * @return Count of pages.
+	 * @see #setMaxLoadedPages(int)
+	 */
+	public int getMaxLoadedPages() {
+		return mMaxLoadedPages;
+	}
+
+	/**
+	 * Sets an executor that should be used to load pages of this data set.
+	 * <p>
+	 * By default pages are loaded on a background thread shared by adapters of this library.
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one.
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.mExecutor = executor == null ? AdapterExecutors.background() : executor;
+	}
+
+	/**
+	 */
+	@Override
+	public void registerOnDataChangeListener(@NonNull OnDataChangeListener listener) {
+		this.mDataChangeListeners = appendListener(mDataChangeListeners, listener);
+	}
+
+	/**
+	 */
+	@Override
+	public void unregisterOnDataChangeListener(@NonNull OnDataChangeListener listener) {
+		this.mDataChangeListeners = removeListener(mDataChangeListeners, listener);
+	}
+
+	/**
+	 */
+	@Override
+	public void registerOnDataSetListener(@NonNull OnDataSetListener listener) {
+		this.mDataSetListeners = appendListener(mDataSetListeners, listener);
+	}
+
+	/**
+	 */
+	@Override
+	public void unregisterOnDataSetListener(@NonNull OnDataSetListener listener) {
+		this.mDataSetListeners = removeListener(mDataSetListeners, listener);
+	}
+
+	/**
+	 */
+	@Override
+	public void registerOnDataSetActionListener(@NonNull OnDataSetActionListener listener) {
+		this.mDataSetActionListeners = appendListener(mDataSetActionListeners, listener);
+	}
+
+	/**
+	 */
+	@Override
+	public void unregisterOnDataSetActionListener(@NonNull OnDataSetActionListener listener) {
+		this.mDataSetActionListeners = removeListener(mDataSetActionListeners, listener);
+	}
+
+	/**
+	 * Registers a callback to be invoked whenever a page of items is loaded.
+	 *
+	 * @param listener The desired listener callback to register.
+	 * @see #unregisterOnPageLoadListener(OnPageLoadListener)
+	 */
+	public void registerOnPageLoadListener(@NonNull OnPageLoadListener listener) {
+		this.mPageLoadListeners = appendListener(mPageLoadListeners, listener);
+	}
+
+	/**
+	 * Unregisters the given callback from the page load listeners.
+	 *
+	 * @param listener The desired listener callback to unregister.
+	 * @see #registerOnPageLoadListener(OnPageLoadListener)
+	 */
+	public void unregisterOnPageLoadListener(@NonNull OnPageLoadListener listener) {
+		this.mPageLoadListeners = removeListener(mPageLoadListeners, listener);
+	}
+
+	/**
+	 * Appends the given <var>listener</var> into the specified array of <var>listeners</var> if it
+	 * is not presented there yet.
+	 *
+	 * @return Array with the appended listener or the same array if the listener is already presented.
+	 */
+	private static <L> L[] appendListener(L[] listeners, L listener) {
+		for (final L registered : listeners) {
+			if (registered.equals(listener)) return listeners;
+		}
+		final L[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listener;
+		return newListeners;
+	}
+
+	/**
+	 * Removes the given <var>listener</var> from the specified array of <var>listeners</var>.
+	 *
+	 * @return Array without the removed listener or the same array if the listener is not presented.
+	 */
+	private static <L> L[] removeListener(L[] listeners, L listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				final L[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+				return newListeners;
+			}
+		}
+		return listeners;
+	}
+
+	/**
+	 * Notifies all registered {@link OnDataSetActionListener OnDataSetActionListeners} that the
+	 * given <var>action</var> has been selected for the specified <var>position</var>.
+	 *
+	 * @param action   The action that was selected.
+	 * @param position The position for which was the specified action selected.
+	 * @param payload  Additional payload data for the selected action. May be {@code null}.
+	 * @return {@code True} if the action has been handled by one of the registered listeners,
+	 * {@code false} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean notifyDataSetActionSelected(int action, int position, @Nullable Object payload) {
+		final long itemId = getItemId(position);
+		final OnDataSetActionListener[] listeners = mDataSetActionListeners;
+		for (final OnDataSetActionListener listener : listeners) {
+			if (listener.onDataSetActionSelected(this, action, position, itemId, payload)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Invalidates this data set, so the item count is requested again from the page source and all
+	 * loaded pages are dropped. Pages that are being loaded at this time will be discarded once loaded.
+	 * <p>
+	 * The registered {@link OnDataSetListener OnDataSetListeners} are notified about invalidation.
+	 */
+	@SuppressWarnings("unchecked")
+	public void invalidate() {
+		this.mGeneration++;
+		resetPages();
+		final OnDataSetListener[] listeners = mDataSetListeners;
+		for (final OnDataSetListener listener : listeners) {
+			listener.onDataSetInvalidated(this);
+		}
+		if (mLastAccessedPosition != NO_POSITION && mItemCount > 0) {
+			loadAround(Math.min(mLastAccessedPosition, mItemCount - 1));
+		}
+	}
+
+	/**
+	 * Resets all pages related data according to the current item count of the page source.
+	 */
+	private void resetPages() {
+		this.mItemCount = Math.max(0, mSource.getItemCount());
+		final int pageCount = (mItemCount + mPageSize - 1) / mPageSize;
+		this.mPages = new Object[pageCount][];
+		this.mPagesLoading = new boolean[pageCount];
+		this.mLoadedPages = new int[mMaxLoadedPages];
+		this.mLoadedPagesCount = 0;
+	}
+
+	/**
+	 */
+	@Override
+	public boolean isEmpty() {
+		return mItemCount == 0;
+	}
+
+	/**
+	 */
+	@Override
+	public int getItemCount() {
+		return mItemCount;
+	}
+
+	/**
+	 */
+	@Override
+	public boolean hasItemAt(int position) {
+		return position >= 0 && position < mItemCount;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether the item at the specified <var>position</var> is
+	 * only a placeholder, because its page is not loaded yet.
+	 * <p>
+	 * Unlike {@link #getItem(int)}, this method does not request loading of any pages.
+	 *
+	 * @param position The position of item to check.
+	 * @return {@code True} if there is a placeholder at the position, {@code false} if there is
+	 * loaded item.
+	 */
+	public boolean isPlaceholderAt(int position) {
+		assertValidPositionOrThrow(position);
+		final Object[] page = mPages[position / mPageSize];
+		return page == null || position % mPageSize >= page.length;
+	}
+
+	/**
+	 * Returns the item at the specified <var>position</var>.
+	 * <p>
+	 * This call also requests loading of pages around the position via {@link #loadAround(int)}.
+	 *
+	 * @return The loaded item or the placeholder item if its page is not loaded yet.
+	 * @see #isPlaceholderAt(int)
+	 */
+	@NonNull
+	@Override
+	@SuppressWarnings("unchecked")
+	public I getItem(int position) {
+		loadAround(position);
+		final Object[] page = mPages[position / mPageSize];
+		final int index = position % mPageSize;
+		return page == null || index >= page.length ? mPlaceholder : (I) page[index];
+	}
+
+	/**
+	 */
+	@Override
+	public long getItemId(int position) {
+		return hasItemAt(position) ? position : NO_ID;
+	}
+
+	/**
+	 * As ids of items in this data set are theirs positions, this simply returns the specified id
+	 * if it is a valid position.
+	 */
+	@Override
+	public int positionOfId(long id) {
+		return id >= 0 && id < mItemCount ? (int) id : NO_POSITION;
+	}
+
+	/**
+	 * Marks the specified <var>position</var> as accessed and requests loading of all not loaded
+	 * pages within the prefetch distance of that position.
+	 *
+	 * @param position The accessed position.
+	 * @throws IndexOutOfBoundsException If the position is out of bounds of this data set.
+	 */
+	public void loadAround(int position) {
+		assertValidPositionOrThrow(position);
+		this.mLastAccessedPosition = position;
+		final int accessedPage = position / mPageSize;
+		if (mPages[accessedPage] != null) {
+			touchLoadedPage(accessedPage);
+		} else {
+			loadPage(accessedPage);
+		}
+		final int firstPage = Math.max(0, position - mPrefetchDistance) / mPageSize;
+		final int lastPage = Math.min(mItemCount - 1, position + mPrefetchDistance) / mPageSize;
+		for (int page = firstPage; page <= lastPage; page++) {
+			if (page != accessedPage && mPages[page] == null) loadPage(page);
+		}
+	}
+
+	/**
+	 * Asserts that the specified <var>position</var> is within bounds of this data set.
+	 *
+	 * @throws IndexOutOfBoundsException If the position is out of bounds.
+	 */
+	private void assertValidPositionOrThrow(int position) {
+		if (position < 0 || position >= mItemCount) {
+			throw new IndexOutOfBoundsException("Position(" + position + ") is out of bounds of data set with size(" + mItemCount + ").");
+		}
+	}
+
+	/**
+	 * Requests loading of a page at the specified index, if it is not being loaded already.
+	 *
+	 * @param page Index of the page to load.
+	 */
+	private void loadPage(final int page) {
+		if (mPagesLoading[page]) return;
+		mPagesLoading[page] = true;
+		final int generation = mGeneration;
+		final int startPosition = page * mPageSize;
+		final int loadSize = Math.min(mPageSize, mItemCount - startPosition);
+		mExecutor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				Object[] items = null;
+				try {
+					items = mSource.loadPage(startPosition, loadSize).toArray();
+				} catch (RuntimeException e) {
+					// Failure of the source must not kill the shared executor thread, it is reported
+					// as a failed loading so the page may be requested again.
+					Log.w(TAG, "Failed to load page(" + page + ") of items.", e);
+				}
+				final Object[] loadedItems = items;
+				AdapterExecutors.mainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						onPageLoaded(generation, page, loadedItems);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Invoked on the main thread whenever a page has been loaded (or its loading has failed).
+	 *
+	 * @param generation Generation of this data set at the time the page load has been requested.
+	 * @param page       Index of the loaded page.
+	 * @param items      The loaded items. May be {@code null} if the loading has failed.
+	 */
+	@SuppressWarnings("unchecked")
+	final void onPageLoaded(int generation, int page, Object[] items) {
+		// Discard pages loaded for invalidated data.
+		if (generation != mGeneration) return;
+		mPagesLoading[page] = false;
+		if (items == null) return;
+		final int startPosition = page * mPageSize;
+		final int itemCount = Math.min(items.length, mItemCount - startPosition);
+		final Object[] pageItems = items.length == itemCount ? items : Arrays.copyOf(items, itemCount);
+		final List<Object> pageData = Arrays.asList(pageItems);
+		final OnDataChangeListener[] dataChangeListeners = mDataChangeListeners;
+		for (final OnDataChangeListener listener : dataChangeListeners) {
+			listener.onDataChange(this, pageData);
+		}
+		trimLoadedPages(mMaxLoadedPages - 1);
+		mPages[page] = pageItems;
+		mLoadedPages[mLoadedPagesCount++] = page;
+		for (final OnDataChangeListener listener : dataChangeListeners) {
+			listener.onDataChanged(this, pageData);
+		}
+		final OnDataSetListener[] dataSetListeners = mDataSetListeners;
+		for (final OnDataSetListener listener : dataSetListeners) {
+			// Only placeholders of the loaded page have been replaced.
+			if (listener instanceof OnDataSetRangeListener) {
+				((OnDataSetRangeListener) listener).onItemRangeChanged(this, startPosition, itemCount, null);
+			} else {
+				listener.onDataSetChanged(this);
+			}
+		}
+		final OnPageLoadListener[] pageLoadListeners = mPageLoadListeners;
+		for (final OnPageLoadListener listener : pageLoadListeners) {
+			listener.onPageLoaded(this, startPosition, itemCount);
+		}
+	}
+
+	/**
+	 * Moves the specified loaded <var>page</var> to the end of the LRU order.
+	 *
+	 * @param page Index of the accessed page.
+	 */
+	private void touchLoadedPage(int page) {
+		final int[] loadedPages = mLoadedPages;
+		final int last = mLoadedPagesCount - 1;
+		for (int i = last; i >= 0; i--) {
+			if (loadedPages[i] == page) {
+				System.arraycopy(loadedPages, i + 1, loadedPages, i, last - i);
+				loadedPages[last] = page;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Evicts the least recently accessed pages until there is at most the specified <var>count</var>
+	 * of loaded pages. Pages within the prefetch distance of the last accessed position are evicted
+	 * only if there are no other pages to evict.
+	 *
+	 * @param count The desired count of loaded pages.
+	 */
+	private void trimLoadedPages(int count) {
+		int firstWindowPage = 0, lastWindowPage = -1;
+		if (mLastAccessedPosition != NO_POSITION) {
+			firstWindowPage = Math.max(0, mLastAccessedPosition - mPrefetchDistance) / mPageSize;
+			lastWindowPage = Math.min(mItemCount - 1, mLastAccessedPosition + mPrefetchDistance) / mPageSize;
+		}
+		while (mLoadedPagesCount > count) {
+			int evictIndex = 0;
+			for (int i = 0; i < mLoadedPagesCount; i++) {
+				final int page = mLoadedPages[i];
+				if (page < firstWindowPage || page > lastWindowPage) {
+					evictIndex = i;
+					break;
+				}
+			}
+			mPages[mLoadedPages[evictIndex]] = null;
+			System.arraycopy(mLoadedPages, evictIndex + 1, mLoadedPages, evictIndex, mLoadedPagesCount - evictIndex - 1);
+			this.mLoadedPagesCount--;
+		}
+	}
+
+	/**
+	 * Returns a read-only list view of this data set. The returned list does not hold any items, it
+	 * only delegates to {@link #getItemCount()} and {@link #getItem(int)} of this data set, so it
+	 * may be passed to adapters that work with lists, like {@link ItemsAdapter ItemsAdapters}, without
+	 * loading of all items.
+	 * <p>
+	 * <b>Note</b>, that iterating over the whole list (for example by computing differences between
+	 * two lists) requests loading of all pages.
+	 *
+	 * @return List view of this data set.
+	 */
+	@NonNull
+	public List<I> asList() {
+		if (mListView == null) this.mListView = new ListView();
+		return mListView;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Read-only {@link List} view of the paged data set.
+	 */
+	private final class ListView extends AbstractList<I> implements RandomAccess {
+
+		/**
+		 */
+		@Override
+		public I get(int index) {
+			return getItem(index);
+		}
+
+		/**
+		 */
+		@Override
+		public int size() {
+			return getItemCount();
+		}
+	}
+}
@@ -28,6 +28,9 @@ import android.support.annotation.Nullable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
+
+import java.lang.ref.WeakReference;
 
 /**
  * Extended version of {@link android.widget.BaseAdapter}. This version of BaseAdapter implements
@@ -196,6 +199,17 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	 */
 	int mCurrentViewType;
 
+	/**
+	 * Batch recording data set notifications while there is a batch began via {@link #beginBatch()}.
+	 */
+	private final NotificationBatch mNotificationBatch = new NotificationBatch();
+
+	/**
+	 * List view for which has this adapter last provided item views. Used to rebind only visible
+	 * items in {@link #notifyItemRangeChanged(int, int, Object)}.
+	 */
+	private WeakReference<AbsListView> mListViewReference;
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -242,6 +256,103 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	 */
 	@Override
 	public void notifyDataSetChanged() {
+		mDataSet.onDataSetChange();
+		if (mNotificationBatch.isActive()) mNotificationBatch.recordChanged();
+		else dispatchDataSetChanged();
+	}
+
+	/**
+	 * Notifies that <var>itemCount</var> items starting at the <var>positionStart</var> have been
+	 * changed.
+	 * <p>
+	 * If this adapter is directly attached to an {@link AbsListView} with a single view type, only
+	 * views of the changed items that are currently visible are rebound via {@link #onBindViewHolder(Object, int)}
+	 * and the registered {@link OnDataSetListener OnDataSetListeners} are notified about the changed
+	 * range. Otherwise, or if there is a batch active, change of the whole data set is notified via
+	 * {@link #notifyDataSetChanged()}.
+	 *
+	 * @param positionStart Position of the first changed item.
+	 * @param itemCount     Count of the changed items.
+	 * @param payload       Optional payload describing the change. May be {@code null}.
+	 */
+	public void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		if (mNotificationBatch.isActive() || !rebindVisibleItems(positionStart, itemCount)) {
+			notifyDataSetChanged();
+			return;
+		}
+		mDataSet.notifyItemRangeChanged(positionStart, itemCount, payload);
+	}
+
+	/**
+	 * Notifies that <var>itemCount</var> items have been inserted at the <var>positionStart</var>.
+	 * <p>
+	 * As {@link android.widget.AdapterView AdapterViews} need to layout all theirs children due to
+	 * insertion, this implementation notifies change of the whole data set via {@link #notifyDataSetChanged()}.
+	 *
+	 * @param positionStart Position of the first inserted item.
+	 * @param itemCount     Count of the inserted items.
+	 */
+	public void notifyItemRangeInserted(int positionStart, int itemCount) {
+		notifyDataSetChanged();
+	}
+
+	/**
+	 * Notifies that <var>itemCount</var> items have been removed from the <var>positionStart</var>.
+	 * <p>
+	 * As {@link android.widget.AdapterView AdapterViews} need to layout all theirs children due to
+	 * removal, this implementation notifies change of the whole data set via {@link #notifyDataSetChanged()}.
+	 *
+	 * @param positionStart Previous position of the first removed item.
+	 * @param itemCount     Count of the removed items.
+	 */
+	public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+		notifyDataSetChanged();
+	}
+
+	/**
+	 * Notifies that an item has been moved from the <var>fromPosition</var> to the <var>toPosition</var>.
+	 * <p>
+	 * As {@link android.widget.AdapterView AdapterViews} need to layout all theirs children due to
+	 * move, this implementation notifies change of the whole data set via {@link #notifyDataSetChanged()}.
+	 *
+	 * @param fromPosition Previous position of the moved item.
+	 * @param toPosition   New position of the moved item.
+	 */
+	public void notifyItemMoved(int fromPosition, int toPosition) {
+		notifyDataSetChanged();
+	}
+
+	/**
+	 * Rebinds views of items in the {@code [positionStart, positionStart + itemCount)} range that are
+	 * at this time visible within the list view to which is this adapter attached.
+	 *
+	 * @return {@code True} if the items have been rebound, {@code false} if the list view is not
+	 * known, this adapter is not its direct adapter or views may need to change theirs types.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean rebindVisibleItems(int positionStart, int itemCount) {
+		final AbsListView listView = mListViewReference == null ? null : mListViewReference.get();
+		if (listView == null || listView.getAdapter() != this || getViewTypeCount() > 1) {
+			return false;
+		}
+		final int firstVisiblePosition = listView.getFirstVisiblePosition();
+		final int start = Math.max(positionStart, firstVisiblePosition);
+		final int end = Math.min(positionStart + itemCount, firstVisiblePosition + listView.getChildCount());
+		for (int position = start; position < end; position++) {
+			final View view = listView.getChildAt(position - firstVisiblePosition);
+			final Object holder = view.getTag();
+			final Object viewHolder = holder == null ? view : holder;
+			this.mCurrentViewType = getItemViewType(position);
+			ensureViewHolderPosition(viewHolder, position);
+			onBindViewHolder((VH) viewHolder, position);
+		}
+		return true;
+	}
+
+	/**
+	 * Dispatches data set change to the registered observers and {@link OnDataSetListener OnDataSetListeners}.
+	 */
+	final void dispatchDataSetChanged() {
 		super.notifyDataSetChanged();
 		mDataSet.notifyDataSetChanged();
 	}
@@ -250,10 +361,33 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	 */
 	@Override
 	public void notifyDataSetInvalidated() {
+		mDataSet.onDataSetChange();
+		if (mNotificationBatch.isActive()) mNotificationBatch.recordInvalidated();
+		else dispatchDataSetInvalidated();
+	}
+
+	/**
+	 * Dispatches data set invalidation to the registered observers and {@link OnDataSetListener OnDataSetListeners}.
+	 */
+	final void dispatchDataSetInvalidated() {
 		super.notifyDataSetInvalidated();
 		mDataSet.notifyDataSetInvalidated();
 	}
 
+	/**
+	 */
+	@Override
+	public void beginBatch() {
+		mNotificationBatch.begin();
+	}
+
+	/**
+	 */
+	@Override
+	public void endBatch() {
+		if (mNotificationBatch.end()) mNotificationBatch.dispatch(new BatchTarget());
+	}
+
 	/**
 	 */
 	@Override
@@ -327,15 +461,41 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	/**
 	 */
 	@Override
+	public void setKeyExtractor(@Nullable KeyExtractor<I> extractor) {
+		mDataSet.setKeyExtractor(extractor);
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public KeyExtractor<I> getKeyExtractor() {
+		return mDataSet.getKeyExtractor();
+	}
+
+	/**
+	 * If there is {@link KeyExtractor} specified, returns the key extracted from the item at the
+	 * specified <var>position</var>, otherwise returns the position.
+	 */
+	@Override
 	public long getItemId(int position) {
-		return position;
+		return mDataSet.getItemId(position);
+	}
+
+	/**
+	 * The position is resolved via index mapping ids obtained via {@link #getItemId(int)} to positions,
+	 * which is built lazily and invalidated whenever change of the data set is notified.
+	 */
+	@Override
+	public int positionOfId(long id) {
+		return mDataSet.positionOfId(id);
 	}
 
 	/**
 	 */
 	@Override
 	public boolean hasStableIds() {
-		return false;
+		return mDataSet.getKeyExtractor() != null;
 	}
 
 	/**
@@ -343,6 +503,9 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	@Override
 	@SuppressWarnings("unchecked")
 	public View getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
+		if (parent instanceof AbsListView && (mListViewReference == null || mListViewReference.get() != parent)) {
+			this.mListViewReference = new WeakReference<>((AbsListView) parent);
+		}
 		View view = convertView;
 		Object viewHolder;
 		this.mCurrentViewType = getItemViewType(position);
@@ -472,4 +635,54 @@ public abstract class BaseAdapter<I, VH> extends android.widget.BaseAdapter impl
 	/**
 	 * Inner classes ===============================================================================
 	 */
+
+	/**
+	 * A {@link NotificationBatch.Target} implementation used to dispatch notification merged during
+	 * a batch. As {@link android.widget.BaseAdapter} does not support ranged notifications, all of
+	 * them are dispatched as data set change.
+	 */
+	private final class BatchTarget implements NotificationBatch.Target {
+
+		/**
+		 */
+		@Override
+		public void onChanged() {
+			dispatchDataSetChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onInvalidated() {
+			dispatchDataSetInvalidated();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			dispatchDataSetChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			dispatchDataSetChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			dispatchDataSetChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			dispatchDataSetChanged();
+		}
+	}
 }
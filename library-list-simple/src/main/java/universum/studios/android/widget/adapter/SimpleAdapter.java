@@ -23,7 +23,9 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link BaseAdapter} implementation which specifies simple API for data set management of items.
@@ -31,6 +33,12 @@ import java.util.List;
  * an item for a desired position via {@link #getItem(int)}. All items attached to the adapter may
  * be obtained via {@link #getItems()}.
  * <p>
+ * The items may be also changed in place via {@link #insertItems(int, List)}, {@link #removeItems(int, int)},
+ * {@link #moveItem(int, int)} and {@link #replaceItem(int, Object)}.
+ * <p>
+ * Items of this adapter may be filtered via {@link #filterItems(CharSequence)} using {@link ItemFilter}
+ * specified via {@link #setItemFilter(ItemFilter)} as described by {@link FilterableItemsAdapter}.
+ * <p>
  * In the simplest implementation case of this adapter, only {@link #onCreateView(android.view.ViewGroup, int)}
  * and {@link #onBindViewHolder(Object, int)} methods are required to be implemented to take a full
  * advantage of this adapter class.
@@ -39,7 +47,7 @@ import java.util.List;
  * @param <VH> Type of the view holder used within a subclass of this SimpleAdapter.
  * @author Martin Albedinsky
  */
-public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements ItemsAdapter<I> {
+public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements FilterableItemsAdapter<I> {
 
 	/**
 	 * Constants ===================================================================================
@@ -62,6 +70,11 @@ public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements
 	 * Members =====================================================================================
 	 */
 
+	/**
+	 * Engine used to filter items of this adapter. Created lazily.
+	 */
+	private AdapterItemsFilter<I> mItemsFilter;
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -107,10 +120,27 @@ public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements
 	}
 
 	/**
+	 * While the items are filtered, the given items become the new source items which are filtered
+	 * for the current query and the returned items are the previous source items.
+	 *
+	 * @see #filterItems(CharSequence)
 	 */
 	@Nullable
 	@Override
 	public List<I> swapItems(@Nullable List<I> items) {
+		if (mItemsFilter != null && mItemsFilter.isFiltering()) {
+			return mItemsFilter.swapSource(items);
+		}
+		return attachItems(items);
+	}
+
+	/**
+	 * Attaches the given <var>items</var> to this adapter and notifies the change.
+	 *
+	 * @param items The items to attach. May be {@code null}.
+	 * @return The previously attached items.
+	 */
+	final List<I> attachItems(@Nullable List<I> items) {
 		final List<I> oldData = mDataSet.getData();
 		if (items == null) {
 			mDataSet.notifyDataChange(null);
@@ -129,6 +159,71 @@ public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements
 		return oldData;
 	}
 
+	/**
+	 */
+	@Override
+	public void setItemFilter(@Nullable ItemFilter<I> filter) {
+		ensureItemsFilter().setFilter(filter);
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public ItemFilter<I> getItemFilter() {
+		return mItemsFilter == null ? null : mItemsFilter.getFilter();
+	}
+
+	/**
+	 */
+	@Override
+	public void setFilterExecutor(@Nullable Executor executor) {
+		ensureItemsFilter().setExecutor(executor);
+	}
+
+	/**
+	 */
+	@Override
+	public void filterItems(@Nullable CharSequence query) {
+		ensureItemsFilter().filterItems(query, getItems());
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	public CharSequence getFilterQuery() {
+		return mItemsFilter == null ? "" : mItemsFilter.getQuery();
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public List<I> getSourceItems() {
+		return mItemsFilter == null ? getItems() : mItemsFilter.getSourceItems(getItems());
+	}
+
+	/**
+	 * Ensures that the engine used to filter items of this adapter is created.
+	 *
+	 * @return The items filter engine.
+	 */
+	private AdapterItemsFilter<I> ensureItemsFilter() {
+		if (mItemsFilter == null) {
+			this.mItemsFilter = new AdapterItemsFilter<>(new AdapterItemsFilter.Callback<I>() {
+
+				/**
+				 */
+				@Override
+				public void onItemsFiltered(@Nullable List<I> items) {
+					attachItems(items);
+				}
+			});
+		}
+		return mItemsFilter;
+	}
+
 	/**
 	 * Called from {@link #swapItems(List)} in order to handle change in items of this adapter.
 	 * <p>
@@ -145,6 +240,55 @@ public abstract class SimpleAdapter<I, VH> extends BaseAdapter<I, VH> implements
 		return false;
 	}
 
+	/**
+	 */
+	@Override
+	public void insertItems(int position, @NonNull List<I> items) {
+		mDataSet.notifyDataChange(items);
+		mDataSet.insertData(position, items);
+		if (mItemsFilter != null) mItemsFilter.onItemsInserted(getItems(), position, items);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(items);
+	}
+
+	/**
+	 */
+	@Override
+	public void removeItems(int position, int count) {
+		mDataSet.notifyDataChange(mDataSet.getDataRange(position, count));
+		final List<I> removedItems = mDataSet.removeData(position, count);
+		if (mItemsFilter != null) mItemsFilter.onItemsRemoved(removedItems);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(removedItems);
+	}
+
+	/**
+	 */
+	@Override
+	public void moveItem(int fromPosition, int toPosition) {
+		mDataSet.assertValidRangeOrThrow(toPosition, 1);
+		final List<I> movedItems = Collections.singletonList(mDataSet.getItem(fromPosition));
+		mDataSet.notifyDataChange(movedItems);
+		mDataSet.moveData(fromPosition, toPosition);
+		if (mItemsFilter != null) mItemsFilter.onItemMoved(getItems(), toPosition);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(movedItems);
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	public I replaceItem(int position, @NonNull I item) {
+		final List<I> replacedItems = Collections.singletonList(item);
+		mDataSet.notifyDataChange(replacedItems);
+		final I oldItem = mDataSet.replaceData(position, item);
+		if (mItemsFilter != null) mItemsFilter.onItemReplaced(oldItem, item);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(replacedItems);
+		return oldItem;
+	}
+
 	/**
 	 */
 	@Nullable
@@ -21,6 +21,7 @@ package universum.studios.android.widget.adapter.module;
 import android.os.Parcelable;
 import android.support.annotation.CallSuper;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import universum.studios.android.widget.adapter.AdapterSavedState;
 
@@ -29,7 +30,8 @@ import universum.studios.android.widget.adapter.AdapterSavedState;
  * of {@link android.widget.Adapter Adapter}. AdapterModule also specifies API supporting state saving
  * via {@link #saveInstanceState()} and its restoring via {@link #restoreInstanceState(Parcelable)}
  * and also allows its inheritance hierarchies to notify the adapter to which are these modules
- * attached via {@link #notifyAdapter()}.
+ * attached via {@link #notifyAdapter()} or, for changes of particular items, via {@code notifyAdapterItem...(...)}
+ * methods.
  *
  * <h3>State saving</h3>
  * <pre>
@@ -119,6 +121,12 @@ public abstract class AdapterModule {
 
 	/**
 	 * Simple interface for "module based" adapter.
+	 * <p>
+	 * Besides {@link #notifyDataSetChanged()}, which should be used only for coarse changes, this
+	 * interface specifies also ranged notifications, which allow modules to notify only items that
+	 * have been changed by them. These methods match the corresponding methods of
+	 * {@code RecyclerView.Adapter}, so recycler adapters implement them out of the box, while
+	 * {@code BaseAdapter} based adapters provide theirs own implementations.
 	 *
 	 * @author Martin Albedinsky
 	 * @see #attachToAdapter(ModuleAdapter)
@@ -131,6 +139,46 @@ public abstract class AdapterModule {
 		 */
 		void notifyDataSetChanged();
 
+		/**
+		 * Notifies the registered observers that <var>itemCount</var> items starting at the
+		 * <var>positionStart</var> have been changed and Views reflecting these items should be
+		 * refreshed. Adapters that are not able to refresh only particular items may notify change
+		 * of the whole data set instead.
+		 *
+		 * @param positionStart Position of the first changed item.
+		 * @param itemCount     Count of the changed items.
+		 * @param payload       Optional payload describing the change, which may be used to perform
+		 *                      a partial rebind. May be {@code null}.
+		 */
+		void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload);
+
+		/**
+		 * Notifies the registered observers that <var>itemCount</var> items have been inserted at
+		 * the <var>positionStart</var>.
+		 *
+		 * @param positionStart Position of the first inserted item.
+		 * @param itemCount     Count of the inserted items.
+		 */
+		void notifyItemRangeInserted(int positionStart, int itemCount);
+
+		/**
+		 * Notifies the registered observers that <var>itemCount</var> items have been removed from
+		 * the <var>positionStart</var>.
+		 *
+		 * @param positionStart Previous position of the first removed item.
+		 * @param itemCount     Count of the removed items.
+		 */
+		void notifyItemRangeRemoved(int positionStart, int itemCount);
+
+		/**
+		 * Notifies the registered observers that an item has been moved from the <var>fromPosition</var>
+		 * to the <var>toPosition</var>.
+		 *
+		 * @param fromPosition Previous position of the moved item.
+		 * @param toPosition   New position of the moved item.
+		 */
+		void notifyItemMoved(int fromPosition, int toPosition);
+
 		/**
 		 * Returns the count of items presented within data set of this adapter.
 		 *
@@ -142,6 +190,15 @@ public abstract class AdapterModule {
 		 * Returns the id of the item from this adapter's data set at the specified <var>position</var>.
 		 */
 		long getItemId(int position);
+
+		/**
+		 * Returns the position of an item with the specified <var>id</var> within this adapter's
+		 * data set.
+		 *
+		 * @param id The id of the desired item.
+		 * @return Position of the item or negative number if there is no item with such id.
+		 */
+		int positionOfId(long id);
 	}
 
 	/**
@@ -230,6 +287,10 @@ public abstract class AdapterModule {
 	 * This should be called whenever the data set of the attached adapter should be reloaded due to
 	 * changes made by this module.
 	 * <p>
+	 * If the attached adapter is a {@code DataSetAdapter} with a batch currently in progress, this
+	 * notification will be merged with all other notifications requested during that batch and
+	 * dispatched once the batch is ended.
+	 * <p>
 	 * This method does nothing if adapter's notifications are disabled for this module.
 	 *
 	 * @see #isAdapterNotificationEnabled()
@@ -238,6 +299,62 @@ public abstract class AdapterModule {
 		if (isAdapterNotificationEnabled() && mAdapter != null) mAdapter.notifyDataSetChanged();
 	}
 
+	/**
+	 * Notifies the adapter to which is this module attached via {@link ModuleAdapter#notifyItemRangeChanged(int, int, Object)}.
+	 * <p>
+	 * This should be called instead of {@link #notifyAdapter()} whenever changes made by this module
+	 * affect only particular items of the attached adapter.
+	 * <p>
+	 * This method does nothing if adapter's notifications are disabled for this module.
+	 *
+	 * @param positionStart Position of the first changed item.
+	 * @param itemCount     Count of the changed items.
+	 * @param payload       Optional payload describing the change. May be {@code null}.
+	 * @see #isAdapterNotificationEnabled()
+	 */
+	protected final void notifyAdapterItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		if (isAdapterNotificationEnabled() && mAdapter != null) mAdapter.notifyItemRangeChanged(positionStart, itemCount, payload);
+	}
+
+	/**
+	 * Notifies the adapter to which is this module attached via {@link ModuleAdapter#notifyItemRangeInserted(int, int)}.
+	 * <p>
+	 * This method does nothing if adapter's notifications are disabled for this module.
+	 *
+	 * @param positionStart Position of the first inserted item.
+	 * @param itemCount     Count of the inserted items.
+	 * @see #isAdapterNotificationEnabled()
+	 */
+	protected final void notifyAdapterItemRangeInserted(int positionStart, int itemCount) {
+		if (isAdapterNotificationEnabled() && mAdapter != null) mAdapter.notifyItemRangeInserted(positionStart, itemCount);
+	}
+
+	/**
+	 * Notifies the adapter to which is this module attached via {@link ModuleAdapter#notifyItemRangeRemoved(int, int)}.
+	 * <p>
+	 * This method does nothing if adapter's notifications are disabled for this module.
+	 *
+	 * @param positionStart Previous position of the first removed item.
+	 * @param itemCount     Count of the removed items.
+	 * @see #isAdapterNotificationEnabled()
+	 */
+	protected final void notifyAdapterItemRangeRemoved(int positionStart, int itemCount) {
+		if (isAdapterNotificationEnabled() && mAdapter != null) mAdapter.notifyItemRangeRemoved(positionStart, itemCount);
+	}
+
+	/**
+	 * Notifies the adapter to which is this module attached via {@link ModuleAdapter#notifyItemMoved(int, int)}.
+	 * <p>
+	 * This method does nothing if adapter's notifications are disabled for this module.
+	 *
+	 * @param fromPosition Previous position of the moved item.
+	 * @param toPosition   New position of the moved item.
+	 * @see #isAdapterNotificationEnabled()
+	 */
+	protected final void notifyAdapterItemMoved(int fromPosition, int toPosition) {
+		if (isAdapterNotificationEnabled() && mAdapter != null) mAdapter.notifyItemMoved(fromPosition, toPosition);
+	}
+
 	/**
 	 * Returns a boolean flag indicating whether this module requires state saving or not.
 	 * <p>
@@ -0,0 +1,537 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.CallSuper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+import universum.studios.android.widget.adapter.AdapterSavedState;
+
+/**
+ * An {@link AdapterModule} implementation that supports expandable groups for the associated adapter.
+ * <p>
+ * The data set of the associated adapter is flattened into a list where each group is presented by
+ * one group item followed by its child items if the group is expanded. Groups and counts of theirs
+ * children are specified via {@link #setGroups(int[])}, after which may be groups expanded and
+ * collapsed via {@link #expandGroup(int)}, {@link #collapseGroup(int)} or {@link #toggleGroup(int)}.
+ * Expanding or collapsing of a group notifies the adapter only about the exact range of inserted or
+ * removed child items, so the adapter's data set does not need to be rebuilt.
+ * <p>
+ * Flat sizes of groups are kept in a Fenwick tree (binary indexed tree), so mapping of a flat
+ * position to a group and its child via {@link #getPackedPosition(int)} and mapping back via
+ * {@link #getFlatPosition(int, int)}, as well as expanding and collapsing of a group, take
+ * {@code O(log n)} time where {@code n} is count of groups. The code snippet below shows basic
+ * usage of this module within an adapter:
+ * <pre>
+ * public class SampleAdapter extends RecyclerView.Adapter implements ModuleAdapter {
+ *
+ *      // Expandable module mapping flat positions to groups and theirs children.
+ *      private ExpandableModule mExpandableModule;
+ *
+ *      // ...
+ *
+ *      &#64;Override
+ *      public int getItemCount() {
+ *          return mExpandableModule.getItemCount();
+ *      }
+ *
+ *      &#64;Override
+ *      public void onBindViewHolder(ViewHolder holder, int position) {
+ *          final long packedPosition = mExpandableModule.getPackedPosition(position);
+ *          final int group = ExpandableModule.getPackedGroup(packedPosition);
+ *          final int child = ExpandableModule.getPackedChild(packedPosition);
+ *          if (child == ExpandableModule.NO_CHILD) {
+ *              // Bind here group item.
+ *          } else {
+ *              // Bind here child item of the group.
+ *          }
+ *      }
+ *
+ *      // ...
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ */
+public class ExpandableModule extends AdapterModule {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ExpandableModule";
+
+	/**
+	 * Child index of a packed position that points to a group item rather than to its child.
+	 *
+	 * @see #getPackedChild(long)
+	 */
+	public static final int NO_CHILD = -1;
+
+	/**
+	 * Payload passed to {@link ModuleAdapter#notifyItemRangeChanged(int, int, Object)} for a group
+	 * item of which expanded state has changed.
+	 */
+	public static final String PAYLOAD_EXPANSION = ExpandableModule.class.getName() + ".PAYLOAD.Expansion";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Counts of children of the current groups.
+	 */
+	private int[] mChildCounts = new int[0];
+
+	/**
+	 * Flags indicating which of the current groups are expanded.
+	 */
+	private boolean[] mExpanded = new boolean[0];
+
+	/**
+	 * Fenwick tree (1-based) over flat sizes of the current groups, that is, {@code 1} for the group
+	 * item plus count of its children if the group is expanded.
+	 */
+	private int[] mTree = new int[1];
+
+	/**
+	 * Indexes of groups restored as expanded before the groups have been specified via
+	 * {@link #setGroups(int[])}. May be {@code null}.
+	 */
+	private int[] mPendingExpandedGroups;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns group index from the given <var>packedPosition</var>.
+	 *
+	 * @param packedPosition Position obtained via {@link #getPackedPosition(int)}.
+	 * @return Index of the group.
+	 */
+	public static int getPackedGroup(long packedPosition) {
+		return (int) (packedPosition >> 32);
+	}
+
+	/**
+	 * Returns child index from the given <var>packedPosition</var>.
+	 *
+	 * @param packedPosition Position obtained via {@link #getPackedPosition(int)}.
+	 * @return Index of the child within its group or {@link #NO_CHILD} if the position points to
+	 * a group item.
+	 */
+	public static int getPackedChild(long packedPosition) {
+		return (int) packedPosition;
+	}
+
+	/**
+	 * Packs the given <var>group</var> and <var>child</var> indexes into a single long value.
+	 */
+	private static long packPosition(int group, int child) {
+		return ((long) group << 32) | (child & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Specifies groups presented by the associated adapter via counts of theirs children and
+	 * <b>notifies adapter</b>. All groups are collapsed, unless theirs expanded state has been
+	 * restored via {@link #restoreInstanceState(Parcelable)} before.
+	 * <p>
+	 * The flat structure is built in {@code O(n)} time.
+	 *
+	 * @param childCounts Array where at index of each group is count of its children.
+	 * @throws IllegalArgumentException If some of the counts is negative.
+	 */
+	public void setGroups(@NonNull int[] childCounts) {
+		final int groupCount = childCounts.length;
+		for (final int childCount : childCounts) {
+			if (childCount < 0) throw new IllegalArgumentException("Count of children cannot be negative.");
+		}
+		this.mChildCounts = childCounts.clone();
+		this.mExpanded = new boolean[groupCount];
+		if (mPendingExpandedGroups != null) {
+			for (final int group : mPendingExpandedGroups) {
+				if (group < groupCount) mExpanded[group] = true;
+			}
+			this.mPendingExpandedGroups = null;
+		}
+		// Build the tree in linear time by pushing each node's sum into its parent.
+		final int[] tree = new int[groupCount + 1];
+		for (int i = 1; i <= groupCount; i++) {
+			tree[i] += flatSizeOf(i - 1);
+			final int parent = i + (i & -i);
+			if (parent <= groupCount) tree[parent] += tree[i];
+		}
+		this.mTree = tree;
+		notifyAdapter();
+	}
+
+	/**
+	 * Returns the count of groups specified via {@link #setGroups(int[])}.
+	 *
+	 * @return Groups count.
+	 */
+	public int getGroupCount() {
+		return mChildCounts.length;
+	}
+
+	/**
+	 * Returns the count of children of the specified <var>group</var>.
+	 *
+	 * @param group Index of the desired group.
+	 * @return Count of the group's children.
+	 */
+	public int getChildCount(int group) {
+		return mChildCounts[group];
+	}
+
+	/**
+	 * Changes count of children of the specified <var>group</var> and if the group is expanded
+	 * <b>notifies adapter</b> about the inserted or removed child items at the end of the group.
+	 *
+	 * @param group      Index of the desired group.
+	 * @param childCount The desired count of children.
+	 * @throws IllegalArgumentException If the count is negative.
+	 */
+	public void setChildCount(int group, int childCount) {
+		if (childCount < 0) throw new IllegalArgumentException("Count of children cannot be negative.");
+		final int previousCount = mChildCounts[group];
+		if (previousCount == childCount) return;
+		mChildCounts[group] = childCount;
+		if (mExpanded[group]) {
+			update(group, childCount - previousCount);
+			final int childrenEnd = getFlatPosition(group) + 1 + Math.min(previousCount, childCount);
+			if (childCount > previousCount) {
+				notifyAdapterItemRangeInserted(childrenEnd, childCount - previousCount);
+			} else {
+				notifyAdapterItemRangeRemoved(childrenEnd, previousCount - childCount);
+			}
+		}
+	}
+
+	/**
+	 * Returns the count of items in the flat data set, that is, count of groups plus count of
+	 * children of all expanded groups.
+	 * <p>
+	 * This should be used by the associated adapter as its item count.
+	 *
+	 * @return Flat items count.
+	 */
+	public int getItemCount() {
+		return prefixSum(mChildCounts.length);
+	}
+
+	/**
+	 * Checks whether the specified <var>group</var> is expanded or not.
+	 *
+	 * @param group Index of the group to check.
+	 * @return {@code True} if the group is expanded, {@code false} otherwise.
+	 */
+	public boolean isExpanded(int group) {
+		return mExpanded[group];
+	}
+
+	/**
+	 * Expands the specified <var>group</var> if it is collapsed and <b>notifies adapter</b> about
+	 * the inserted child items.
+	 *
+	 * @param group Index of the group to expand.
+	 * @return {@code True} if the group has been expanded, {@code false} if it is already expanded.
+	 * @see #collapseGroup(int)
+	 * @see #toggleGroup(int)
+	 */
+	public boolean expandGroup(int group) {
+		return setExpanded(group, true);
+	}
+
+	/**
+	 * Collapses the specified <var>group</var> if it is expanded and <b>notifies adapter</b> about
+	 * the removed child items.
+	 *
+	 * @param group Index of the group to collapse.
+	 * @return {@code True} if the group has been collapsed, {@code false} if it is already collapsed.
+	 * @see #expandGroup(int)
+	 * @see #toggleGroup(int)
+	 */
+	public boolean collapseGroup(int group) {
+		return setExpanded(group, false);
+	}
+
+	/**
+	 * Expands the specified <var>group</var> if it is collapsed or collapses it if it is expanded.
+	 *
+	 * @param group Index of the group to toggle.
+	 * @return {@code True} if the group is expanded now, {@code false} otherwise.
+	 */
+	public boolean toggleGroup(int group) {
+		setExpanded(group, !mExpanded[group]);
+		return mExpanded[group];
+	}
+
+	/**
+	 * Changes expanded state of the specified <var>group</var> and notifies the exact range of its
+	 * child items as inserted or removed together with change of the group item itself.
+	 */
+	private boolean setExpanded(int group, boolean expanded) {
+		if (mExpanded[group] == expanded) return false;
+		mExpanded[group] = expanded;
+		final int childCount = mChildCounts[group];
+		update(group, expanded ? childCount : -childCount);
+		final int groupPosition = getFlatPosition(group);
+		if (childCount > 0) {
+			if (expanded) notifyAdapterItemRangeInserted(groupPosition + 1, childCount);
+			else notifyAdapterItemRangeRemoved(groupPosition + 1, childCount);
+		}
+		notifyAdapterItemRangeChanged(groupPosition, 1, PAYLOAD_EXPANSION);
+		return true;
+	}
+
+	/**
+	 * Returns flat position of the item of the specified <var>group</var>.
+	 *
+	 * @param group Index of the desired group.
+	 * @return Flat position of the group item.
+	 * @see #getFlatPosition(int, int)
+	 */
+	public int getFlatPosition(int group) {
+		if (group < 0 || group >= mChildCounts.length) {
+			throw new IndexOutOfBoundsException("Incorrect group(" + group + "). There are only " + mChildCounts.length + " groups.");
+		}
+		return prefixSum(group);
+	}
+
+	/**
+	 * Returns flat position of the specified <var>child</var> of the specified <var>group</var>.
+	 *
+	 * @param group Index of the desired group.
+	 * @param child Index of the desired child within the group or {@link #NO_CHILD} to obtain position
+	 *              of the group item.
+	 * @return Flat position of the child item or {@code -1} if the group is collapsed, so its children
+	 * are not presented.
+	 * @see #getPackedPosition(int)
+	 */
+	public int getFlatPosition(int group, int child) {
+		final int groupPosition = getFlatPosition(group);
+		if (child == NO_CHILD) return groupPosition;
+		if (child < 0 || child >= mChildCounts[group]) {
+			throw new IndexOutOfBoundsException("Incorrect child(" + child + ") for group(" + group + ") with " + mChildCounts[group] + " children.");
+		}
+		return mExpanded[group] ? groupPosition + 1 + child : -1;
+	}
+
+	/**
+	 * Resolves group and child presented at the specified <var>flatPosition</var>.
+	 *
+	 * @param flatPosition The flat position to resolve.
+	 * @return Packed position from which may be group and child obtained via {@link #getPackedGroup(long)}
+	 * and {@link #getPackedChild(long)}.
+	 * @throws IndexOutOfBoundsException If the position is out of the flat data set.
+	 * @see #getFlatPosition(int, int)
+	 */
+	public long getPackedPosition(int flatPosition) {
+		final int groupCount = mChildCounts.length;
+		if (flatPosition < 0 || flatPosition >= getItemCount()) {
+			throw new IndexOutOfBoundsException("Incorrect position(" + flatPosition + "). There are only " + getItemCount() + " items.");
+		}
+		// Descend the tree to find the last group of which start is not after the position.
+		final int[] tree = mTree;
+		int group = 0;
+		int offset = flatPosition;
+		for (int step = Integer.highestOneBit(groupCount); step > 0; step >>= 1) {
+			final int next = group + step;
+			if (next <= groupCount && tree[next] <= offset) {
+				group = next;
+				offset -= tree[next];
+			}
+		}
+		// Offset 0 is the group item itself, children follow it.
+		return packPosition(group, offset - 1);
+	}
+
+	/**
+	 * Returns flat size of the specified <var>group</var>.
+	 */
+	private int flatSizeOf(int group) {
+		return 1 + (mExpanded[group] ? mChildCounts[group] : 0);
+	}
+
+	/**
+	 * Adds the specified <var>delta</var> to flat size of the specified <var>group</var>.
+	 */
+	private void update(int group, int delta) {
+		final int[] tree = mTree;
+		for (int i = group + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Returns sum of flat sizes of the first <var>count</var> groups.
+	 */
+	private int prefixSum(int count) {
+		final int[] tree = mTree;
+		int sum = 0;
+		for (int i = count; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * @return {@code True} whether there are some expanded groups to save, {@code false} otherwise.
+	 */
+	@Override
+	public boolean requiresStateSaving() {
+		for (final boolean expanded : mExpanded) {
+			if (expanded) return true;
+		}
+		return false;
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	@CallSuper
+	public Parcelable saveInstanceState() {
+		final SavedState state = new SavedState(super.saveInstanceState());
+		final int[] expandedGroups = new int[mExpanded.length];
+		int count = 0;
+		for (int group = 0; group < mExpanded.length; group++) {
+			if (mExpanded[group]) expandedGroups[count++] = group;
+		}
+		state.expandedGroups = Arrays.copyOf(expandedGroups, count);
+		return state;
+	}
+
+	/**
+	 * If the groups have not been specified yet, the restored expanded state is applied by the next
+	 * call to {@link #setGroups(int[])}.
+	 */
+	@Override
+	@CallSuper
+	public void restoreInstanceState(@NonNull Parcelable savedState) {
+		if (!(savedState instanceof SavedState)) {
+			super.restoreInstanceState(savedState);
+			return;
+		}
+		final SavedState state = (SavedState) savedState;
+		super.restoreInstanceState(state.getSuperState());
+		if (mChildCounts.length == 0) {
+			this.mPendingExpandedGroups = state.expandedGroups;
+		} else if (state.expandedGroups != null) {
+			for (final int group : state.expandedGroups) {
+				if (group < mExpanded.length && !mExpanded[group]) {
+					mExpanded[group] = true;
+					update(group, mChildCounts[group]);
+				}
+			}
+			notifyAdapter();
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * An {@link AdapterSavedState} implementation used to ensure that the state of {@link ExpandableModule}
+	 * is properly saved.
+	 *
+	 * @author Martin Albedinsky
+	 */
+	public static class SavedState extends AdapterSavedState {
+
+		/**
+		 * Creator used to create an instance or array of instances of SavedState from {@link Parcel}.
+		 */
+		public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+
+			/**
+			 */
+			@Override
+			public SavedState createFromParcel(Parcel source) {
+				return new SavedState(source);
+			}
+
+			/**
+			 */
+			@Override
+			public SavedState[] newArray(int size) {
+				return new SavedState[size];
+			}
+		};
+
+		/**
+		 * Indexes of the expanded groups.
+		 */
+		@Nullable
+		private int[] expandedGroups;
+
+		/**
+		 * Creates a new instance of SavedState with the given <var>superState</var> to allow chaining
+		 * of saved states in {@link #saveInstanceState()} and also in {@link #restoreInstanceState(Parcelable)}.
+		 *
+		 * @param superState The super state obtained from {@code super.saveInstanceState()} within
+		 *                   {@link #saveInstanceState()}.
+		 */
+		protected SavedState(@NonNull Parcelable superState) {
+			super(superState);
+		}
+
+		/**
+		 * Called from {@link #CREATOR} to create an instance of SavedState form the given parcel
+		 * <var>source</var>.
+		 *
+		 * @param source Parcel with data for the new instance.
+		 */
+		protected SavedState(@NonNull Parcel source) {
+			super(source);
+			this.expandedGroups = source.createIntArray();
+		}
+
+		/**
+		 */
+		@Override
+		public void writeToParcel(@NonNull Parcel dest, int flags) {
+			super.writeToParcel(dest, flags);
+			dest.writeIntArray(expandedGroups);
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.annotation.NonNull;
+import android.util.SparseIntArray;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Table of alphabetic buckets (sections) for a specific {@link Locale} which may be used by
+ * {@link AlphabeticHeaders} to group items in a locale-aware manner, so for example texts starting
+ * with <b>&Eacute;</b> and <b>E</b> fall into the same section.
+ * <p>
+ * Each bucket is represented by its label. A code point belongs to the bucket with the greatest label
+ * that is not greater than the code point according to {@link Collator} of the locale at the
+ * {@link Collator#PRIMARY primary} strength. Code points less than all labels (like digits or
+ * punctuation) belong to the first bucket labeled {@link #UNDERFLOW_LABEL}. As the last label has no
+ * upper bound, only code points equal to it belong to its bucket. Code points greater than the last
+ * label (like letters of other alphabets sorted after the labels) belong to the last bucket labeled
+ * {@link #OVERFLOW_LABEL}.
+ * <p>
+ * Buckets of all code points from the Latin, Greek and Cyrillic blocks are resolved via the collator
+ * once when the table is created, so classification of such code points is a plain array lookup.
+ * Buckets of other code points are resolved on demand and cached. <b>Note</b>, that buckets are
+ * resolved only from a single code point, so contractions (like Czech <b>CH</b>) are not supported.
+ *
+ * @author Martin Albedinsky
+ * @see #forLocale(Locale)
+ * @see #create(Locale, String...)
+ */
+public final class AlphabeticBuckets {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "AlphabeticBuckets";
+
+	/**
+	 * Label of the first bucket containing all code points less than the first label.
+	 */
+	public static final String UNDERFLOW_LABEL = "#";
+
+	/**
+	 * Label of the last bucket containing all code points greater than the last label.
+	 */
+	public static final String OVERFLOW_LABEL = "\u2026";
+
+	/**
+	 * Count of code points (starting from {@code 0}) of which buckets are resolved in advance.
+	 */
+	private static final int TABLE_SIZE = 0x0530;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Buckets with default labels created via {@link #forLocale(Locale)} mapped to theirs locales.
+	 */
+	private static final Map<Locale, AlphabeticBuckets> sDefaultBuckets = new HashMap<>(2);
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Locale for which are buckets of this table resolved.
+	 */
+	private final Locale mLocale;
+
+	/**
+	 * Collator used to resolve buckets of code points.
+	 */
+	private final Collator mCollator;
+
+	/**
+	 * Labels of the buckets with {@link #UNDERFLOW_LABEL} at index {@code 0} followed by the sorted
+	 * labels of this table and {@link #OVERFLOW_LABEL} at the last index.
+	 */
+	private final String[] mLabels;
+
+	/**
+	 * Collation keys of the sorted labels, the key at index {@code i} belongs to the bucket {@code i + 1}.
+	 */
+	private final CollationKey[] mLabelKeys;
+
+	/**
+	 * Buckets of code points resolved in advance, indexed by code point.
+	 */
+	private final short[] mTable;
+
+	/**
+	 * Buckets of code points outside of {@link #mTable} resolved so far.
+	 */
+	private final SparseIntArray mResolvedBuckets = new SparseIntArray();
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of AlphabeticBuckets for the specified <var>locale</var> and <var>labels</var>.
+	 *
+	 * @param locale Locale for which to resolve the buckets.
+	 * @param labels Labels of the buckets.
+	 */
+	private AlphabeticBuckets(Locale locale, String[] labels) {
+		this.mLocale = locale;
+		this.mCollator = Collator.getInstance(locale);
+		this.mCollator.setStrength(Collator.PRIMARY);
+		final String[] sortedLabels = labels.clone();
+		Arrays.sort(sortedLabels, mCollator);
+		final CollationKey[] keys = new CollationKey[sortedLabels.length];
+		int count = 0;
+		for (final String label : sortedLabels) {
+			final CollationKey key = mCollator.getCollationKey(label);
+			// Labels equal at the primary strength would represent the same bucket.
+			if (count > 0 && keys[count - 1].compareTo(key) == 0) continue;
+			sortedLabels[count] = label;
+			keys[count++] = key;
+		}
+		this.mLabels = new String[count + 2];
+		this.mLabels[0] = UNDERFLOW_LABEL;
+		System.arraycopy(sortedLabels, 0, mLabels, 1, count);
+		this.mLabels[count + 1] = OVERFLOW_LABEL;
+		this.mLabelKeys = Arrays.copyOf(keys, count);
+		this.mTable = new short[TABLE_SIZE];
+		for (int codePoint = 0; codePoint < TABLE_SIZE; codePoint++) {
+			mTable[codePoint] = (short) resolveBucket(codePoint);
+		}
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns buckets for the specified <var>locale</var> with labels of the basic Latin letters
+	 * <b>A</b> to <b>Z</b>.
+	 * <p>
+	 * Table of buckets is created only once per locale and then shared.
+	 *
+	 * @param locale The locale for which to obtain the buckets.
+	 * @return Buckets for the locale.
+	 * @see #create(Locale, String...)
+	 */
+	@NonNull
+	public static AlphabeticBuckets forLocale(@NonNull Locale locale) {
+		synchronized (sDefaultBuckets) {
+			AlphabeticBuckets buckets = sDefaultBuckets.get(locale);
+			if (buckets == null) {
+				final String[] labels = new String['Z' - 'A' + 1];
+				for (int i = 0; i < labels.length; i++) {
+					labels[i] = String.valueOf((char) ('A' + i));
+				}
+				sDefaultBuckets.put(locale, buckets = new AlphabeticBuckets(locale, labels));
+			}
+			return buckets;
+		}
+	}
+
+	/**
+	 * Creates a new table of buckets for the specified <var>locale</var> with the specified <var>labels</var>.
+	 * <p>
+	 * This should be used for locales of which alphabets are not covered by the basic Latin letters
+	 * used by {@link #forLocale(Locale)}. Labels may be specified in any order, as they are sorted
+	 * according to the locale.
+	 *
+	 * @param locale The locale for which to resolve the buckets.
+	 * @param labels Labels of the desired buckets, like <b>A</b>, <b>&Auml;</b>, <b>B</b>, ...
+	 * @return New buckets for the locale.
+	 * @throws IllegalArgumentException If there are no or too many labels specified.
+	 */
+	@NonNull
+	public static AlphabeticBuckets create(@NonNull Locale locale, @NonNull String... labels) {
+		if (labels.length == 0 || labels.length >= Short.MAX_VALUE - 1) {
+			throw new IllegalArgumentException("Count of labels must be in range [1, " + (Short.MAX_VALUE - 2) + "].");
+		}
+		return new AlphabeticBuckets(locale, labels);
+	}
+
+	/**
+	 * Returns the locale for which are buckets of this table resolved.
+	 *
+	 * @return This table's locale.
+	 */
+	@NonNull
+	public Locale getLocale() {
+		return mLocale;
+	}
+
+	/**
+	 * Returns the count of buckets in this table, including the underflow and overflow buckets.
+	 *
+	 * @return Buckets count.
+	 */
+	public int size() {
+		return mLabels.length;
+	}
+
+	/**
+	 * Returns the label of the specified <var>bucket</var>.
+	 *
+	 * @param bucket Index of the bucket as returned by {@link #bucketOf(int)}.
+	 * @return The bucket's label.
+	 */
+	@NonNull
+	public String getLabel(int bucket) {
+		return mLabels[bucket];
+	}
+
+	/**
+	 * Returns index of the bucket to which belongs the specified <var>codePoint</var>.
+	 *
+	 * @param codePoint The code point to classify, like the first code point of an item's text.
+	 * @return Index of the bucket from range {@code [0, size())}.
+	 * @see #getLabel(int)
+	 */
+	public int bucketOf(int codePoint) {
+		if (codePoint >= 0 && codePoint < TABLE_SIZE) {
+			return mTable[codePoint];
+		}
+		synchronized (mResolvedBuckets) {
+			int bucket = mResolvedBuckets.get(codePoint, -1);
+			if (bucket == -1) {
+				bucket = resolveBucket(codePoint);
+				mResolvedBuckets.put(codePoint, bucket);
+			}
+			return bucket;
+		}
+	}
+
+	/**
+	 * Resolves bucket of the specified <var>codePoint</var> via binary search over the sorted
+	 * collation keys of labels. Code point greater than the last label is resolved into the overflow
+	 * bucket.
+	 */
+	private int resolveBucket(int codePoint) {
+		final CollationKey key = mCollator.getCollationKey(new String(Character.toChars(codePoint)));
+		int low = 0;
+		int high = mLabelKeys.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (mLabelKeys[middle].compareTo(key) <= 0) low = middle + 1;
+			else high = middle;
+		}
+		final int lastLabel = mLabelKeys.length - 1;
+		if (low > lastLabel && mLabelKeys[lastLabel].compareTo(key) < 0) {
+			return mLabels.length - 1;
+		}
+		// Count of labels not greater than the code point is exactly index of its bucket.
+		return low;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -20,9 +20,12 @@ package universum.studios.android.widget.adapter.module;
 
 import android.database.Cursor;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.text.TextUtils;
+import android.util.SparseArray;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link HeadersModule} implementation which may be used to provide set of alphabetic headers for
@@ -31,6 +34,19 @@ import java.util.List;
  * Alphabetic headers are generated whenever one of {@link #fromAlphabeticList(List)} and
  * {@link #fromAlphabeticCursor(Cursor)} methods is called.
  * <p>
+ * Items are grouped by the first code point of theirs texts, which is compared directly on the
+ * {@link CharSequence} provided by {@link AlphabeticItem#getText()}, so processing of an item does
+ * not allocate any objects unless the item starts a new section.
+ * <p>
+ * For large data sets the headers may be also computed off the main thread via
+ * {@link #fromAlphabeticListAsync(List)}. The computed headers replace the current ones at once on
+ * the main thread and only the latest requested computation is published.
+ * <p>
+ * By default, items are grouped by the raw first code point of theirs texts. If the data set is sorted
+ * via {@link java.text.Collator Collator}, {@link AlphabeticBuckets} for the same locale should be
+ * specified via {@link #setBuckets(AlphabeticBuckets)}, so items are grouped by locale-aware buckets
+ * instead and for example texts starting with <b>&Eacute;</b> and <b>E</b> share the same header.
+ * <p>
  * <b>Note, that this module assumes, that the data set to be processed is already ordered alphabetically.</b>
  *
  * @author Martin Albedinsky
@@ -46,6 +62,11 @@ public class AlphabeticHeaders extends HeadersModule<HeadersModule.SimpleHeader>
 	 */
 	// private static final String TAG = "AlphabeticHeaders";
 
+	/**
+	 * Value identifying that there was no letter processed yet. Not a valid code point.
+	 */
+	private static final int NO_LETTER = -1;
+
 	/**
 	 * Interface ===================================================================================
 	 */
@@ -76,11 +97,30 @@ public class AlphabeticHeaders extends HeadersModule<HeadersModule.SimpleHeader>
 	 */
 
 	/**
-	 * Letter that was lastly processed from the current alphabetic data set.
+	 * Section (code point of the letter or index of its bucket) that was lastly processed from the
+	 * current alphabetic data set or {@link #NO_LETTER} if there was no letter processed yet.
 	 * <p>
 	 * This is variable holds only temporary value used in {@link #onProcessAlphabeticItem(AlphabeticItem, int)}.
 	 */
-	private String mLastProcessedLetter = "";
+	private int mLastProcessedLetter = NO_LETTER;
+
+	/**
+	 * Buckets used to group the processed items. If {@code null}, items are grouped by code points.
+	 */
+	private AlphabeticBuckets mBuckets;
+
+	/**
+	 * Executor used to compute headers via {@link #fromAlphabeticListAsync(List)}. If {@code null},
+	 * the default shared background executor is used.
+	 */
+	private Executor mExecutor;
+
+	/**
+	 * Generation of the current headers data set. Incremented whenever the headers data set is
+	 * cleared, so results of asynchronous computations requested for an older data set may be
+	 * recognized and dropped.
+	 */
+	private volatile int mGeneration;
 
 	/**
 	 * Constructors ================================================================================
@@ -131,12 +171,144 @@ public class AlphabeticHeaders extends HeadersModule<HeadersModule.SimpleHeader>
 		notifyAdapter();
 	}
 
+	/**
+	 * Sets buckets that should be used to group items processed by this module into sections.
+	 * <p>
+	 * <b>Note</b>, that the current headers are not recomputed. The buckets are used by the next
+	 * processing of an alphabetic data set.
+	 *
+	 * @param buckets The desired buckets, like {@link AlphabeticBuckets#forLocale(java.util.Locale)}.
+	 *                May be {@code null} to group items by the first code points of theirs texts.
+	 * @see #getBuckets()
+	 */
+	public void setBuckets(@Nullable AlphabeticBuckets buckets) {
+		this.mBuckets = buckets;
+	}
+
+	/**
+	 * Returns the buckets used to group items processed by this module into sections.
+	 *
+	 * @return The buckets specified via {@link #setBuckets(AlphabeticBuckets)} or {@code null} if
+	 * items are grouped by code points.
+	 * @see #setBuckets(AlphabeticBuckets)
+	 */
+	@Nullable
+	public AlphabeticBuckets getBuckets() {
+		return mBuckets;
+	}
+
+	/**
+	 * Sets an executor that should be used to compute headers via {@link #fromAlphabeticListAsync(List)}.
+	 * <p>
+	 * If the related adapter has its own executor for background work, like {@code SimpleRecyclerAdapter}
+	 * has for computation of items differences, it is preferred to specify such executor, so this
+	 * module does not need to start its default one.
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one which runs
+	 *                 computations sequentially on a single background thread.
+	 * @see #getExecutor()
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.mExecutor = executor;
+	}
+
+	/**
+	 * Returns the executor used to compute headers via {@link #fromAlphabeticListAsync(List)}.
+	 *
+	 * @return The executor specified via {@link #setExecutor(Executor)} or the default one.
+	 * @see #setExecutor(Executor)
+	 */
+	@NonNull
+	public Executor getExecutor() {
+		return mExecutor == null ? ModuleExecutors.background() : mExecutor;
+	}
+
+	/**
+	 * Same as {@link #fromAlphabeticList(List)}, but the given list of alphabetic items is processed
+	 * via the {@link #getExecutor() executor} of this module, so off the main thread by default.
+	 * <p>
+	 * The current headers are cleared immediately, so the related adapter is expected to notify
+	 * change of its data set as it does when its items change. The computed headers are then on the
+	 * main thread swapped for the current ones at once, followed by a single {@link #notifyAdapter()}.
+	 * If the headers data set is cleared or recomputed before the computation finishes (including by
+	 * another call to this method), result of the computation is dropped.
+	 * <p>
+	 * <b>Note</b>, that the given <var>list</var> must not be modified while the computation is
+	 * running. Processing of cursors is not supported asynchronously, as theirs position may be
+	 * changed by the adapter at any time.
+	 *
+	 * @param list   The desired list of alphabetic items to process.
+	 * @param <Item> Type of the alphabetic items in the list.
+	 * @see #setExecutor(Executor)
+	 */
+	public <Item extends AlphabeticItem> void fromAlphabeticListAsync(@NonNull final List<Item> list) {
+		clearHeaders();
+		final int generation = mGeneration;
+		final AlphabeticBuckets buckets = mBuckets;
+		getExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				final SparseArray<SimpleHeader> headers = computeHeaders(list, buckets, generation);
+				if (headers == null) return;
+				ModuleExecutors.mainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						publishHeaders(headers, generation);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Computes headers for the given list of alphabetic items into a new array, not touching any
+	 * state of this module except checking of its generation, so this may be called from any thread.
+	 *
+	 * @return Computed headers or {@code null} if the headers data set of this module has been
+	 * cleared meanwhile, so the result would be outdated.
+	 */
+	SparseArray<SimpleHeader> computeHeaders(List<? extends AlphabeticItem> list, AlphabeticBuckets buckets, int generation) {
+		final int size = list.size();
+		final SparseArray<SimpleHeader> headers = new SparseArray<>(10);
+		int lastLetter = NO_LETTER;
+		for (int i = 0; i < size; i++) {
+			// Check once in a while whether there has been requested a newer computation.
+			if ((i & 0xFF) == 0 && generation != mGeneration) return null;
+			final CharSequence text = list.get(i).getText();
+			if (TextUtils.isEmpty(text)) continue;
+			final int firstLetter = Character.codePointAt(text, 0);
+			final int section = buckets == null ? firstLetter : buckets.bucketOf(firstLetter);
+			if (section != lastLetter) {
+				headers.append(headers.size() + i, createHeader(firstLetter, section, buckets));
+			}
+			lastLetter = section;
+		}
+		return headers;
+	}
+
+	/**
+	 * Swaps the given headers computed for the specified <var>generation</var> for the current ones
+	 * and notifies the adapter, unless the generation is outdated. Must be called on the main thread.
+	 */
+	void publishHeaders(SparseArray<SimpleHeader> headers, int generation) {
+		if (generation != mGeneration) return;
+		swapHeaders(headers);
+		notifyAdapter();
+	}
+
 	/**
 	 */
 	@Override
 	public void clearHeaders() {
 		super.clearHeaders();
-		this.mLastProcessedLetter = "";
+		this.mLastProcessedLetter = NO_LETTER;
+		this.mGeneration++;
 	}
 
 	/**
@@ -146,16 +318,26 @@ public class AlphabeticHeaders extends HeadersModule<HeadersModule.SimpleHeader>
 	 * @param position The position at which should be header presented within the headers data set.
 	 */
 	protected final void onProcessAlphabeticItem(@NonNull AlphabeticItem item, int position) {
-		final String name = item.getText().toString();
-		if (!TextUtils.isEmpty(name)) {
-			final String firstLetter = name.substring(0, 1);
-			if (!firstLetter.equals(mLastProcessedLetter)) {
-				addHeader(new SimpleHeader(firstLetter), size() + position);
+		final CharSequence text = item.getText();
+		if (!TextUtils.isEmpty(text)) {
+			// Code point is used instead of char, so letters outside of BMP are not split into surrogates.
+			final int firstLetter = Character.codePointAt(text, 0);
+			final int section = mBuckets == null ? firstLetter : mBuckets.bucketOf(firstLetter);
+			if (section != mLastProcessedLetter) {
+				addHeader(createHeader(firstLetter, section, mBuckets), size() + position);
 			}
-			this.mLastProcessedLetter = firstLetter;
+			this.mLastProcessedLetter = section;
 		}
 	}
 
+	/**
+	 * Creates a header for the section of the specified <var>letter</var>. If there are buckets
+	 * specified, the header shares label of the bucket, otherwise its text is the letter itself.
+	 */
+	private static SimpleHeader createHeader(int letter, int section, AlphabeticBuckets buckets) {
+		return new SimpleHeader(buckets == null ? new String(Character.toChars(letter)) : buckets.getLabel(section));
+	}
+
 	/**
 	 * Inner classes ===============================================================================
 	 */
@@ -26,6 +26,7 @@ import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.SectionIndexer;
 import android.widget.TextView;
 
 /**
@@ -93,11 +94,16 @@ import android.widget.TextView;
  *      // ...
  * }
  * </pre>
+ * <p>
+ * HeadersModule also implements {@link SectionIndexer} where each header represents one section, so
+ * an adapter that wants to support fast-scroll may simply delegate its {@link SectionIndexer} methods
+ * to this module. Sections are resolved directly from the headers data set via binary search in
+ * {@code O(log n)} and array of sections is created only once per change of the headers data set.
  *
  * @param <H> Type of the header items presented within data set of a subclass of this HeadersModule.
  * @author Martin Albedinsky
  */
-public abstract class HeadersModule<H extends HeadersModule.Header> extends AdapterModule {
+public abstract class HeadersModule<H extends HeadersModule.Header> extends AdapterModule implements SectionIndexer {
 
 	/**
 	 * Constants ===================================================================================
@@ -139,7 +145,13 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 	/**
 	 * Array of headers managed by this module mapped to theirs positions.
 	 */
-	private final SparseArray<H> mHeaders = new SparseArray<>(10);
+	private SparseArray<H> mHeaders = new SparseArray<>(10);
+
+	/**
+	 * Array of sections created from the current headers data set. Invalidated (set to {@code null})
+	 * whenever the headers data set changes.
+	 */
+	private Object[] mSections;
 
 	/**
 	 * An attribute from the current theme, which should contain a resource of the style for the
@@ -187,6 +199,7 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 	 */
 	protected void addHeader(@NonNull H header, int position) {
 		mHeaders.append(position, header);
+		this.mSections = null;
 	}
 
 	/**
@@ -236,6 +249,23 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 	 */
 	protected void removeHeaderAt(int position) {
 		mHeaders.remove(position);
+		this.mSections = null;
+	}
+
+	/**
+	 * Replaces the current headers data set of this module with the given one at once. The given
+	 * array becomes the live headers data set of this module, so it should not be modified afterwards
+	 * by the caller.
+	 * <p>
+	 * This may be used to publish headers that have been computed aside, for example on a background
+	 * thread, without exposing a partially built headers data set to the related adapter.
+	 *
+	 * @param headers The desired array of headers mapped to theirs positions.
+	 * @see #getHeaders()
+	 */
+	protected final void swapHeaders(@NonNull SparseArray<H> headers) {
+		this.mHeaders = headers;
+		this.mSections = null;
 	}
 
 	/**
@@ -243,6 +273,7 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 	 */
 	public void clearHeaders() {
 		mHeaders.clear();
+		this.mSections = null;
 	}
 
 	/**
@@ -254,6 +285,7 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 	 * @param position The position to correct.
 	 * @return Corrected position which can be used in the associated adapter to properly/safely access
 	 * items from its data set.
+	 * @see #adapterPositionOf(int)
 	 */
 	public int correctPosition(int position) {
 		return position - getHeadersCountBeforePosition(position);
@@ -261,20 +293,129 @@ public abstract class HeadersModule<H extends HeadersModule.Header> extends Adap
 
 	/**
 	 * Counts headers presented in the current headers data set before the requested <var>position</var>.
+	 * <p>
+	 * As positions of headers are kept sorted, the count is resolved via binary search in {@code O(log n)}.
 	 *
 	 * @param position The position, to which should be headers counted.
 	 * @return The count of headers before the requested position.
 	 */
 	public int getHeadersCountBeforePosition(int position) {
-		int count = 0;
-		for (int i = 0; i < mHeaders.size(); i++) {
-			if (mHeaders.keyAt(i) < position) {
-				count++;
-			} else {
-				break;
+		final SparseArray<H> headers = mHeaders;
+		int low = 0;
+		int high = headers.size();
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (headers.keyAt(middle) < position) low = middle + 1;
+			else high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Maps the given <var>dataPosition</var> of an item from the associated adapter's data set to
+	 * the position of that item within the adapter, that is, the position increased by count of
+	 * the headers presented before the item. This is the inverse of {@link #correctPosition(int)}.
+	 * <p>
+	 * The position is resolved via binary search in {@code O(log n)}.
+	 *
+	 * @param dataPosition Position of the item within the adapter's data set.
+	 * @return Position of the item within the adapter.
+	 * @see #adapterPositionsOf(int[])
+	 */
+	public int adapterPositionOf(int dataPosition) {
+		final SparseArray<H> headers = mHeaders;
+		// The i-th header is preceded by (keyAt(i) - i) data items, which does not decrease with i.
+		int low = 0;
+		int high = headers.size();
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (headers.keyAt(middle) - middle <= dataPosition) low = middle + 1;
+			else high = middle;
+		}
+		return dataPosition + low;
+	}
+
+	/**
+	 * Same as {@link #adapterPositionOf(int)} for multiple data positions which are mapped in a
+	 * single pass over the headers.
+	 *
+	 * @param dataPositions Positions of items within the adapter's data set sorted in ascending order.
+	 * @return New array with positions of the items within the adapter, in the same order as the
+	 * given data positions.
+	 * @throws IllegalArgumentException If the data positions are not sorted in ascending order.
+	 */
+	@NonNull
+	public int[] adapterPositionsOf(@NonNull int[] dataPositions) {
+		final SparseArray<H> headers = mHeaders;
+		final int headersCount = headers.size();
+		final int[] positions = new int[dataPositions.length];
+		int headerIndex = 0;
+		int previousPosition = Integer.MIN_VALUE;
+		for (int i = 0; i < dataPositions.length; i++) {
+			final int dataPosition = dataPositions[i];
+			if (dataPosition < previousPosition) {
+				throw new IllegalArgumentException("Data positions must be sorted in ascending order.");
+			}
+			while (headerIndex < headersCount && headers.keyAt(headerIndex) - headerIndex <= dataPosition) {
+				headerIndex++;
+			}
+			positions[i] = dataPosition + headerIndex;
+			previousPosition = dataPosition;
+		}
+		return positions;
+	}
+
+	/**
+	 * Returns texts of all headers from the current headers data set as sections.
+	 * <p>
+	 * The returned array is shared until the headers data set changes, so it should not be modified.
+	 * <b>Note</b>, that changes made directly to the array obtained via {@link #getHeaders()} are
+	 * not reflected by the sections.
+	 *
+	 * @return Array with text of header at index of its section.
+	 * @see #getPositionForSection(int)
+	 * @see #getSectionForPosition(int)
+	 */
+	@Override
+	public Object[] getSections() {
+		if (mSections == null) {
+			final SparseArray<H> headers = mHeaders;
+			final Object[] sections = new Object[headers.size()];
+			for (int i = 0; i < sections.length; i++) {
+				sections[i] = headers.valueAt(i).getText();
 			}
+			this.mSections = sections;
 		}
-		return count;
+		return mSections;
+	}
+
+	/**
+	 * Returns position of the header that represents the requested <var>section</var>.
+	 *
+	 * @param section Index of the section. Indexes out of bounds are clamped to the first or the
+	 *                last section.
+	 * @return Position of the section's header within the adapter or {@code 0} if there are no headers.
+	 * @see #getSectionForPosition(int)
+	 */
+	@Override
+	public int getPositionForSection(int section) {
+		final SparseArray<H> headers = mHeaders;
+		final int size = headers.size();
+		if (size == 0) return 0;
+		return headers.keyAt(Math.max(0, Math.min(section, size - 1)));
+	}
+
+	/**
+	 * Returns index of the section to which belongs an item at the specified <var>position</var>,
+	 * that is, index of the last header presented at or before that position.
+	 *
+	 * @param position Position of the item within the adapter.
+	 * @return Index of the section or {@code 0} if there is no header before the position.
+	 * @see #getPositionForSection(int)
+	 */
+	@Override
+	public int getSectionForPosition(int position) {
+		return Math.max(0, getHeadersCountBeforePosition(position + 1) - 1);
 	}
 
 	/**
@@ -0,0 +1,282 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Hash set of primitive {@code long} values implemented using open addressing with linear probing,
+ * so values are never boxed and no objects are allocated per added value.
+ * <p>
+ * Value {@code 0} is used internally to mark empty slots of the hash table, so presence of this
+ * value in the set is tracked separately.
+ *
+ * @author Martin Albedinsky
+ */
+final class LongHashSet {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "LongHashSet";
+
+	/**
+	 * Value marking an empty slot.
+	 */
+	private static final long EMPTY = 0L;
+
+	/**
+	 * Minimum capacity of the hash table.
+	 */
+	private static final int MIN_CAPACITY = 4;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Values of the hash table. Slot is empty if its value is {@link #EMPTY}.
+	 */
+	private long[] mValues;
+
+	/**
+	 * Flag indicating whether the {@link #EMPTY} value is contained in this set.
+	 */
+	private boolean mContainsEmptyValue;
+
+	/**
+	 * Count of values in this set.
+	 */
+	private int mSize;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of LongHashSet with initial capacity for the specified count of values.
+	 *
+	 * @param expectedSize Count of values that should fit into the set without resizing.
+	 */
+	LongHashSet(int expectedSize) {
+		this.mValues = new long[tableSizeFor(expectedSize)];
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns size of the hash table able to hold the specified count of values with load factor
+	 * of at most {@code 0.5}.
+	 */
+	private static int tableSizeFor(int size) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < size * 2) capacity <<= 1;
+		return capacity;
+	}
+
+	/**
+	 * Returns index of the slot at which should the specified value be stored in a table with the
+	 * specified (power of two) capacity.
+	 */
+	private static int slotOf(long value, int capacity) {
+		long hash = value * 0x9E3779B97F4A7C15L;
+		hash ^= hash >>> 32;
+		return (int) hash & (capacity - 1);
+	}
+
+	/**
+	 * Returns count of values in this set.
+	 */
+	int size() {
+		return mSize;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether this set contains no values.
+	 */
+	boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	/**
+	 * Ensures that this set is able to hold the specified count of values without resizing, so
+	 * subsequent bulk additions do not rehash the table repeatedly.
+	 *
+	 * @param expectedSize Count of values that should fit into the set without resizing.
+	 */
+	void ensureCapacity(int expectedSize) {
+		final int capacity = tableSizeFor(expectedSize);
+		if (capacity > mValues.length) rehash(capacity);
+	}
+
+	/**
+	 * Checks whether the specified <var>value</var> is contained in this set.
+	 *
+	 * @param value The value to check.
+	 * @return {@code True} if this set contains the value, {@code false} otherwise.
+	 */
+	boolean contains(long value) {
+		if (value == EMPTY) return mContainsEmptyValue;
+		final long[] values = mValues;
+		final int mask = values.length - 1;
+		int slot = slotOf(value, values.length);
+		while (values[slot] != EMPTY) {
+			if (values[slot] == value) return true;
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the specified <var>value</var> into this set.
+	 *
+	 * @param value The value to add.
+	 * @return {@code True} if the value has been added, {@code false} if it was already contained.
+	 */
+	boolean add(long value) {
+		if (value == EMPTY) {
+			if (mContainsEmptyValue) return false;
+			this.mContainsEmptyValue = true;
+			this.mSize++;
+			return true;
+		}
+		if ((mSize + 1) * 2 > mValues.length) rehash(mValues.length << 1);
+		final long[] values = mValues;
+		final int mask = values.length - 1;
+		int slot = slotOf(value, values.length);
+		while (values[slot] != EMPTY) {
+			if (values[slot] == value) return false;
+			slot = (slot + 1) & mask;
+		}
+		values[slot] = value;
+		this.mSize++;
+		return true;
+	}
+
+	/**
+	 * Removes the specified <var>value</var> from this set.
+	 *
+	 * @param value The value to remove.
+	 * @return {@code True} if the value has been removed, {@code false} if it was not contained.
+	 */
+	boolean remove(long value) {
+		if (value == EMPTY) {
+			if (!mContainsEmptyValue) return false;
+			this.mContainsEmptyValue = false;
+			this.mSize--;
+			return true;
+		}
+		final long[] values = mValues;
+		final int mask = values.length - 1;
+		int slot = slotOf(value, values.length);
+		while (values[slot] != EMPTY) {
+			if (values[slot] == value) {
+				deleteSlot(slot);
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Deletes value at the specified <var>slot</var> and shifts back all values of the following
+	 * probe sequence that would become unreachable, so no tombstones are needed.
+	 */
+	private void deleteSlot(int slot) {
+		final long[] values = mValues;
+		final int mask = values.length - 1;
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while (values[next] != EMPTY) {
+			final int ideal = slotOf(values[next], values.length);
+			// Move the value into the gap if its ideal slot does not lie cyclically in (gap, next].
+			if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		values[gap] = EMPTY;
+		this.mSize--;
+	}
+
+	/**
+	 * Removes all values from this set.
+	 */
+	void clear() {
+		Arrays.fill(mValues, EMPTY);
+		this.mContainsEmptyValue = false;
+		this.mSize = 0;
+	}
+
+	/**
+	 * Returns all values of this set.
+	 *
+	 * @return New array with the values sorted in ascending order.
+	 */
+	@NonNull
+	long[] toArray() {
+		final long[] array = new long[mSize];
+		int index = 0;
+		if (mContainsEmptyValue) array[index++] = EMPTY;
+		final long[] values = mValues;
+		for (final long value : values) {
+			if (value != EMPTY) array[index++] = value;
+		}
+		Arrays.sort(array);
+		return array;
+	}
+
+	/**
+	 * Rehashes all values into a new table with the specified capacity.
+	 */
+	private void rehash(int capacity) {
+		final long[] oldValues = mValues;
+		final long[] values = new long[capacity];
+		final int mask = capacity - 1;
+		for (final long value : oldValues) {
+			if (value == EMPTY) continue;
+			int slot = slotOf(value, capacity);
+			while (values[slot] != EMPTY) slot = (slot + 1) & mask;
+			values[slot] = value;
+		}
+		this.mValues = values;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,372 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Compressed bitmap of non-negative positions split into chunks of {@link #CHUNK_BITS} bits.
+ * <p>
+ * Each chunk is either empty ({@code null}), full (shared {@link #FULL} words) or a plain bitmap
+ * of {@link #CHUNK_WORDS} words, so large contiguous ranges of set or clear bits take almost no
+ * memory. Membership is checked in constant time and all bulk operations (setting and clearing of
+ * ranges, shifting of bits due to inserted or removed positions) are performed a word at a time,
+ * skipping whole chunks where possible.
+ *
+ * @author Martin Albedinsky
+ */
+final class PositionBitSet {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "PositionBitSet";
+
+	/**
+	 * Count of bits stored in a single chunk, as power of two.
+	 */
+	private static final int CHUNK_SHIFT = 12;
+
+	/**
+	 * Count of bits stored in a single chunk.
+	 */
+	private static final int CHUNK_BITS = 1 << CHUNK_SHIFT;
+
+	/**
+	 * Count of words of a single chunk.
+	 */
+	private static final int CHUNK_WORDS = CHUNK_BITS >> 6;
+
+	/**
+	 * Words of a full chunk shared by all full chunks. Must never be modified.
+	 */
+	private static final long[] FULL = new long[CHUNK_WORDS];
+
+	static {
+		Arrays.fill(FULL, -1L);
+	}
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Chunks of this bitmap. Chunk is either {@code null}, {@link #FULL} or an own array of words.
+	 */
+	private long[][] mChunks = new long[0][];
+
+	/**
+	 * Count of set bits.
+	 */
+	private int mCardinality;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns count of set bits.
+	 */
+	int cardinality() {
+		return mCardinality;
+	}
+
+	/**
+	 * Returns {@code true} if there are no set bits.
+	 */
+	boolean isEmpty() {
+		return mCardinality == 0;
+	}
+
+	/**
+	 * Returns {@code true} if the bit at the specified <var>position</var> is set.
+	 */
+	boolean get(int position) {
+		final int chunkIndex = position >> CHUNK_SHIFT;
+		if (position < 0 || chunkIndex >= mChunks.length) return false;
+		final long[] chunk = mChunks[chunkIndex];
+		return chunk != null && (chunk[(position >> 6) & (CHUNK_WORDS - 1)] & (1L << position)) != 0;
+	}
+
+	/**
+	 * Sets all bits in the {@code [from, to)} range to the specified <var>value</var>.
+	 *
+	 * @return Count of bits that have changed.
+	 */
+	int setRange(int from, int to, boolean value) {
+		if (from >= to) return 0;
+		final int previousCardinality = mCardinality;
+		int position = from;
+		while (position < to) {
+			final int chunkIndex = position >> CHUNK_SHIFT;
+			final int chunkStart = chunkIndex << CHUNK_SHIFT;
+			if (position == chunkStart && to - position >= CHUNK_BITS) {
+				// The whole chunk is covered, so it may be replaced at once.
+				ensureChunks(chunkIndex + 1);
+				this.mCardinality += (value ? CHUNK_BITS : 0) - cardinalityOf(mChunks[chunkIndex]);
+				mChunks[chunkIndex] = value ? FULL : null;
+				position += CHUNK_BITS;
+				continue;
+			}
+			final int wordIndex = position >> 6;
+			final int wordEnd = Math.min(to, (wordIndex + 1) << 6);
+			long mask = -1L << position;
+			if (wordEnd - (wordIndex << 6) < 64) mask &= ~(-1L << wordEnd);
+			final long word = word(wordIndex);
+			setWord(wordIndex, value ? word | mask : word & ~mask);
+			position = wordEnd;
+		}
+		compact(from >> CHUNK_SHIFT, (to - 1) >> CHUNK_SHIFT);
+		return Math.abs(mCardinality - previousCardinality);
+	}
+
+	/**
+	 * Returns position of the first set bit at or after the specified <var>from</var> position or
+	 * {@code -1} if there is no such bit.
+	 */
+	int nextSetBit(int from) {
+		int wordIndex = Math.max(0, from) >> 6;
+		final int wordCount = mChunks.length * CHUNK_WORDS;
+		if (wordIndex >= wordCount) return -1;
+		long word = word(wordIndex) & (-1L << Math.max(0, from));
+		while (true) {
+			if (word != 0) return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			wordIndex++;
+			// Skip empty chunks at once.
+			while (wordIndex < wordCount && (wordIndex & (CHUNK_WORDS - 1)) == 0 && mChunks[wordIndex / CHUNK_WORDS] == null) {
+				wordIndex += CHUNK_WORDS;
+			}
+			if (wordIndex >= wordCount) return -1;
+			word = word(wordIndex);
+		}
+	}
+
+	/**
+	 * Returns position of the first clear bit at or after the specified <var>from</var> position.
+	 * Bits out of the bitmap are clear, so there is always such bit.
+	 */
+	int nextClearBit(int from) {
+		from = Math.max(0, from);
+		int wordIndex = from >> 6;
+		final int wordCount = mChunks.length * CHUNK_WORDS;
+		if (wordIndex >= wordCount) return from;
+		long word = ~word(wordIndex) & (-1L << from);
+		while (true) {
+			if (word != 0) return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			wordIndex++;
+			// Skip full chunks at once.
+			while (wordIndex < wordCount && (wordIndex & (CHUNK_WORDS - 1)) == 0 && mChunks[wordIndex / CHUNK_WORDS] == FULL) {
+				wordIndex += CHUNK_WORDS;
+			}
+			if (wordIndex >= wordCount) return wordIndex << 6;
+			word = ~word(wordIndex);
+		}
+	}
+
+	/**
+	 * Returns position of the last set bit or {@code -1} if there are no set bits.
+	 */
+	int lastSetBit() {
+		for (int chunkIndex = mChunks.length - 1; chunkIndex >= 0; chunkIndex--) {
+			final long[] chunk = mChunks[chunkIndex];
+			if (chunk == null) continue;
+			for (int i = CHUNK_WORDS - 1; i >= 0; i--) {
+				if (chunk[i] != 0) {
+					return (chunkIndex << CHUNK_SHIFT) + (i << 6) + 63 - Long.numberOfLeadingZeros(chunk[i]);
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns positions of all set bits sorted in ascending order.
+	 */
+	@NonNull
+	int[] toArray() {
+		final int[] positions = new int[mCardinality];
+		int index = 0;
+		for (int position = nextSetBit(0); position != -1; position = nextSetBit(position + 1)) {
+			positions[index++] = position;
+		}
+		return positions;
+	}
+
+	/**
+	 * Clears all bits.
+	 */
+	void clear() {
+		this.mChunks = new long[0][];
+		this.mCardinality = 0;
+	}
+
+	/**
+	 * Inserts <var>count</var> clear bits at the specified <var>position</var>, so all bits at or
+	 * after the position are shifted up by the count.
+	 */
+	void insert(int position, int count) {
+		if (count <= 0 || position >= mChunks.length << CHUNK_SHIFT) return;
+		final int startWord = position >> 6;
+		final long startWordBits = word(startWord);
+		final int lastWord = ((mChunks.length << CHUNK_SHIFT) + count - 1) >> 6;
+		// Move words top down, so each source word is read before it is overwritten.
+		for (int wordIndex = lastWord; wordIndex >= startWord; wordIndex--) {
+			setWord(wordIndex, readBits(((long) wordIndex << 6) - count));
+		}
+		// Restore bits below the position and clear the inserted ones.
+		final long lowMask = ~(-1L << position);
+		setWord(startWord, (startWordBits & lowMask) | (word(startWord) & ~lowMask));
+		setRange(position, position + count, false);
+		compact(0, mChunks.length - 1);
+		recount();
+	}
+
+	/**
+	 * Removes <var>count</var> bits at the specified <var>position</var>, so all bits after the
+	 * removed ones are shifted down by the count.
+	 */
+	void remove(int position, int count) {
+		if (count <= 0 || position >= mChunks.length << CHUNK_SHIFT) return;
+		final int startWord = position >> 6;
+		final long startWordBits = word(startWord);
+		final int wordCount = mChunks.length * CHUNK_WORDS;
+		// Move words bottom up, so each source word is read before it is overwritten.
+		for (int wordIndex = startWord; wordIndex < wordCount; wordIndex++) {
+			setWord(wordIndex, readBits(((long) wordIndex << 6) + count));
+		}
+		// Restore bits below the position.
+		final long lowMask = ~(-1L << position);
+		setWord(startWord, (startWordBits & lowMask) | (word(startWord) & ~lowMask));
+		compact(0, mChunks.length - 1);
+		recount();
+	}
+
+	/**
+	 * Returns 64 bits starting at the specified bit <var>offset</var>. Bits out of the bitmap are clear.
+	 */
+	private long readBits(long offset) {
+		if (offset <= -64) return 0;
+		final int wordIndex = (int) (offset >> 6);
+		final int shift = (int) (offset & 63);
+		final long low = wordIndex < 0 ? 0 : word(wordIndex);
+		if (shift == 0) return low;
+		return (low >>> shift) | (word(wordIndex + 1) << (64 - shift));
+	}
+
+	/**
+	 * Returns word at the specified index. Words out of the bitmap are clear.
+	 */
+	private long word(int wordIndex) {
+		final int chunkIndex = wordIndex / CHUNK_WORDS;
+		if (chunkIndex >= mChunks.length) return 0;
+		final long[] chunk = mChunks[chunkIndex];
+		return chunk == null ? 0 : chunk[wordIndex & (CHUNK_WORDS - 1)];
+	}
+
+	/**
+	 * Sets word at the specified index and updates the cardinality accordingly.
+	 */
+	private void setWord(int wordIndex, long value) {
+		final int chunkIndex = wordIndex / CHUNK_WORDS;
+		long[] chunk = chunkIndex < mChunks.length ? mChunks[chunkIndex] : null;
+		if (chunk == null) {
+			if (value == 0) return;
+			ensureChunks(chunkIndex + 1);
+			chunk = mChunks[chunkIndex] = new long[CHUNK_WORDS];
+		} else if (chunk == FULL) {
+			if (value == -1L) return;
+			chunk = mChunks[chunkIndex] = FULL.clone();
+		}
+		final int index = wordIndex & (CHUNK_WORDS - 1);
+		this.mCardinality += Long.bitCount(value) - Long.bitCount(chunk[index]);
+		chunk[index] = value;
+	}
+
+	/**
+	 * Ensures that there are at least <var>count</var> chunks.
+	 */
+	private void ensureChunks(int count) {
+		if (mChunks.length < count) {
+			this.mChunks = Arrays.copyOf(mChunks, Math.max(count, mChunks.length + (mChunks.length >> 1)));
+		}
+	}
+
+	/**
+	 * Replaces chunks from the specified range that are empty by {@code null} and those that are
+	 * full by {@link #FULL}. Also trims trailing empty chunks.
+	 */
+	private void compact(int fromChunk, int toChunk) {
+		for (int chunkIndex = fromChunk; chunkIndex <= toChunk && chunkIndex < mChunks.length; chunkIndex++) {
+			final long[] chunk = mChunks[chunkIndex];
+			if (chunk == null || chunk == FULL) continue;
+			final int cardinality = cardinalityOf(chunk);
+			if (cardinality == 0) mChunks[chunkIndex] = null;
+			else if (cardinality == CHUNK_BITS) mChunks[chunkIndex] = FULL;
+		}
+		int length = mChunks.length;
+		while (length > 0 && mChunks[length - 1] == null) length--;
+		if (length < mChunks.length) this.mChunks = Arrays.copyOf(mChunks, length);
+	}
+
+	/**
+	 * Recomputes count of set bits from all chunks.
+	 */
+	private void recount() {
+		int cardinality = 0;
+		for (final long[] chunk : mChunks) {
+			cardinality += cardinalityOf(chunk);
+		}
+		this.mCardinality = cardinality;
+	}
+
+	/**
+	 * Returns count of set bits of the given <var>chunk</var>.
+	 */
+	private static int cardinalityOf(long[] chunk) {
+		if (chunk == null) return 0;
+		if (chunk == FULL) return CHUNK_BITS;
+		int cardinality = 0;
+		for (final long word : chunk) {
+			cardinality += Long.bitCount(word);
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,386 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.CallSuper;
+import android.support.annotation.NonNull;
+
+import universum.studios.android.widget.adapter.AdapterSavedState;
+
+/**
+ * An {@link AdapterModule AdapterModule} implementation that supports multiple selection for the
+ * associated adapter keyed by <b>positions</b> of items instead of theirs ids as {@link SelectionModule}.
+ * <p>
+ * Selected positions are stored in a compressed bitmap where large contiguous ranges of selected or
+ * unselected positions take almost no memory. Checking whether a position is selected via
+ * {@link #isSelected(int)} takes constant time and selecting or deselecting of ranges of positions
+ * via {@link #selectRange(int, int)} and {@link #clearSelectionInRange(int, int)} is performed
+ * a word (64 positions) at a time, so this module is suitable for bulk selection over huge data sets.
+ * <p>
+ * As the selection is keyed by positions, the associated adapter is required to report structural
+ * changes of its data set to this module via {@link #onItemRangeInserted(int, int)},
+ * {@link #onItemRangeRemoved(int, int)} and {@link #onItemMoved(int, int)}, so the selected
+ * positions are remapped accordingly. For {@code RecyclerView.Adapter}
+ * this may be done by a registered data observer:
+ * <pre>
+ * registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+ *
+ *      &#64;Override
+ *      public void onItemRangeInserted(int positionStart, int itemCount) {
+ *          mSelectionModule.onItemRangeInserted(positionStart, itemCount);
+ *      }
+ *
+ *      &#64;Override
+ *      public void onItemRangeRemoved(int positionStart, int itemCount) {
+ *          mSelectionModule.onItemRangeRemoved(positionStart, itemCount);
+ *      }
+ *
+ *      &#64;Override
+ *      public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+ *          mSelectionModule.onItemMoved(fromPosition, toPosition);
+ *      }
+ * });
+ * </pre>
+ * Whenever selection state of some positions changes, this module notifies the range of these
+ * positions via {@link ModuleAdapter#notifyItemRangeChanged(int, int, Object)} with
+ * {@link SelectionModule#PAYLOAD_SELECTION} payload.
+ *
+ * @author Martin Albedinsky
+ * @see SelectionModule
+ */
+public class PositionSelectionModule extends AdapterModule {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "PositionSelectionModule";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Bitmap of the currently selected positions.
+	 */
+	private final PositionBitSet mSelection = new PositionBitSet();
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Changes selection state of the specified <var>position</var> to the opposite one and
+	 * <b>notifies adapter</b>.
+	 *
+	 * @param position The position of an item of which selection state to toggle.
+	 * @return Size of the current selection.
+	 * @see #setSelected(int, boolean)
+	 */
+	public int toggleSelection(int position) {
+		setSelected(position, !isSelected(position));
+		return getSelectionSize();
+	}
+
+	/**
+	 * Changes selection state of the specified <var>position</var> to the desired one and
+	 * <b>notifies adapter</b> about change of the item, if its selection state has changed.
+	 *
+	 * @param position The position of an item of which selection state to change.
+	 * @param selected New selection state. {@code True} to be selected, {@code false} otherwise.
+	 * @throws IndexOutOfBoundsException If the position is negative.
+	 * @see #toggleSelection(int)
+	 * @see #selectRange(int, int)
+	 */
+	public void setSelected(int position, boolean selected) {
+		if (position < 0) throw new IndexOutOfBoundsException("Incorrect position(" + position + ").");
+		if (mSelection.setRange(position, position + 1, selected) > 0) {
+			notifySelectionChanged(position, position);
+		}
+	}
+
+	/**
+	 * Same as {@link #selectRange(int, int)} with parameters {@code (0, ModuleAdapter.getItemCount())}.
+	 *
+	 * @see #setSelected(int, boolean)
+	 */
+	public void selectAll() {
+		assertAttachedToAdapterOrThrow();
+		selectRange(0, mAdapter.getItemCount());
+	}
+
+	/**
+	 * Selects all positions in the {@code [startPosition, startPosition + count)} range and
+	 * <b>notifies adapter</b> once if any of them has not been selected yet.
+	 *
+	 * @param startPosition The position from which to start selection.
+	 * @param count         Count of items to select from the start position.
+	 * @throws IndexOutOfBoundsException If {@code startPosition + count > n}.
+	 * @see #clearSelectionInRange(int, int)
+	 */
+	public void selectRange(int startPosition, int count) {
+		setSelectedInRange(startPosition, count, true);
+	}
+
+	/**
+	 * Deselects all positions in the {@code [startPosition, startPosition + count)} range and
+	 * <b>notifies adapter</b> once if any of them has been selected.
+	 *
+	 * @param startPosition The position from which to start deselection.
+	 * @param count         Count of items to deselect from the start position.
+	 * @throws IndexOutOfBoundsException If {@code startPosition + count > n}.
+	 * @see #selectRange(int, int)
+	 * @see #clearSelection()
+	 */
+	public void clearSelectionInRange(int startPosition, int count) {
+		setSelectedInRange(startPosition, count, false);
+	}
+
+	/**
+	 * Changes selection state of all positions in the {@code [startPosition, startPosition + count)}
+	 * range to the desired one.
+	 */
+	private void setSelectedInRange(int startPosition, int count, boolean selected) {
+		assertAttachedToAdapterOrThrow();
+		// Check correct index.
+		final int n = mAdapter.getItemCount();
+		if (startPosition < 0 || startPosition + count > n) {
+			throw new IndexOutOfBoundsException("Incorrect count(" + count + ") for start position(" + startPosition + "). Adapter has only " + n + " items.");
+		}
+		if (mSelection.setRange(startPosition, startPosition + count, selected) > 0) {
+			notifySelectionChanged(startPosition, startPosition + count - 1);
+		}
+	}
+
+	/**
+	 * Checks whether the specified <var>position</var> is currently selected or not.
+	 *
+	 * @param position The position of an item of which selection state to check.
+	 * @return {@code True} if item at the specified position is selected, {@code false} otherwise.
+	 */
+	public boolean isSelected(int position) {
+		return mSelection.get(position);
+	}
+
+	/**
+	 * Returns array containing positions that are at this time selected within this module.
+	 *
+	 * @return Array with selected positions sorted in ascending order or an empty array if there is
+	 * no selection.
+	 * @see #getSelectionSize()
+	 */
+	@NonNull
+	public int[] getSelection() {
+		return mSelection.toArray();
+	}
+
+	/**
+	 * Returns size of the current selection.
+	 *
+	 * @return Count of the currently selected positions.
+	 * @see #getSelection()
+	 */
+	public int getSelectionSize() {
+		return mSelection.cardinality();
+	}
+
+	/**
+	 * Deselects all currently selected positions and <b>notifies adapter</b>.
+	 *
+	 * @see #clearSelectionInRange(int, int)
+	 */
+	public void clearSelection() {
+		if (!mSelection.isEmpty()) {
+			final int firstPosition = mSelection.nextSetBit(0);
+			final int lastPosition = mSelection.lastSetBit();
+			mSelection.clear();
+			notifySelectionChanged(firstPosition, lastPosition);
+		}
+	}
+
+	/**
+	 * Notifies the attached adapter that selection state of items in the {@code [firstPosition, lastPosition]}
+	 * range has changed.
+	 */
+	private void notifySelectionChanged(int firstPosition, int lastPosition) {
+		notifyAdapterItemRangeChanged(firstPosition, lastPosition - firstPosition + 1, SelectionModule.PAYLOAD_SELECTION);
+	}
+
+	/**
+	 * Should be called by the associated adapter whenever <var>itemCount</var> items have been
+	 * inserted at the <var>positionStart</var>. Selected positions after the inserted items are
+	 * shifted accordingly and the inserted items are not selected.
+	 *
+	 * @param positionStart Position at which have been the items inserted.
+	 * @param itemCount     Count of the inserted items.
+	 */
+	public void onItemRangeInserted(int positionStart, int itemCount) {
+		mSelection.insert(positionStart, itemCount);
+	}
+
+	/**
+	 * Should be called by the associated adapter whenever <var>itemCount</var> items have been
+	 * removed from the <var>positionStart</var>. Selection of the removed items is dropped and
+	 * selected positions after them are shifted accordingly.
+	 *
+	 * @param positionStart Position from which have been the items removed.
+	 * @param itemCount     Count of the removed items.
+	 */
+	public void onItemRangeRemoved(int positionStart, int itemCount) {
+		mSelection.remove(positionStart, itemCount);
+	}
+
+	/**
+	 * Should be called by the associated adapter whenever an item has been moved from the
+	 * <var>fromPosition</var> to the <var>toPosition</var>. Selection state moves with the item.
+	 *
+	 * @param fromPosition Previous position of the moved item.
+	 * @param toPosition   New position of the moved item.
+	 */
+	public void onItemMoved(int fromPosition, int toPosition) {
+		if (fromPosition == toPosition) return;
+		final boolean selected = mSelection.get(fromPosition);
+		mSelection.remove(fromPosition, 1);
+		mSelection.insert(toPosition, 1);
+		if (selected) mSelection.setRange(toPosition, toPosition + 1, true);
+	}
+
+	/**
+	 * @return {@code True} whether this module have some selection to save, {@code false} otherwise.
+	 */
+	@Override
+	public boolean requiresStateSaving() {
+		return !mSelection.isEmpty();
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	@CallSuper
+	public Parcelable saveInstanceState() {
+		final SavedState state = new SavedState(super.saveInstanceState());
+		if (!mSelection.isEmpty()) {
+			state.selection = SelectionCodec.encode(mSelection);
+		}
+		return state;
+	}
+
+	/**
+	 */
+	@Override
+	@CallSuper
+	public void restoreInstanceState(@NonNull Parcelable savedState) {
+		if (!(savedState instanceof SavedState)) {
+			super.restoreInstanceState(savedState);
+			return;
+		}
+		final SavedState state = (SavedState) savedState;
+		super.restoreInstanceState(state.getSuperState());
+		mSelection.clear();
+		if (state.selection != null) {
+			SelectionCodec.decode(state.selection, mSelection);
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * An {@link AdapterSavedState} implementation used to ensure that the state of {@link PositionSelectionModule}
+	 * is properly saved.
+	 *
+	 * @author Martin Albedinsky
+	 */
+	public static class SavedState extends AdapterSavedState {
+
+		/**
+		 * Creator used to create an instance or array of instances of SavedState from {@link Parcel}.
+		 */
+		public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+
+			/**
+			 */
+			@Override
+			public SavedState createFromParcel(Parcel source) {
+				return new SavedState(source);
+			}
+
+			/**
+			 */
+			@Override
+			public SavedState[] newArray(int size) {
+				return new SavedState[size];
+			}
+		};
+
+		/**
+		 * Encoded selected positions or {@code null} if there is no selection.
+		 */
+		private byte[] selection;
+
+		/**
+		 * Creates a new instance of SavedState with the given <var>superState</var> to allow chaining
+		 * of saved states in {@link #saveInstanceState()} and also in {@link #restoreInstanceState(Parcelable)}.
+		 *
+		 * @param superState The super state obtained from {@code super.saveInstanceState()} within
+		 *                   {@link #saveInstanceState()}.
+		 */
+		protected SavedState(@NonNull Parcelable superState) {
+			super(superState);
+		}
+
+		/**
+		 * Called from {@link #CREATOR} to create an instance of SavedState form the given parcel
+		 * <var>source</var>.
+		 *
+		 * @param source Parcel with data for the new instance.
+		 */
+		protected SavedState(@NonNull Parcel source) {
+			super(source);
+			this.selection = source.createByteArray();
+		}
+
+		/**
+		 */
+		@Override
+		public void writeToParcel(@NonNull Parcel dest, int flags) {
+			super.writeToParcel(dest, flags);
+			dest.writeByteArray(selection);
+		}
+	}
+}
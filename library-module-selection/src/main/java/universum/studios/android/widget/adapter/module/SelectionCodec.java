@@ -0,0 +1,277 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Compact binary encoding of a selection of ids used to save state of {@link SelectionModule}.
+ * <p>
+ * Sorted ids are encoded as runs of consecutive ids, where each run is stored as the gap from the
+ * previous run followed by its length, both as variable-length integers. A contiguous selection thus
+ * takes just a few bytes regardless of its size. An isolated id takes at least two bytes (the gap
+ * and the length, one byte each if the gap is less than {@code 128}) instead of eight, so a sparse
+ * selection of close ids takes about two bytes per id.
+ * <p>
+ * Layout of the encoded data (all values are unsigned varints, 7 bits per byte):
+ * <pre>
+ * [count of ids] [count of runs] ([gap] [length - 1])*
+ * </pre>
+ * Start of the first run is stored zig-zag encoded instead of the gap, so negative ids take only
+ * a few bytes too.
+ *
+ * @author Martin Albedinsky
+ */
+final class SelectionCodec {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "SelectionCodec";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private SelectionCodec() {
+		// Creation of instances of this class is not publicly allowed.
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Encodes the given ids into a new byte array.
+	 *
+	 * @param ids Unique ids sorted in ascending order, like those returned by {@link LongHashSet#toArray()}.
+	 * @return Encoded ids.
+	 */
+	@NonNull
+	static byte[] encode(@NonNull long[] ids) {
+		// Compute the exact size first, so the data may be written without any reallocation.
+		int runs = 0;
+		int size = 0;
+		for (int i = 0; i < ids.length; ) {
+			final int end = runEnd(ids, i);
+			size += sizeOf(runs == 0 ? zigZag(ids[i]) : ids[i] - ids[i - 1] - 2) + sizeOf(end - i - 1);
+			runs++;
+			i = end;
+		}
+		size += sizeOf(ids.length) + sizeOf(runs);
+		final byte[] data = new byte[size];
+		int offset = writeVarLong(data, 0, ids.length);
+		offset = writeVarLong(data, offset, runs);
+		for (int i = 0; i < ids.length; ) {
+			final int end = runEnd(ids, i);
+			offset = writeVarLong(data, offset, i == 0 ? zigZag(ids[i]) : ids[i] - ids[i - 1] - 2);
+			offset = writeVarLong(data, offset, end - i - 1);
+			i = end;
+		}
+		return data;
+	}
+
+	/**
+	 * Encodes the set positions of the given bitmap into a new byte array, in the same format as
+	 * {@link #encode(long[])}. Runs of the set positions are read directly from the bitmap, so the
+	 * positions are never expanded one by one.
+	 *
+	 * @param positions The bitmap of which set positions to encode.
+	 * @return Encoded positions.
+	 */
+	@NonNull
+	static byte[] encode(@NonNull PositionBitSet positions) {
+		// Compute the exact size first, so the data may be written without any reallocation.
+		int runs = 0;
+		int size = 0;
+		for (int start = positions.nextSetBit(0), previousEnd = -1; start != -1; ) {
+			final int end = positions.nextClearBit(start);
+			size += sizeOf(previousEnd == -1 ? zigZag(start) : start - previousEnd - 1) + sizeOf(end - start - 1);
+			runs++;
+			previousEnd = end;
+			start = positions.nextSetBit(end);
+		}
+		size += sizeOf(positions.cardinality()) + sizeOf(runs);
+		final byte[] data = new byte[size];
+		int offset = writeVarLong(data, 0, positions.cardinality());
+		offset = writeVarLong(data, offset, runs);
+		for (int start = positions.nextSetBit(0), previousEnd = -1; start != -1; ) {
+			final int end = positions.nextClearBit(start);
+			offset = writeVarLong(data, offset, previousEnd == -1 ? zigZag(start) : start - previousEnd - 1);
+			offset = writeVarLong(data, offset, end - start - 1);
+			previousEnd = end;
+			start = positions.nextSetBit(end);
+		}
+		return data;
+	}
+
+	/**
+	 * Decodes positions from the given data encoded via {@link #encode(PositionBitSet)} and sets
+	 * them in the given bitmap, a whole run at a time.
+	 *
+	 * @param data      The encoded positions.
+	 * @param positions The bitmap in which to set the decoded positions.
+	 * @throws IllegalArgumentException If the data are not valid encoded positions.
+	 */
+	static void decode(@NonNull byte[] data, @NonNull PositionBitSet positions) {
+		final int[] offset = {0};
+		final long count = readVarLong(data, offset);
+		final long runs = readVarLong(data, offset);
+		if (count < 0 || count > Integer.MAX_VALUE || runs < 0 || runs > count) {
+			throw new IllegalArgumentException("Invalid encoded selection.");
+		}
+		long remaining = count;
+		long previousEnd = 0;
+		for (long run = 0; run < runs; run++) {
+			final long head = readVarLong(data, offset);
+			final long length = readVarLong(data, offset) + 1;
+			if (length <= 0 || length > remaining) {
+				throw new IllegalArgumentException("Invalid encoded selection.");
+			}
+			final long start = run == 0 ? unZigZag(head) : previousEnd + head + 1;
+			if (start < 0 || start + length > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Invalid encoded selection.");
+			}
+			positions.setRange((int) start, (int) (start + length), true);
+			remaining -= length;
+			previousEnd = start + length;
+		}
+		if (remaining != 0) throw new IllegalArgumentException("Invalid encoded selection.");
+	}
+
+	/**
+	 * Decodes ids from the given data encoded via {@link #encode(long[])}.
+	 *
+	 * @param data The encoded ids.
+	 * @return Decoded ids sorted in ascending order.
+	 * @throws IllegalArgumentException If the data are not valid encoded ids.
+	 */
+	@NonNull
+	static long[] decode(@NonNull byte[] data) {
+		final int[] offset = {0};
+		final long count = readVarLong(data, offset);
+		final long runs = readVarLong(data, offset);
+		if (count < 0 || count > Integer.MAX_VALUE || runs < 0 || runs > count) {
+			throw new IllegalArgumentException("Invalid encoded selection.");
+		}
+		final long[] ids = new long[(int) count];
+		int index = 0;
+		long previous = 0;
+		for (long run = 0; run < runs; run++) {
+			final long head = readVarLong(data, offset);
+			final long length = readVarLong(data, offset) + 1;
+			if (length <= 0 || length > ids.length - index) {
+				throw new IllegalArgumentException("Invalid encoded selection.");
+			}
+			long id = run == 0 ? unZigZag(head) : previous + head + 2;
+			for (int i = 0; i < length; i++) {
+				ids[index++] = id++;
+			}
+			previous = id - 1;
+		}
+		if (index != ids.length) throw new IllegalArgumentException("Invalid encoded selection.");
+		return ids;
+	}
+
+	/**
+	 * Returns index following the last id of the run of consecutive ids starting at <var>start</var>.
+	 */
+	private static int runEnd(long[] ids, int start) {
+		int end = start + 1;
+		while (end < ids.length && ids[end] == ids[end - 1] + 1) end++;
+		return end;
+	}
+
+	/**
+	 * Maps the signed value to an unsigned one, so values close to zero have small encoded size.
+	 */
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Inverse of {@link #zigZag(long)}.
+	 */
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Returns count of bytes of the given value (treated as unsigned) encoded as varint.
+	 */
+	private static int sizeOf(long value) {
+		int size = 1;
+		while ((value & ~0x7FL) != 0) {
+			value >>>= 7;
+			size++;
+		}
+		return size;
+	}
+
+	/**
+	 * Writes the given value (treated as unsigned) as varint into <var>data</var> at the <var>offset</var>.
+	 *
+	 * @return Offset following the written bytes.
+	 */
+	private static int writeVarLong(byte[] data, int offset, long value) {
+		while ((value & ~0x7FL) != 0) {
+			data[offset++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		data[offset++] = (byte) value;
+		return offset;
+	}
+
+	/**
+	 * Reads a varint from the given <var>data</var> at the offset stored in <var>offset</var> and
+	 * moves the offset after it.
+	 */
+	private static long readVarLong(byte[] data, int[] offset) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (offset[0] >= data.length) throw new IllegalArgumentException("Invalid encoded selection.");
+			final byte b = data[offset[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IllegalArgumentException("Invalid encoded selection.");
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
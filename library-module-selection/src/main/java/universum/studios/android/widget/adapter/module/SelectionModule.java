@@ -24,12 +24,19 @@ import android.support.annotation.CallSuper;
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.zip.CRC32;
 
 import universum.studios.android.widget.adapter.AdapterSavedState;
 
@@ -42,9 +49,24 @@ import universum.studios.android.widget.adapter.AdapterSavedState;
  * <p>
  * The associated adapter is required to dispatch to this module desired selection changes either via
  * {@link #toggleSelection(long)} or via {@link #setSelected(long, boolean)} methods. Initial selection
- * may be specified via {@link #setSelection(List)}. The current selection (selected ids) may be obtained
+ * may be specified via {@link #setSelection(long[])}. The current selection (selected ids) may be obtained
  * via {@link #getSelection()} where in {@link #SINGLE} selection mode the returned array will contain
- * only single item. The code snippet below shows basic usage of this module within an adapter:
+ * only single item. The selected ids are stored in a primitive hash set, so checking whether an id
+ * is selected via {@link #isSelected(long)}, which is usually done on each bind of an item view,
+ * takes constant time and allocates nothing.
+ * <p>
+ * Whenever selection state of some ids changes, this module resolves positions of the affected
+ * items via {@link ModuleAdapter#positionOfId(long)} and notifies only the runs of adjacent changed
+ * positions via {@link ModuleAdapter#notifyItemRangeChanged(int, int, Object)} with
+ * {@link #PAYLOAD_SELECTION} payload, so the adapter may only update selection state of already
+ * bound views.
+ * <p>
+ * Selection is saved in a compact encoding of runs of consecutive ids. If the encoded selection
+ * is larger than a threshold specified via {@link #setStateSpillFile(File, int)}, it is written into
+ * the specified file and the saved state holds only a small handle of that file, so even a huge
+ * selection does not exceed size limit of the saved state of an Activity.
+ * <p>
+ * The code snippet below shows basic usage of this module within an adapter:
  * <pre>
  * public class SampleAdapter extends BaseAdapter implements ModuleAdapter {
  *
@@ -66,7 +88,7 @@ import universum.studios.android.widget.adapter.AdapterSavedState;
  *      }
  *
  *      &#64;NonNull
- *      public List&lt;Long&gt; getSelection() {
+ *      public long[] getSelection() {
  *          return mSelectionModule.getSelection();
  *      }
  *
@@ -90,7 +112,7 @@ public class SelectionModule extends AdapterModule {
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "SelectionModule";
+	private static final String TAG = "SelectionModule";
 
 	/**
 	 * Mode that allows only a single item to be selected.
@@ -106,6 +128,12 @@ public class SelectionModule extends AdapterModule {
 	 */
 	public static final int MULTIPLE = 0x02;
 
+	/**
+	 * Payload passed to {@link ModuleAdapter#notifyItemRangeChanged(int, int, Object)} when only
+	 * selection state of the notified items has changed.
+	 */
+	public static final String PAYLOAD_SELECTION = SelectionModule.class.getName() + ".PAYLOAD.Selection";
+
 	/**
 	 * Defines an annotation for determining set of allowed modes for {@link SelectionModule}.
 	 *
@@ -121,15 +149,29 @@ public class SelectionModule extends AdapterModule {
 	}
 
 	/**
-	 * Initial capacity for list containing selected ids in <b>single</b> selection mode.
+	 * Initial capacity for set containing selected ids in <b>single</b> selection mode.
 	 */
 	private static final int INITIAL_CAPACITY_SINGLE = 1;
 
 	/**
-	 * Initial capacity for list containing selected ids in <b>multi</b> selection mode.
+	 * Initial capacity for set containing selected ids in <b>multi</b> selection mode.
 	 */
 	private static final int INITIAL_CAPACITY_MULTI = 10;
 
+	/**
+	 * Maximum count of runs of adjacent changed positions that are notified separately. If selection
+	 * of more scattered items changes at once, a single range covering all of them is notified instead.
+	 */
+	private static final int MAX_NOTIFIED_RUNS = 32;
+
+	/**
+	 * Default size threshold (in bytes) of the encoded selection above which is the selection
+	 * written into the state spill file.
+	 *
+	 * @see #setStateSpillFile(File, int)
+	 */
+	public static final int DEFAULT_STATE_SPILL_THRESHOLD = 64 * 1024;
+
 	/**
 	 * Interface ===================================================================================
 	 */
@@ -138,6 +180,11 @@ public class SelectionModule extends AdapterModule {
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Array returned by {@link #getSelection()} if there is no selection.
+	 */
+	private static final long[] NO_SELECTION = new long[0];
+
 	/**
 	 * Members =====================================================================================
 	 */
@@ -148,9 +195,21 @@ public class SelectionModule extends AdapterModule {
 	private int mMode = SINGLE;
 
 	/**
-	 * List which contains all currently selected ids.
+	 * Set which contains all currently selected ids.
+	 */
+	private LongHashSet mSelection;
+
+	/**
+	 * File into which is the selection written when saving state of this module, if the encoded
+	 * selection exceeds {@link #mStateSpillThreshold}. May be {@code null}.
+	 */
+	private File mStateSpillFile;
+
+	/**
+	 * Size threshold (in bytes) of the encoded selection above which is the selection written into
+	 * {@link #mStateSpillFile}.
 	 */
-	private List<Long> mSelection;
+	private int mStateSpillThreshold = DEFAULT_STATE_SPILL_THRESHOLD;
 
 	/**
 	 * Constructors ================================================================================
@@ -176,8 +235,9 @@ public class SelectionModule extends AdapterModule {
 		if (mMode != mode) {
 			this.mMode = mode;
 			if (mSelection != null && !mSelection.isEmpty()) {
+				final long[] deselectedIds = mSelection.toArray();
 				this.mSelection = null;
-				notifyAdapter();
+				notifySelectionChanged(deselectedIds, deselectedIds.length);
 			}
 		}
 	}
@@ -217,7 +277,8 @@ public class SelectionModule extends AdapterModule {
 	}
 
 	/**
-	 * Changes selection state of the specified <var>id</var> to the desired one and <b>notifies adapter</b>.
+	 * Changes selection state of the specified <var>id</var> to the desired one and <b>notifies adapter</b>
+	 * about change of the affected items, if the selection state has changed.
 	 *
 	 * @param id       The id of an item of which selection state to change.
 	 * @param selected New selection state. {@code True} to be selected, {@code false} otherwise,
@@ -228,14 +289,19 @@ public class SelectionModule extends AdapterModule {
 	 */
 	public void setSelected(long id, boolean selected) {
 		if (selected) {
+			if (isSelected(id)) return;
+			// In SINGLE mode the previously selected id is deselected, so its item changes too.
+			final long[] previousIds = mMode == SINGLE ? getSelection() : NO_SELECTION;
 			if (mMode == SINGLE) {
 				clearSelection(false);
 			}
 			select(id);
-		} else {
-			deselect(id);
+			final long[] changedIds = Arrays.copyOf(previousIds, previousIds.length + 1);
+			changedIds[previousIds.length] = id;
+			notifySelectionChanged(changedIds, changedIds.length);
+		} else if (mSelection != null && mSelection.remove(id)) {
+			notifySelectionChanged(new long[]{id}, 1);
 		}
-		notifyAdapter();
 	}
 
 	/**
@@ -253,9 +319,11 @@ public class SelectionModule extends AdapterModule {
 	}
 
 	/**
-	 * Selects all ids in the {@code [startPosition, startPosition + count)} range and <b>notifies adapter</b>.
+	 * Selects all ids in the {@code [startPosition, startPosition + count)} range and <b>notifies adapter</b>
+	 * once if any of them has not been selected yet.
 	 * <p>
-	 * All previously selected ids will remain selected.
+	 * All previously selected ids will remain selected. Capacity for the selected ids is reserved
+	 * once for the whole range, so the selection takes linear time.
 	 * <p>
 	 * <b>Note</b>, that calling of this method for mode other than {@link #MULTIPLE} will throw an
 	 * exception.
@@ -277,10 +345,45 @@ public class SelectionModule extends AdapterModule {
 			throw new IndexOutOfBoundsException("Incorrect count(" + count + ") for start position(" + startPosition + "). Adapter has only " + n + " items.");
 		}
 		// Select all ids in the requested range.
+		final LongHashSet selection = ensureSelection(getSelectionSize() + count);
+		int firstChanged = -1, lastChanged = -1;
 		for (int i = startPosition; i < startPosition + count; i++) {
-			select(mAdapter.getItemId(i));
+			if (selection.add(mAdapter.getItemId(i))) {
+				if (firstChanged == -1) firstChanged = i;
+				lastChanged = i;
+			}
+		}
+		notifySelectionChanged(firstChanged, lastChanged);
+	}
+
+	/**
+	 * Changes selection state of all the specified <var>ids</var> to the desired one and
+	 * <b>notifies adapter</b> once for all of them.
+	 * <p>
+	 * <b>Note</b>, that calling of this method for mode other than {@link #MULTIPLE} will throw an
+	 * exception.
+	 *
+	 * @param ids      The ids of items of which selection state to change.
+	 * @param selected New selection state. {@code True} to be selected, {@code false} otherwise.
+	 * @throws IllegalStateException If the current mode is not {@link #MULTIPLE}.
+	 * @see #setSelected(long, boolean)
+	 * @see #isAdapterNotificationEnabled()
+	 */
+	public void setSelected(@NonNull long[] ids, boolean selected) {
+		assertInMultipleSelectionModeOrThrow();
+		final long[] changedIds = new long[ids.length];
+		int changedCount = 0;
+		if (selected) {
+			final LongHashSet selection = ensureSelection(getSelectionSize() + ids.length);
+			for (final long id : ids) {
+				if (selection.add(id)) changedIds[changedCount++] = id;
+			}
+		} else if (mSelection != null) {
+			for (final long id : ids) {
+				if (mSelection.remove(id)) changedIds[changedCount++] = id;
+			}
 		}
-		notifyAdapter();
+		notifySelectionChanged(changedIds, changedCount);
 	}
 
 	/**
@@ -291,8 +394,15 @@ public class SelectionModule extends AdapterModule {
 	 * @see #getSelection()
 	 * @see #isAdapterNotificationEnabled()
 	 */
-	public void setSelection(@Nullable List<Long> selection) {
-		this.mSelection = selection == null ? null : new ArrayList<>(selection);
+	public void setSelection(@Nullable long[] selection) {
+		if (selection == null) {
+			this.mSelection = null;
+			return;
+		}
+		this.mSelection = new LongHashSet(selection.length);
+		for (final long id : selection) {
+			mSelection.add(id);
+		}
 	}
 
 	/**
@@ -308,16 +418,18 @@ public class SelectionModule extends AdapterModule {
 	}
 
 	/**
-	 * Returns list containing ids that are at this time selected within this module.
+	 * Returns array containing ids that are at this time selected within this module.
 	 * <p>
-	 * In {@link #SINGLE} selection mode the returned list will contain maximum of 1 selected id,
-	 * in {@link #MULTIPLE} selection mode all selected ids will be contained in the returned list.
+	 * In {@link #SINGLE} selection mode the returned array will contain maximum of 1 selected id,
+	 * in {@link #MULTIPLE} selection mode all selected ids will be contained in the returned array.
 	 *
-	 * @return {@link List} with selected ids or <b>immutable</b> empty list if there is no selection.
+	 * @return Array with selected ids sorted in ascending order or an empty array if there is no
+	 * selection.
+	 * @see #getSelectionSize()
 	 */
 	@NonNull
-	public List<Long> getSelection() {
-		return mSelection == null ? Collections.<Long>emptyList() : new ArrayList<>(mSelection);
+	public long[] getSelection() {
+		return mSelection == null || mSelection.isEmpty() ? NO_SELECTION : mSelection.toArray();
 	}
 
 	/**
@@ -343,21 +455,20 @@ public class SelectionModule extends AdapterModule {
 	/**
 	 * Removes all ids form the set of the currently selected ids.
 	 *
-	 * @param notify {@code True} to notify the associated adapter via {@link #notifyAdapter()},
-	 *               {@code false} otherwise.
+	 * @param notify {@code True} to notify the associated adapter about change of the deselected
+	 *               items, {@code false} otherwise.
 	 */
 	protected final void clearSelection(boolean notify) {
-		if (mSelection != null) {
+		if (mSelection != null && !mSelection.isEmpty()) {
+			final long[] deselectedIds = notify ? mSelection.toArray() : NO_SELECTION;
 			mSelection.clear();
-			if (notify) {
-				notifyAdapter();
-			}
+			notifySelectionChanged(deselectedIds, deselectedIds.length);
 		}
 	}
 
 	/**
 	 * Deselects all currently selected ids in the {@code [startPosition, startPosition + count)}
-	 * range and <b>notifies adapter</b>.
+	 * range and <b>notifies adapter</b> once if any of them has been selected.
 	 * <p>
 	 * <b>Note</b>, that calling of this method for mode other than {@link #MULTIPLE} will throw an
 	 * exception.
@@ -377,11 +488,62 @@ public class SelectionModule extends AdapterModule {
 		if (startPosition + count > n) {
 			throw new IndexOutOfBoundsException("Incorrect count(" + count + ") for start position(" + startPosition + "). Adapter has only " + n + " items.");
 		}
-		// Deselect all ids in the requested range.
-		for (int i = startPosition; i < startPosition + count; i++) {
-			deselect(mAdapter.getItemId(i));
+		// Deselect all ids in the requested range, there is nothing more to do once the selection is empty.
+		final LongHashSet selection = mSelection;
+		int firstChanged = -1, lastChanged = -1;
+		for (int i = startPosition; i < startPosition + count && selection != null && !selection.isEmpty(); i++) {
+			if (selection.remove(mAdapter.getItemId(i))) {
+				if (firstChanged == -1) firstChanged = i;
+				lastChanged = i;
+			}
+		}
+		notifySelectionChanged(firstChanged, lastChanged);
+	}
+
+	/**
+	 * Notifies the attached adapter that selection state of items with the specified <var>ids</var>
+	 * has changed. Items that are not presented by the adapter are ignored. Each run of adjacent
+	 * changed positions is notified separately, so items between the changed ones are not rebound,
+	 * unless there are more than {@link #MAX_NOTIFIED_RUNS} such runs.
+	 *
+	 * @param ids   Array with the changed ids.
+	 * @param count Count of the changed ids in the array.
+	 */
+	private void notifySelectionChanged(long[] ids, int count) {
+		if (count == 0 || mAdapter == null || !isAdapterNotificationEnabled()) return;
+		final int[] positions = new int[count];
+		int positionsCount = 0;
+		for (int i = 0; i < count; i++) {
+			final int position = mAdapter.positionOfId(ids[i]);
+			if (position >= 0) positions[positionsCount++] = position;
+		}
+		if (positionsCount == 0) return;
+		Arrays.sort(positions, 0, positionsCount);
+		int runsCount = 1;
+		for (int i = 1; i < positionsCount; i++) {
+			if (positions[i] > positions[i - 1] + 1) runsCount++;
+		}
+		if (runsCount > MAX_NOTIFIED_RUNS) {
+			notifySelectionChanged(positions[0], positions[positionsCount - 1]);
+			return;
+		}
+		int runStart = 0;
+		for (int i = 1; i <= positionsCount; i++) {
+			if (i == positionsCount || positions[i] > positions[i - 1] + 1) {
+				notifySelectionChanged(positions[runStart], positions[i - 1]);
+				runStart = i;
+			}
+		}
+	}
+
+	/**
+	 * Notifies the attached adapter that selection state of items in the {@code [firstPosition, lastPosition]}
+	 * range has changed. Does nothing if the range is empty.
+	 */
+	private void notifySelectionChanged(int firstPosition, int lastPosition) {
+		if (firstPosition >= 0 && lastPosition >= firstPosition) {
+			notifyAdapterItemRangeChanged(firstPosition, lastPosition - firstPosition + 1, PAYLOAD_SELECTION);
 		}
-		notifyAdapter();
 	}
 
 	/**
@@ -392,8 +554,20 @@ public class SelectionModule extends AdapterModule {
 	 * @see #deselect(long)
 	 */
 	protected final void select(long id) {
-		if (mSelection == null) mSelection = new ArrayList<>(mMode == SINGLE ? INITIAL_CAPACITY_SINGLE : INITIAL_CAPACITY_MULTI);
-		if (!mSelection.contains(id)) mSelection.add(id);
+		ensureSelection(mMode == SINGLE ? INITIAL_CAPACITY_SINGLE : INITIAL_CAPACITY_MULTI).add(id);
+	}
+
+	/**
+	 * Ensures that the set of the currently selected ids is created and able to hold the specified
+	 * count of ids without resizing.
+	 *
+	 * @param expectedSize Count of ids that should fit into the set.
+	 * @return The set of selected ids.
+	 */
+	private LongHashSet ensureSelection(int expectedSize) {
+		if (mSelection == null) this.mSelection = new LongHashSet(expectedSize);
+		else mSelection.ensureCapacity(expectedSize);
+		return mSelection;
 	}
 
 	/**
@@ -406,6 +580,40 @@ public class SelectionModule extends AdapterModule {
 		if (mSelection != null) mSelection.remove(id);
 	}
 
+	/**
+	 * Specifies a file into which should be the current selection written when saving state of this
+	 * module via {@link #saveInstanceState()}, if size of the encoded selection exceeds the specified
+	 * <var>threshold</var>. The saved state then holds only a small handle of the file, which is read
+	 * back in {@link #restoreInstanceState(Parcelable)}.
+	 * <p>
+	 * The file should be app-private and unique for this module, like a file within
+	 * {@link android.content.Context#getFilesDir() Context#getFilesDir()}. The file is overwritten
+	 * whenever the state is saved into it and deleted whenever the state is saved without it (like
+	 * when the selection falls under the threshold), so it never holds a stale selection. If the file
+	 * is not available (or has been changed) when restoring the state, the selection is not restored.
+	 *
+	 * @param file      The desired file. May be {@code null} to always keep the selection within
+	 *                  the saved state.
+	 * @param threshold Size in bytes of the encoded selection above which should be the file used.
+	 * @see #getStateSpillFile()
+	 * @see #DEFAULT_STATE_SPILL_THRESHOLD
+	 */
+	public void setStateSpillFile(@Nullable File file, int threshold) {
+		this.mStateSpillFile = file;
+		this.mStateSpillThreshold = threshold;
+	}
+
+	/**
+	 * Returns the file into which is the selection written when saving state of this module.
+	 *
+	 * @return The file specified via {@link #setStateSpillFile(File, int)} or {@code null} if
+	 * there is no file specified.
+	 */
+	@Nullable
+	public File getStateSpillFile() {
+		return mStateSpillFile;
+	}
+
 	/**
 	 * @return {@code True} whether this module have some selection to save, {@code false} otherwise.
 	 */
@@ -423,15 +631,106 @@ public class SelectionModule extends AdapterModule {
 		final SavedState state = new SavedState(super.saveInstanceState());
 		state.mode = mMode;
 		if (mSelection != null && !mSelection.isEmpty()) {
-			final long[] selectionArray = new long[mSelection.size()];
-			for (int i = 0; i < mSelection.size(); i++) {
-				selectionArray[i] = mSelection.get(i);
+			final byte[] selection = SelectionCodec.encode(mSelection.toArray());
+			if (mStateSpillFile != null && selection.length > mStateSpillThreshold && spillSelection(selection, state)) {
+				return state;
 			}
-			state.selection = selectionArray;
+			state.selection = selection;
 		}
+		deleteStateSpillFile();
 		return state;
 	}
 
+	/**
+	 * Deletes the state spill file (if specified and exists), so a selection spilled into it by some
+	 * of the previous saves is not kept.
+	 */
+	private void deleteStateSpillFile() {
+		if (mStateSpillFile != null && mStateSpillFile.exists() && !mStateSpillFile.delete()) {
+			Log.w(TAG, "Failed to delete selection file(" + mStateSpillFile + ").");
+		}
+	}
+
+	/**
+	 * Writes the given encoded <var>selection</var> into the state spill file and stores handle of
+	 * the file into the given saved <var>state</var>.
+	 *
+	 * @return {@code True} if the selection has been written, {@code false} otherwise.
+	 */
+	private boolean spillSelection(byte[] selection, SavedState state) {
+		OutputStream stream = null;
+		try {
+			stream = new FileOutputStream(mStateSpillFile);
+			stream.write(selection);
+		} catch (IOException e) {
+			Log.w(TAG, "Failed to write selection into file(" + mStateSpillFile + ").", e);
+			return false;
+		} finally {
+			closeQuietly(stream);
+		}
+		state.selectionFile = mStateSpillFile.getAbsolutePath();
+		state.selectionSize = selection.length;
+		state.selectionChecksum = checksumOf(selection);
+		return true;
+	}
+
+	/**
+	 * Reads the encoded selection from the state spill file referenced by the given saved <var>state</var>.
+	 *
+	 * @return The encoded selection or {@code null} if the file is not available or its content
+	 * does not match the saved handle.
+	 */
+	private static byte[] readSpilledSelection(SavedState state) {
+		final File file = new File(state.selectionFile);
+		if (file.length() != state.selectionSize) {
+			Log.w(TAG, "Selection file(" + file + ") is not available or has been changed.");
+			return null;
+		}
+		final byte[] selection = new byte[state.selectionSize];
+		InputStream stream = null;
+		try {
+			stream = new FileInputStream(file);
+			int offset = 0;
+			while (offset < selection.length) {
+				final int count = stream.read(selection, offset, selection.length - offset);
+				if (count < 0) return null;
+				offset += count;
+			}
+		} catch (IOException e) {
+			Log.w(TAG, "Failed to read selection from file(" + file + ").", e);
+			return null;
+		} finally {
+			closeQuietly(stream);
+		}
+		if (checksumOf(selection) != state.selectionChecksum) {
+			Log.w(TAG, "Selection file(" + file + ") has been changed.");
+			return null;
+		}
+		return selection;
+	}
+
+	/**
+	 * Returns CRC32 checksum of the given <var>data</var>.
+	 */
+	private static long checksumOf(byte[] data) {
+		final CRC32 checksum = new CRC32();
+		checksum.update(data, 0, data.length);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Closes the given <var>stream</var> (if not null) ignoring any exception.
+	 */
+	private static void closeQuietly(Closeable stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException ignored) {
+				// Nothing to do here.
+			}
+		}
+	}
+
 	/**
 	 */
 	@Override
@@ -444,11 +743,12 @@ public class SelectionModule extends AdapterModule {
 		final SavedState state = (SavedState) savedState;
 		super.restoreInstanceState(state.getSuperState());
 		this.mMode = state.mode;
-		if (state.selection != null) {
-			this.mSelection = new ArrayList<>(state.selection.length);
-			for (final long id : state.selection) {
-				mSelection.add(id);
-			}
+		byte[] selection = state.selection;
+		if (selection == null && state.selectionFile != null) {
+			selection = readSpilledSelection(state);
+		}
+		if (selection != null) {
+			setSelection(SelectionCodec.decode(selection));
 		}
 	}
 
@@ -489,8 +789,25 @@ public class SelectionModule extends AdapterModule {
 		private int mode = SINGLE;
 
 		/**
+		 * Encoded selection or {@code null} if there is no selection or it has been written into
+		 * {@link #selectionFile}.
+		 */
+		private byte[] selection;
+
+		/**
+		 * Path of the file with encoded selection or {@code null} if the selection is not spilled.
+		 */
+		private String selectionFile;
+
+		/**
+		 * Size in bytes of the encoded selection written into {@link #selectionFile}.
+		 */
+		private int selectionSize;
+
+		/**
+		 * Checksum of the encoded selection written into {@link #selectionFile}.
 		 */
-		private long[] selection = {};
+		private long selectionChecksum;
 
 		/**
 		 * Creates a new instance of SavedState with the given <var>superState</var> to allow chaining
@@ -512,7 +829,10 @@ public class SelectionModule extends AdapterModule {
 		protected SavedState(@NonNull Parcel source) {
 			super(source);
 			this.mode = source.readInt();
-			this.selection = source.createLongArray();
+			this.selection = source.createByteArray();
+			this.selectionFile = source.readString();
+			this.selectionSize = source.readInt();
+			this.selectionChecksum = source.readLong();
 		}
 
 		/**
@@ -521,7 +841,10 @@ public class SelectionModule extends AdapterModule {
 		public void writeToParcel(@NonNull Parcel dest, int flags) {
 			super.writeToParcel(dest, flags);
 			dest.writeInt(mode);
-			dest.writeLongArray(selection);
+			dest.writeByteArray(selection);
+			dest.writeString(selectionFile);
+			dest.writeInt(selectionSize);
+			dest.writeLong(selectionChecksum);
 		}
 	}
 }
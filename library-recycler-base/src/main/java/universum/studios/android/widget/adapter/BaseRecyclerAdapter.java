@@ -30,9 +30,17 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.Arrays;
+
 /**
  * Extended version of {@link RecyclerView.Adapter} that provides API of
  * {@link DataSetAdapter}.
+ * <p>
+ * All {@link RecyclerView.AdapterDataObserver AdapterDataObservers} registered upon this adapter are
+ * notified through a single observer registered by the adapter itself for its whole lifetime (which
+ * also keeps the cached ids of items in sync with the notified changes), so notifications requested via any of {@code notify...(...)}
+ * methods while there is a batch began via {@link #beginBatch()} may be recorded and later dispatched
+ * as a single merged notification when such batch is ended via {@link #endBatch()}.
  *
  * @param <I>  Type of the item presented within a data set of a subclass of this BaseRecyclerAdapter.
  * @param <VH> Type of the view holder used within a subclass of this BaseRecyclerAdapter.
@@ -49,6 +57,11 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 	 */
 	// private static final String TAG = "BaseRecyclerAdapter";
 
+	/**
+	 * Empty array of data observers.
+	 */
+	private static final RecyclerView.AdapterDataObserver[] NO_DATA_OBSERVERS = new RecyclerView.AdapterDataObserver[0];
+
 	/**
 	 * Interface ===================================================================================
 	 */
@@ -86,6 +99,21 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 	 */
 	private RecyclerView.AdapterDataObserver mDataObserver;
 
+	/**
+	 * Batch recording data set notifications while there is a batch began via {@link #beginBatch()}.
+	 */
+	private final NotificationBatch mNotificationBatch = new NotificationBatch();
+
+	/**
+	 * Observers registered via {@link #registerAdapterDataObserver(RecyclerView.AdapterDataObserver)}.
+	 */
+	private final DataObservers mDataObservers = new DataObservers();
+
+	/**
+	 * Observer registered upon this adapter for its whole lifetime on behalf of {@link #mDataObservers}.
+	 */
+	private final RecyclerView.AdapterDataObserver mAdapterObserver = new AdapterObserver();
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -101,6 +129,7 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 		this.mLayoutInflater = LayoutInflater.from(context);
 		this.mResources = context.getResources();
 		this.mDataSet = new AdapterDataSet<>(this);
+		super.registerAdapterDataObserver(mAdapterObserver);
 	}
 
 	/**
@@ -122,6 +151,9 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 	}
 
 	/**
+	 * Ranged notifications of this adapter are delivered to the registered listeners that are
+	 * {@link OnDataSetRangeListener OnDataSetRangeListeners} unchanged, all other listeners are
+	 * notified about change of the whole data set.
 	 */
 	@Override
 	public void registerOnDataSetListener(@NonNull OnDataSetListener listener) {
@@ -140,21 +172,28 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 				 */
 				@Override
 				public void onItemRangeInserted(int positionStart, int itemCount) {
-					mDataSet.notifyDataSetChanged();
+					mDataSet.notifyItemRangeInserted(positionStart, itemCount);
 				}
 
 				/**
 				 */
 				@Override
 				public void onItemRangeRemoved(int positionStart, int itemCount) {
-					mDataSet.notifyDataSetChanged();
+					mDataSet.notifyItemRangeRemoved(positionStart, itemCount);
 				}
 
 				/**
 				 */
 				@Override
 				public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
-					mDataSet.notifyDataSetChanged();
+					mDataSet.notifyItemRangeChanged(positionStart, itemCount, payload);
+				}
+
+				/**
+				 */
+				@Override
+				public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+					mDataSet.notifyItemRangeMoved(fromPosition, toPosition, itemCount);
 				}
 			});
 		}
@@ -165,11 +204,64 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 	@Override
 	public void unregisterOnDataSetListener(@NonNull OnDataSetListener listener) {
 		mDataSet.unregisterOnDataSetListener(listener);
-		if (mDataObserver != null) {
+		if (mDataObserver != null && !mDataSet.hasDataSetListeners()) {
 			unregisterAdapterDataObserver(mDataObserver);
+			this.mDataObserver = null;
 		}
 	}
 
+	/**
+	 */
+	@Override
+	public void registerAdapterDataObserver(@NonNull RecyclerView.AdapterDataObserver observer) {
+		mDataObservers.register(observer);
+	}
+
+	/**
+	 */
+	@Override
+	public void unregisterAdapterDataObserver(@NonNull RecyclerView.AdapterDataObserver observer) {
+		mDataObservers.unregister(observer);
+	}
+
+	/**
+	 * The observer registered by this adapter itself does not prevent changing of stable ids, only
+	 * observers registered via {@link #registerAdapterDataObserver(RecyclerView.AdapterDataObserver)} do.
+	 *
+	 * @throws IllegalStateException If this adapter has registered observers, like its RecyclerView
+	 *                               or an adapter wrapping it.
+	 */
+	@Override
+	public void setHasStableIds(boolean hasStableIds) {
+		if (!mDataObservers.isEmpty()) {
+			throw new IllegalStateException(
+					"Cannot change stable ids of adapter " + this + " while it has registered observers. " +
+							"Specify key extractor before the adapter is attached to RecyclerView or wrapped " +
+							"by another adapter, or release such wrapping adapter first."
+			);
+		}
+		super.unregisterAdapterDataObserver(mAdapterObserver);
+		try {
+			super.setHasStableIds(hasStableIds);
+		} finally {
+			super.registerAdapterDataObserver(mAdapterObserver);
+		}
+	}
+
+	/**
+	 */
+	@Override
+	public void beginBatch() {
+		mNotificationBatch.begin();
+	}
+
+	/**
+	 */
+	@Override
+	public void endBatch() {
+		if (mNotificationBatch.end()) mNotificationBatch.dispatch(mDataObservers);
+	}
+
 	/**
 	 */
 	@Override
@@ -232,11 +324,44 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 		return position >= 0 && position < getItemCount();
 	}
 
+	/**
+	 * Also enables/disables stable ids of this adapter via {@link #setHasStableIds(boolean)}, so the
+	 * key extractor should be specified before this adapter is attached to its RecyclerView.
+	 *
+	 * @throws IllegalStateException If stable ids need to be changed while this adapter has already
+	 *                               registered observers.
+	 */
+	@Override
+	public void setKeyExtractor(@Nullable KeyExtractor<I> extractor) {
+		final boolean stableIds = extractor != null;
+		if (hasStableIds() != stableIds) setHasStableIds(stableIds);
+		mDataSet.setKeyExtractor(extractor);
+	}
+
 	/**
 	 */
+	@Nullable
+	@Override
+	public KeyExtractor<I> getKeyExtractor() {
+		return mDataSet.getKeyExtractor();
+	}
+
+	/**
+	 * If there is {@link KeyExtractor} specified, returns the key extracted from the item at the
+	 * specified <var>position</var>, otherwise returns the position.
+	 */
 	@Override
 	public long getItemId(int position) {
-		return position;
+		return mDataSet.getItemId(position);
+	}
+
+	/**
+	 * The position is resolved via index mapping ids obtained via {@link #getItemId(int)} to positions,
+	 * which is built lazily and invalidated whenever change of the data set is notified.
+	 */
+	@Override
+	public int positionOfId(long id) {
+		return mDataSet.positionOfId(id);
 	}
 
 	/**
@@ -290,6 +415,200 @@ public abstract class BaseRecyclerAdapter<I, VH extends RecyclerView.ViewHolder>
 	 * Inner classes ===============================================================================
 	 */
 
+	/**
+	 * A {@link RecyclerView.AdapterDataObserver} implementation which is registered upon this adapter
+	 * for its whole lifetime. Received notifications invalidate cached ids of items in the data set
+	 * of this adapter (if needed) and are then delivered to {@link #mDataObservers}.
+	 */
+	private final class AdapterObserver extends RecyclerView.AdapterDataObserver {
+
+		/**
+		 */
+		@Override
+		public void onChanged() {
+			mDataSet.onDataSetChange();
+			mDataObservers.onChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			mDataSet.onItemRangeChange();
+			mDataObservers.onItemRangeChanged(positionStart, itemCount, payload);
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			mDataSet.onItemRangeChange();
+			mDataObservers.onItemRangeInserted(positionStart, itemCount);
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			mDataSet.onItemRangeChange();
+			mDataObservers.onItemRangeRemoved(positionStart, itemCount);
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			mDataSet.onItemRangeChange();
+			mDataObservers.onItemRangeMoved(fromPosition, toPosition, itemCount);
+		}
+	}
+
+	/**
+	 * A {@link RecyclerView.AdapterDataObserver} implementation which holds all the observers registered
+	 * via {@link #registerAdapterDataObserver(RecyclerView.AdapterDataObserver)}. Received notifications
+	 * are either recorded into the current batch (if active) or immediately dispatched to the registered
+	 * observers.
+	 */
+	private final class DataObservers extends RecyclerView.AdapterDataObserver implements NotificationBatch.Target {
+
+		/**
+		 * Array with the registered observers. Replaced by a new copy on each modification, so the
+		 * observers may be safely iterated during dispatching.
+		 */
+		private RecyclerView.AdapterDataObserver[] mObservers = NO_DATA_OBSERVERS;
+
+		/**
+		 * Registers the given <var>observer</var>.
+		 *
+		 * @throws IllegalArgumentException If the observer is {@code null}.
+		 * @throws IllegalStateException    If the observer is already registered.
+		 */
+		void register(RecyclerView.AdapterDataObserver observer) {
+			if (observer == null) throw new IllegalArgumentException("The observer is null.");
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver registered : observers) {
+				if (registered == observer) {
+					throw new IllegalStateException("Observer " + observer + " is already registered.");
+				}
+			}
+			final RecyclerView.AdapterDataObserver[] newObservers = Arrays.copyOf(observers, observers.length + 1);
+			newObservers[observers.length] = observer;
+			this.mObservers = newObservers;
+		}
+
+		/**
+		 * Unregisters the given <var>observer</var>.
+		 *
+		 * @throws IllegalArgumentException If the observer is {@code null}.
+		 * @throws IllegalStateException    If the observer is not registered.
+		 */
+		void unregister(RecyclerView.AdapterDataObserver observer) {
+			if (observer == null) throw new IllegalArgumentException("The observer is null.");
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (int i = 0; i < observers.length; i++) {
+				if (observers[i] == observer) {
+					if (observers.length == 1) {
+						this.mObservers = NO_DATA_OBSERVERS;
+						return;
+					}
+					final RecyclerView.AdapterDataObserver[] newObservers = new RecyclerView.AdapterDataObserver[observers.length - 1];
+					System.arraycopy(observers, 0, newObservers, 0, i);
+					System.arraycopy(observers, i + 1, newObservers, i, observers.length - i - 1);
+					this.mObservers = newObservers;
+					return;
+				}
+			}
+			throw new IllegalStateException("Observer " + observer + " was not registered.");
+		}
+
+		/**
+		 * Returns a boolean flag indicating whether there are no observers registered.
+		 *
+		 * @return {@code True} if there are no observers, {@code false} otherwise.
+		 */
+		boolean isEmpty() {
+			return mObservers.length == 0;
+		}
+
+		/**
+		 */
+		@Override
+		public void onChanged() {
+			if (mNotificationBatch.isActive()) {
+				mNotificationBatch.recordChanged();
+				return;
+			}
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver observer : observers) {
+				observer.onChanged();
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onInvalidated() {
+			// RecyclerView does not distinguish between changed and invalidated data set.
+			onChanged();
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			if (mNotificationBatch.isActive()) {
+				mNotificationBatch.recordItemRangeChanged(positionStart, itemCount, payload);
+				return;
+			}
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver observer : observers) {
+				observer.onItemRangeChanged(positionStart, itemCount, payload);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			if (mNotificationBatch.isActive()) {
+				mNotificationBatch.recordItemRangeInserted(positionStart, itemCount);
+				return;
+			}
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver observer : observers) {
+				observer.onItemRangeInserted(positionStart, itemCount);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			if (mNotificationBatch.isActive()) {
+				mNotificationBatch.recordItemRangeRemoved(positionStart, itemCount);
+				return;
+			}
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver observer : observers) {
+				observer.onItemRangeRemoved(positionStart, itemCount);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			if (mNotificationBatch.isActive()) {
+				mNotificationBatch.recordItemRangeMoved(fromPosition, toPosition, itemCount);
+				return;
+			}
+			final RecyclerView.AdapterDataObserver[] observers = mObservers;
+			for (final RecyclerView.AdapterDataObserver observer : observers) {
+				observer.onItemRangeMoved(fromPosition, toPosition, itemCount);
+			}
+		}
+	}
+
 	/**
 	 * Simple {@link RecyclerView.ViewHolder} implementation used as default
 	 * holder for purpose of {@link #onCreateViewHolder(ViewGroup, int)} method.
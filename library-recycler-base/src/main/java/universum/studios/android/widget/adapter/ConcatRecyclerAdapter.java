@@ -0,0 +1,473 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RecyclerView.Adapter} implementation which presents data sets of multiple
+ * {@link BaseRecyclerAdapter BaseRecyclerAdapters} one after another, so for example each section
+ * of a screen may be backed by its own adapter while all of them are presented by a single
+ * {@link RecyclerView}.
+ * <p>
+ * Positions are routed to the child adapters via cached array of prefix sums of theirs item counts
+ * using binary search, so resolving of a child adapter for a position takes {@code O(log n)} time
+ * where {@code n} is count of child adapters. View types of child adapters are remapped through
+ * a table that assigns each pair of child adapter and its view type a unique view type, so view
+ * types of different child adapters never collide. Range notifications dispatched by a child
+ * adapter are translated into the corresponding global ranges, so changes within a child adapter
+ * do not require refresh of the whole data set.
+ * <p>
+ * <b>Note</b>, that view holders are bound with positions local to theirs child adapter, but
+ * {@link RecyclerView.ViewHolder#getAdapterPosition()} and {@link RecyclerView.ViewHolder#getItemViewType()}
+ * return the global position and view type. Also, if stable ids are enabled for this adapter, ids
+ * of items must be unique across all child adapters.
+ *
+ * @author Martin Albedinsky
+ */
+public class ConcatRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ConcatRecyclerAdapter";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * List of the child adapters in the order in which are theirs data sets presented.
+	 */
+	private final List<ChildAdapter> mChildren = new ArrayList<>(4);
+
+	/**
+	 * Start positions of the child adapters followed by the total item count. Valid only if
+	 * {@link #mOffsetsValid} is {@code true}.
+	 */
+	private int[] mOffsets = new int[1];
+
+	/**
+	 * Flag indicating whether {@link #mOffsets} reflect the current item counts of the child adapters.
+	 */
+	private boolean mOffsetsValid = true;
+
+	/**
+	 * Child adapters mapped to the global view types assigned to theirs view types.
+	 */
+	private final SparseArray<ChildAdapter> mViewTypeAdapters = new SparseArray<>();
+
+	/**
+	 * Local view types of child adapters mapped to the global view types assigned to them.
+	 */
+	private final SparseIntArray mLocalViewTypes = new SparseIntArray();
+
+	/**
+	 * Global view type to be assigned to the next not yet mapped view type of a child adapter.
+	 */
+	private int mNextViewType;
+
+	/**
+	 * RecyclerViews to which is this adapter attached at this time. Child adapters added or removed
+	 * while attached are attached to or detached from these views.
+	 */
+	private final List<RecyclerView> mRecyclerViews = new ArrayList<>(1);
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ConcatRecyclerAdapter without any child adapters.
+	 *
+	 * @see #addAdapter(BaseRecyclerAdapter)
+	 */
+	public ConcatRecyclerAdapter() {
+		super();
+	}
+
+	/**
+	 * Creates a new instance of ConcatRecyclerAdapter with the given child <var>adapters</var>.
+	 *
+	 * @param adapters The desired adapters of which data sets to present in the specified order.
+	 */
+	public ConcatRecyclerAdapter(@NonNull BaseRecyclerAdapter<?, ?>... adapters) {
+		super();
+		for (final BaseRecyclerAdapter<?, ?> adapter : adapters) {
+			addAdapter(adapter);
+		}
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Adds the given <var>adapter</var> at the end of the child adapters of this adapter and notifies
+	 * its items as inserted.
+	 *
+	 * @param adapter The desired adapter to add.
+	 * @throws IllegalStateException If the adapter is already added.
+	 * @see #removeAdapter(BaseRecyclerAdapter)
+	 */
+	public void addAdapter(@NonNull BaseRecyclerAdapter<?, ?> adapter) {
+		if (indexOfAdapter(adapter) != -1) {
+			throw new IllegalStateException("Adapter " + adapter + " is already added.");
+		}
+		final int positionStart = getItemCount();
+		final ChildAdapter child = new ChildAdapter(adapter);
+		mChildren.add(child);
+		adapter.registerAdapterDataObserver(child);
+		for (final RecyclerView recyclerView : mRecyclerViews) {
+			adapter.onAttachedToRecyclerView(recyclerView);
+		}
+		invalidateOffsets();
+		notifyItemRangeInserted(positionStart, adapter.getItemCount());
+	}
+
+	/**
+	 * Removes the given <var>adapter</var> from the child adapters of this adapter and notifies its
+	 * items as removed.
+	 *
+	 * @param adapter The adapter to remove.
+	 * @return {@code True} if the adapter has been removed, {@code false} if it is not a child of
+	 * this adapter.
+	 * @see #addAdapter(BaseRecyclerAdapter)
+	 */
+	public boolean removeAdapter(@NonNull BaseRecyclerAdapter<?, ?> adapter) {
+		final int index = indexOfAdapter(adapter);
+		if (index == -1) return false;
+		final int positionStart = getOffsets()[index];
+		final ChildAdapter child = mChildren.remove(index);
+		adapter.unregisterAdapterDataObserver(child);
+		for (final RecyclerView recyclerView : mRecyclerViews) {
+			adapter.onDetachedFromRecyclerView(recyclerView);
+		}
+		for (int i = mViewTypeAdapters.size() - 1; i >= 0; i--) {
+			if (mViewTypeAdapters.valueAt(i) == child) {
+				mLocalViewTypes.delete(mViewTypeAdapters.keyAt(i));
+				mViewTypeAdapters.removeAt(i);
+			}
+		}
+		invalidateOffsets();
+		notifyItemRangeRemoved(positionStart, adapter.getItemCount());
+		return true;
+	}
+
+	/**
+	 * Returns the count of child adapters of this adapter.
+	 *
+	 * @return Child adapters count.
+	 */
+	public int getAdapterCount() {
+		return mChildren.size();
+	}
+
+	/**
+	 * Returns the child adapter at the specified <var>index</var>.
+	 *
+	 * @param index Index of the desired child adapter.
+	 * @return The child adapter.
+	 */
+	@NonNull
+	public BaseRecyclerAdapter<?, ?> getAdapter(int index) {
+		return mChildren.get(index).adapter;
+	}
+
+	/**
+	 * Returns index of the child adapter that presents item at the specified global <var>position</var>.
+	 *
+	 * @param position The global position of the desired item.
+	 * @return Index of the child adapter.
+	 * @throws IndexOutOfBoundsException If the position is out of the data set of this adapter.
+	 * @see #getLocalPosition(int)
+	 */
+	public int getAdapterIndexForPosition(int position) {
+		final int[] offsets = getOffsets();
+		final int childCount = mChildren.size();
+		if (position < 0 || position >= offsets[childCount]) {
+			throw new IndexOutOfBoundsException("Incorrect position(" + position + "). Adapter has only " + offsets[childCount] + " items.");
+		}
+		// Find the last child of which start is not after the position, that is, the child with
+		// items containing the position, as starts of empty children equal to start of the next one.
+		int low = 0;
+		int high = childCount;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (offsets[middle] <= position) low = middle + 1;
+			else high = middle;
+		}
+		return low - 1;
+	}
+
+	/**
+	 * Returns position of the item at the specified global <var>position</var> within data set of
+	 * its child adapter.
+	 *
+	 * @param position The global position of the desired item.
+	 * @return Position local to the child adapter.
+	 * @see #getAdapterIndexForPosition(int)
+	 * @see #getGlobalPosition(BaseRecyclerAdapter, int)
+	 */
+	public int getLocalPosition(int position) {
+		return position - getOffsets()[getAdapterIndexForPosition(position)];
+	}
+
+	/**
+	 * Returns global position of the item at the specified <var>localPosition</var> of the given
+	 * child <var>adapter</var>.
+	 *
+	 * @param adapter       The child adapter.
+	 * @param localPosition Position of the item within the child adapter.
+	 * @return Global position of the item within this adapter.
+	 * @throws IllegalArgumentException If the adapter is not a child of this adapter.
+	 */
+	public int getGlobalPosition(@NonNull BaseRecyclerAdapter<?, ?> adapter, int localPosition) {
+		final int index = indexOfAdapter(adapter);
+		if (index == -1) throw new IllegalArgumentException("Adapter " + adapter + " is not a child of this adapter.");
+		return getOffsets()[index] + localPosition;
+	}
+
+	/**
+	 * Returns index of the given child <var>adapter</var> or {@code -1} if it is not a child.
+	 */
+	private int indexOfAdapter(BaseRecyclerAdapter<?, ?> adapter) {
+		for (int i = 0; i < mChildren.size(); i++) {
+			if (mChildren.get(i).adapter == adapter) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns start positions of the child adapters followed by the total item count, rebuilding
+	 * them if they have been invalidated. Indexes of the child adapters are rebuilt along with them.
+	 */
+	private int[] getOffsets() {
+		if (!mOffsetsValid) {
+			final int childCount = mChildren.size();
+			if (mOffsets.length != childCount + 1) this.mOffsets = new int[childCount + 1];
+			int offset = 0;
+			for (int i = 0; i < childCount; i++) {
+				final ChildAdapter child = mChildren.get(i);
+				child.index = i;
+				mOffsets[i] = offset;
+				offset += child.adapter.getItemCount();
+			}
+			mOffsets[childCount] = offset;
+			this.mOffsetsValid = true;
+		}
+		return mOffsets;
+	}
+
+	/**
+	 * Invalidates the cached start positions of the child adapters.
+	 */
+	private void invalidateOffsets() {
+		this.mOffsetsValid = false;
+	}
+
+	/**
+	 */
+	@Override
+	public int getItemCount() {
+		return getOffsets()[mChildren.size()];
+	}
+
+	/**
+	 * Returns view type assigned to the view type of the child adapter presenting item at the
+	 * specified <var>position</var>.
+	 */
+	@Override
+	public int getItemViewType(int position) {
+		final int index = getAdapterIndexForPosition(position);
+		final ChildAdapter child = mChildren.get(index);
+		final int localViewType = child.adapter.getItemViewType(position - mOffsets[index]);
+		int viewType = child.viewTypes.get(localViewType, RecyclerView.INVALID_TYPE);
+		if (viewType == RecyclerView.INVALID_TYPE) {
+			viewType = mNextViewType++;
+			child.viewTypes.put(localViewType, viewType);
+			mViewTypeAdapters.put(viewType, child);
+			mLocalViewTypes.put(viewType, localViewType);
+		}
+		return viewType;
+	}
+
+	/**
+	 */
+	@Override
+	public long getItemId(int position) {
+		final int index = getAdapterIndexForPosition(position);
+		return mChildren.get(index).adapter.getItemId(position - mOffsets[index]);
+	}
+
+	/**
+	 */
+	@Override
+	public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+		final ChildAdapter child = mViewTypeAdapters.get(viewType);
+		if (child == null) throw new IllegalArgumentException("Unknown view type(" + viewType + ").");
+		return child.adapter.onCreateViewHolder(parent, mLocalViewTypes.get(viewType));
+	}
+
+	/**
+	 */
+	@Override
+	public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
+		final int index = getAdapterIndexForPosition(position);
+		mChildren.get(index).rawAdapter().onBindViewHolder(viewHolder, position - mOffsets[index]);
+	}
+
+	/**
+	 */
+	@Override
+	public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position, List<Object> payloads) {
+		final int index = getAdapterIndexForPosition(position);
+		mChildren.get(index).rawAdapter().onBindViewHolder(viewHolder, position - mOffsets[index], payloads);
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewRecycled(RecyclerView.ViewHolder viewHolder) {
+		final ChildAdapter child = mViewTypeAdapters.get(viewHolder.getItemViewType());
+		if (child != null) child.rawAdapter().onViewRecycled(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public boolean onFailedToRecycleView(RecyclerView.ViewHolder viewHolder) {
+		final ChildAdapter child = mViewTypeAdapters.get(viewHolder.getItemViewType());
+		return child != null && child.rawAdapter().onFailedToRecycleView(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewAttachedToWindow(RecyclerView.ViewHolder viewHolder) {
+		final ChildAdapter child = mViewTypeAdapters.get(viewHolder.getItemViewType());
+		if (child != null) child.rawAdapter().onViewAttachedToWindow(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewDetachedFromWindow(RecyclerView.ViewHolder viewHolder) {
+		final ChildAdapter child = mViewTypeAdapters.get(viewHolder.getItemViewType());
+		if (child != null) child.rawAdapter().onViewDetachedFromWindow(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+		mRecyclerViews.add(recyclerView);
+		for (final ChildAdapter child : mChildren) {
+			child.adapter.onAttachedToRecyclerView(recyclerView);
+		}
+	}
+
+	/**
+	 */
+	@Override
+	public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+		mRecyclerViews.remove(recyclerView);
+		for (final ChildAdapter child : mChildren) {
+			child.adapter.onDetachedFromRecyclerView(recyclerView);
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Holder for a child adapter and its view types mapping which also observes the child adapter
+	 * and forwards its notifications shifted by its start position to this adapter.
+	 */
+	private final class ChildAdapter extends ForwardingDataObserver {
+
+		/**
+		 * The child adapter.
+		 */
+		final BaseRecyclerAdapter<?, ?> adapter;
+
+		/**
+		 * View types of the child adapter mapped to the global view types assigned to them.
+		 */
+		final SparseIntArray viewTypes = new SparseIntArray();
+
+		/**
+		 * Index of the child adapter within the child adapters. Valid only while the offsets of
+		 * the child adapters are valid, as it is rebuilt along with them.
+		 */
+		int index;
+
+		/**
+		 * Creates a new instance of ChildAdapter for the given <var>adapter</var>.
+		 */
+		ChildAdapter(BaseRecyclerAdapter<?, ?> adapter) {
+			super(ConcatRecyclerAdapter.this);
+			this.adapter = adapter;
+		}
+
+		/**
+		 * Returns the child adapter as adapter accepting any view holder, as view holders passed
+		 * to the child adapter have been always created by it.
+		 */
+		RecyclerView.Adapter<RecyclerView.ViewHolder> rawAdapter() {
+			return rawAdapter(adapter);
+		}
+
+		/**
+		 * Returns global start position of the child adapter.
+		 */
+		@Override
+		int offset() {
+			final int[] offsets = getOffsets();
+			return offsets[index];
+		}
+
+		/**
+		 */
+		@Override
+		void onItemCountChange() {
+			invalidateOffsets();
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * A {@link RecyclerView.AdapterDataObserver} implementation which forwards notifications of an
+ * observed adapter to a target adapter, that presents data set of the observed adapter shifted by
+ * an offset, like {@link ConcatRecyclerAdapter} or {@link HeaderFooterRecyclerWrapper}.
+ * <p>
+ * Each ranged notification is forwarded shifted by the current {@link #offset()}. Moves of multiple
+ * items are forwarded as change of the whole affected range, as RecyclerView supports only moves of
+ * single items.
+ *
+ * @author Martin Albedinsky
+ */
+abstract class ForwardingDataObserver extends RecyclerView.AdapterDataObserver {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ForwardingDataObserver";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Adapter to which are the notifications forwarded.
+	 */
+	private final RecyclerView.Adapter<?> mTarget;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ForwardingDataObserver which forwards notifications to the given
+	 * <var>target</var> adapter.
+	 *
+	 * @param target The adapter to which to forward notifications.
+	 */
+	ForwardingDataObserver(RecyclerView.Adapter<?> target) {
+		this.mTarget = target;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the given <var>adapter</var> as adapter accepting any view holder. This is safe only
+	 * if view holders passed to the adapter have been always created by it.
+	 *
+	 * @param adapter The adapter to cast.
+	 * @return The same adapter.
+	 */
+	@SuppressWarnings("unchecked")
+	static RecyclerView.Adapter<RecyclerView.ViewHolder> rawAdapter(RecyclerView.Adapter<?> adapter) {
+		return (RecyclerView.Adapter<RecyclerView.ViewHolder>) (RecyclerView.Adapter) adapter;
+	}
+
+	/**
+	 * Returns the offset by which are positions of the observed adapter shifted within the target
+	 * adapter.
+	 *
+	 * @return Position of the first item of the observed adapter within the target adapter.
+	 */
+	abstract int offset();
+
+	/**
+	 * Invoked whenever count of items of the observed adapter changes, after the current offset has
+	 * been obtained and before the change is forwarded to the target adapter.
+	 * <p>
+	 * Default implementation does nothing.
+	 */
+	void onItemCountChange() {
+	}
+
+	/**
+	 */
+	@Override
+	public void onChanged() {
+		onItemCountChange();
+		mTarget.notifyDataSetChanged();
+	}
+
+	/**
+	 */
+	@Override
+	public void onItemRangeChanged(int positionStart, int itemCount) {
+		mTarget.notifyItemRangeChanged(offset() + positionStart, itemCount);
+	}
+
+	/**
+	 */
+	@Override
+	public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+		mTarget.notifyItemRangeChanged(offset() + positionStart, itemCount, payload);
+	}
+
+	/**
+	 */
+	@Override
+	public void onItemRangeInserted(int positionStart, int itemCount) {
+		final int offset = offset();
+		onItemCountChange();
+		mTarget.notifyItemRangeInserted(offset + positionStart, itemCount);
+	}
+
+	/**
+	 */
+	@Override
+	public void onItemRangeRemoved(int positionStart, int itemCount) {
+		final int offset = offset();
+		onItemCountChange();
+		mTarget.notifyItemRangeRemoved(offset + positionStart, itemCount);
+	}
+
+	/**
+	 */
+	@Override
+	public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+		final int offset = offset();
+		if (itemCount == 1) {
+			mTarget.notifyItemMoved(offset + fromPosition, offset + toPosition);
+		} else {
+			// RecyclerView supports only moves of single items.
+			final int rangeStart = Math.min(fromPosition, toPosition);
+			final int rangeEnd = Math.max(fromPosition, toPosition) + itemCount;
+			mTarget.notifyItemRangeChanged(offset + rangeStart, rangeEnd - rangeStart);
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
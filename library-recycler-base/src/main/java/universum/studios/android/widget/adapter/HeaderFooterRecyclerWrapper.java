@@ -0,0 +1,484 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RecyclerView.Adapter} implementation that may be used to wrap instance of {@link BaseRecyclerAdapter}
+ * in order to present fixed header views before and fixed footer views after its data set.
+ * <p>
+ * Positions of the wrapped adapter are offset simply by the count of header views, so mapping of
+ * positions takes constant time. Range notifications dispatched by the wrapped adapter are forwarded
+ * shifted by the count of header views, and view holders, view types and stable ids of the wrapped
+ * adapter are passed through untouched, so wrapping of an adapter never forces rebinding of its
+ * whole data set.
+ * <p>
+ * Header and footer views are assigned view types and ids from the range starting at {@link Integer#MIN_VALUE},
+ * so the wrapped adapter should not use such large negative view types nor ids. Also, stable ids
+ * of this wrapper are enabled/disabled according to the wrapped adapter at the time of wrapping, so
+ * key extractor of the wrapped adapter should be specified before it is wrapped. Stable ids of the
+ * wrapped adapter cannot be changed while it is observed by this wrapper, so if such change is
+ * needed, this wrapper must be released via {@link #release()} and a new one created.
+ * <p>
+ * Each header and footer view is a single view instance, so it may be presented only by a single
+ * view holder at a time. If a new view holder is requested while the view is still attached to
+ * another parent (for example when this wrapper is used by multiple RecyclerViews), the view is
+ * detached from that parent first.
+ * <p>
+ * <b>Note</b>, that view holders of the wrapped adapter are bound with positions of its data set,
+ * but {@link RecyclerView.ViewHolder#getAdapterPosition()} returns position within this wrapper.
+ * Such position may be converted via {@link #getWrappedPosition(int)}.
+ *
+ * @author Martin Albedinsky
+ */
+public class HeaderFooterRecyclerWrapper extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "HeaderFooterRecyclerWrapper";
+
+	/**
+	 * View type assigned to the first added header or footer view. Each next added view is assigned
+	 * the next greater view type.
+	 */
+	private static final int FIXED_VIEW_TYPE_BASE = Integer.MIN_VALUE;
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Wrapped instance of BaseRecyclerAdapter.
+	 */
+	protected final BaseRecyclerAdapter<?, ?> mAdapter;
+
+	/**
+	 * Header views presented before the data set of the wrapped adapter.
+	 */
+	private final List<FixedView> mHeaders = new ArrayList<>(1);
+
+	/**
+	 * Footer views presented after the data set of the wrapped adapter.
+	 */
+	private final List<FixedView> mFooters = new ArrayList<>(1);
+
+	/**
+	 * View type to be assigned to the next added header or footer view. Each view is assigned its
+	 * own view type, so its view holder is never reused for another view.
+	 */
+	private int mNextFixedViewType = FIXED_VIEW_TYPE_BASE;
+
+	/**
+	 * Observer registered upon the wrapped adapter. {@code Null} if this wrapper has been released.
+	 */
+	private RecyclerView.AdapterDataObserver mAdapterObserver;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of HeaderFooterRecyclerWrapper which wraps the given <var>adapter</var>.
+	 *
+	 * @param adapter An instance of the adapter to be wrapped.
+	 */
+	public HeaderFooterRecyclerWrapper(@NonNull BaseRecyclerAdapter<?, ?> adapter) {
+		super();
+		this.mAdapter = adapter;
+		setHasStableIds(adapter.hasStableIds());
+		adapter.registerAdapterDataObserver(mAdapterObserver = new WrappedAdapterObserver());
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the adapter wrapped by this wrapper.
+	 *
+	 * @return The wrapped adapter.
+	 */
+	@NonNull
+	public BaseRecyclerAdapter<?, ?> getWrappedAdapter() {
+		return mAdapter;
+	}
+
+	/**
+	 * Releases this wrapper, so it no longer observes the wrapped adapter and its notifications are
+	 * not forwarded anymore. This wrapper should not be used after it has been released.
+	 * <p>
+	 * This should be called whenever this wrapper is no longer needed but the wrapped adapter is still
+	 * in use, for example in order to change stable ids of the wrapped adapter which is not possible
+	 * while it is observed by this wrapper.
+	 */
+	public void release() {
+		if (mAdapterObserver != null) {
+			mAdapter.unregisterAdapterDataObserver(mAdapterObserver);
+			this.mAdapterObserver = null;
+		}
+	}
+
+	/**
+	 * Adds the given <var>view</var> as the last header view of this wrapper and notifies it as inserted.
+	 *
+	 * @param view The desired view to be presented before the data set of the wrapped adapter.
+	 * @see #removeHeaderView(View)
+	 */
+	public void addHeaderView(@NonNull View view) {
+		mHeaders.add(new FixedView(view, mNextFixedViewType++));
+		notifyItemInserted(mHeaders.size() - 1);
+	}
+
+	/**
+	 * Removes the given header <var>view</var> from this wrapper and notifies it as removed.
+	 *
+	 * @param view The header view to remove.
+	 * @return {@code True} if the view has been removed, {@code false} if it is not a header view
+	 * of this wrapper.
+	 * @see #addHeaderView(View)
+	 */
+	public boolean removeHeaderView(@NonNull View view) {
+		final int index = indexOfFixedView(mHeaders, view);
+		if (index == -1) return false;
+		mHeaders.remove(index);
+		notifyItemRemoved(index);
+		return true;
+	}
+
+	/**
+	 * Returns the count of header views of this wrapper.
+	 *
+	 * @return Header views count.
+	 */
+	public int getHeaderViewsCount() {
+		return mHeaders.size();
+	}
+
+	/**
+	 * Adds the given <var>view</var> as the last footer view of this wrapper and notifies it as inserted.
+	 *
+	 * @param view The desired view to be presented after the data set of the wrapped adapter.
+	 * @see #removeFooterView(View)
+	 */
+	public void addFooterView(@NonNull View view) {
+		mFooters.add(new FixedView(view, mNextFixedViewType++));
+		notifyItemInserted(getItemCount() - 1);
+	}
+
+	/**
+	 * Removes the given footer <var>view</var> from this wrapper and notifies it as removed.
+	 *
+	 * @param view The footer view to remove.
+	 * @return {@code True} if the view has been removed, {@code false} if it is not a footer view
+	 * of this wrapper.
+	 * @see #addFooterView(View)
+	 */
+	public boolean removeFooterView(@NonNull View view) {
+		final int index = indexOfFixedView(mFooters, view);
+		if (index == -1) return false;
+		final int position = mHeaders.size() + mAdapter.getItemCount() + index;
+		mFooters.remove(index);
+		notifyItemRemoved(position);
+		return true;
+	}
+
+	/**
+	 * Returns the count of footer views of this wrapper.
+	 *
+	 * @return Footer views count.
+	 */
+	public int getFooterViewsCount() {
+		return mFooters.size();
+	}
+
+	/**
+	 * Returns index of the given <var>view</var> within the specified fixed <var>views</var> or
+	 * {@code -1} if there is no such view.
+	 */
+	private static int indexOfFixedView(List<FixedView> views, View view) {
+		for (int i = 0; i < views.size(); i++) {
+			if (views.get(i).view == view) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there is a header view presented at the specified
+	 * <var>position</var>.
+	 *
+	 * @param position The position to check.
+	 * @return {@code True} if the position belongs to a header view, {@code false} otherwise.
+	 */
+	public boolean isHeaderPosition(int position) {
+		return position >= 0 && position < mHeaders.size();
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there is a footer view presented at the specified
+	 * <var>position</var>.
+	 *
+	 * @param position The position to check.
+	 * @return {@code True} if the position belongs to a footer view, {@code false} otherwise.
+	 */
+	public boolean isFooterPosition(int position) {
+		final int footersStart = mHeaders.size() + mAdapter.getItemCount();
+		return position >= footersStart && position < footersStart + mFooters.size();
+	}
+
+	/**
+	 * Converts the specified <var>position</var> within this wrapper to position within data set of
+	 * the wrapped adapter.
+	 *
+	 * @param position The position within this wrapper.
+	 * @return Position within the wrapped adapter or {@link RecyclerView#NO_POSITION} if there is
+	 * a header or footer view presented at the position.
+	 * @see #getPosition(int)
+	 */
+	public int getWrappedPosition(int position) {
+		final int wrappedPosition = position - mHeaders.size();
+		return wrappedPosition >= 0 && wrappedPosition < mAdapter.getItemCount() ? wrappedPosition : RecyclerView.NO_POSITION;
+	}
+
+	/**
+	 * Converts the specified <var>wrappedPosition</var> within data set of the wrapped adapter to
+	 * position within this wrapper.
+	 *
+	 * @param wrappedPosition The position within the wrapped adapter.
+	 * @return Position within this wrapper.
+	 * @see #getWrappedPosition(int)
+	 */
+	public int getPosition(int wrappedPosition) {
+		return mHeaders.size() + wrappedPosition;
+	}
+
+	/**
+	 * Returns the header or footer view presented at the specified <var>position</var> or {@code null}
+	 * if there is an item of the wrapped adapter presented at the position.
+	 */
+	private FixedView getFixedView(int position) {
+		final int headersCount = mHeaders.size();
+		if (position < headersCount) return mHeaders.get(position);
+		final int footerIndex = position - headersCount - mAdapter.getItemCount();
+		return footerIndex >= 0 ? mFooters.get(footerIndex) : null;
+	}
+
+	/**
+	 * Returns the header or footer view with the specified <var>viewType</var> or {@code null} if
+	 * the view type is a view type of the wrapped adapter.
+	 */
+	private FixedView findFixedView(int viewType) {
+		if (viewType >= mNextFixedViewType) return null;
+		for (final FixedView header : mHeaders) {
+			if (header.viewType == viewType) return header;
+		}
+		for (final FixedView footer : mFooters) {
+			if (footer.viewType == viewType) return footer;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the wrapped adapter as adapter accepting any view holder, as view holders passed to
+	 * the wrapped adapter have been always created by it.
+	 */
+	private RecyclerView.Adapter<RecyclerView.ViewHolder> rawAdapter() {
+		return ForwardingDataObserver.rawAdapter(mAdapter);
+	}
+
+	/**
+	 */
+	@Override
+	public int getItemCount() {
+		return mHeaders.size() + mAdapter.getItemCount() + mFooters.size();
+	}
+
+	/**
+	 */
+	@Override
+	public int getItemViewType(int position) {
+		final FixedView fixedView = getFixedView(position);
+		return fixedView == null ? mAdapter.getItemViewType(position - mHeaders.size()) : fixedView.viewType;
+	}
+
+	/**
+	 */
+	@Override
+	public long getItemId(int position) {
+		final FixedView fixedView = getFixedView(position);
+		return fixedView == null ? mAdapter.getItemId(position - mHeaders.size()) : fixedView.viewType;
+	}
+
+	/**
+	 */
+	@Override
+	public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+		final FixedView fixedView = findFixedView(viewType);
+		if (fixedView == null) {
+			return mAdapter.onCreateViewHolder(parent, viewType);
+		}
+		final ViewParent viewParent = fixedView.view.getParent();
+		if (viewParent instanceof ViewGroup) {
+			// View may be attached only to a single parent, so it is moved to the new view holder.
+			((ViewGroup) viewParent).removeView(fixedView.view);
+		}
+		return new FixedViewHolder(fixedView.view);
+	}
+
+	/**
+	 */
+	@Override
+	public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
+		if (!(viewHolder instanceof FixedViewHolder)) {
+			rawAdapter().onBindViewHolder(viewHolder, position - mHeaders.size());
+		}
+	}
+
+	/**
+	 */
+	@Override
+	public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position, List<Object> payloads) {
+		if (!(viewHolder instanceof FixedViewHolder)) {
+			rawAdapter().onBindViewHolder(viewHolder, position - mHeaders.size(), payloads);
+		}
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewRecycled(RecyclerView.ViewHolder viewHolder) {
+		if (!(viewHolder instanceof FixedViewHolder)) rawAdapter().onViewRecycled(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public boolean onFailedToRecycleView(RecyclerView.ViewHolder viewHolder) {
+		return !(viewHolder instanceof FixedViewHolder) && rawAdapter().onFailedToRecycleView(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewAttachedToWindow(RecyclerView.ViewHolder viewHolder) {
+		if (!(viewHolder instanceof FixedViewHolder)) rawAdapter().onViewAttachedToWindow(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onViewDetachedFromWindow(RecyclerView.ViewHolder viewHolder) {
+		if (!(viewHolder instanceof FixedViewHolder)) rawAdapter().onViewDetachedFromWindow(viewHolder);
+	}
+
+	/**
+	 */
+	@Override
+	public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+		mAdapter.onAttachedToRecyclerView(recyclerView);
+	}
+
+	/**
+	 */
+	@Override
+	public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+		mAdapter.onDetachedFromRecyclerView(recyclerView);
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Holder for a header or footer view along with the view type assigned to it.
+	 */
+	private static final class FixedView {
+
+		/**
+		 * The header or footer view.
+		 */
+		final View view;
+
+		/**
+		 * View type assigned to the view.
+		 */
+		final int viewType;
+
+		/**
+		 * Creates a new instance of FixedView for the given <var>view</var> and <var>viewType</var>.
+		 */
+		FixedView(View view, int viewType) {
+			this.view = view;
+			this.viewType = viewType;
+		}
+	}
+
+	/**
+	 * View holder for a header or footer view.
+	 */
+	private static final class FixedViewHolder extends RecyclerView.ViewHolder {
+
+		/**
+		 * Creates a new instance of FixedViewHolder for the given header or footer <var>view</var>.
+		 */
+		FixedViewHolder(View view) {
+			super(view);
+		}
+	}
+
+	/**
+	 * Observer which forwards notifications of the wrapped adapter shifted by the count of header views.
+	 */
+	private final class WrappedAdapterObserver extends ForwardingDataObserver {
+
+		/**
+		 * Creates a new instance of WrappedAdapterObserver.
+		 */
+		WrappedAdapterObserver() {
+			super(HeaderFooterRecyclerWrapper.this);
+		}
+
+		/**
+		 */
+		@Override
+		int offset() {
+			return mHeaders.size();
+		}
+	}
+}
@@ -21,11 +21,15 @@ package universum.studios.android.widget.adapter;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link BaseRecyclerAdapter} implementation which specifies simple API for data set management
@@ -33,15 +37,33 @@ import java.util.List;
  * and obtaining an item for a desired position via {@link #getItem(int)}. All items attached to the
  * adapter may be obtained via {@link #getItems()}.
  * <p>
+ * The items may be also changed in place via {@link #insertItems(int, List)}, {@link #removeItems(int, int)},
+ * {@link #moveItem(int, int)} and {@link #replaceItem(int, Object)} which notify only the affected
+ * item positions via {@code notifyItemRange...()} methods.
+ * <p>
+ * Items of this adapter may be filtered via {@link #filterItems(CharSequence)} using {@link ItemFilter}
+ * specified via {@link #setItemFilter(ItemFilter)} as described by {@link FilterableItemsAdapter}.
+ * <p>
  * In the simplest implementation case of this adapter, only {@link #onCreateViewHolder(ViewGroup, int)}
  * and {@link #onBindViewHolder(RecyclerView.ViewHolder, int)} methods are required to be implemented
  * to take a full advantage of this adapter class.
  *
+ * <h3>Items diffing</h3>
+ * By default each change of items via {@link #swapItems(List)} ends up with a full
+ * {@link #notifyDataSetChanged()} (if not handled by {@link #onItemsChange(List, List)}). If an
+ * {@link ItemDiffCallback} is specified via {@link #setItemDiffCallback(ItemDiffCallback)}, this
+ * adapter computes differences between the current and the new items on a background thread and
+ * once computed, attaches the new items and dispatches only the minimal set of
+ * {@code notifyItemRange...()} calls on the main thread. Results computed for items that have been
+ * in the meantime replaced by another call to {@link #swapItems(List)} are discarded. In-place
+ * changes requested while the differences are being computed are applied to the currently attached
+ * items and the differences are then computed once again against the changed items.
+ *
  * @param <I>  Type of the item presented within a data set of a subclass of this SimpleRecyclerAdapter.
  * @param <VH> Type of the view holder used within a subclass of this SimpleRecyclerAdapter.
  * @author Martin Albedinsky
  */
-public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolder> extends BaseRecyclerAdapter<I, VH> implements ItemsAdapter<I> {
+public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolder> extends BaseRecyclerAdapter<I, VH> implements FilterableItemsAdapter<I> {
 
 	/**
 	 * Constants ===================================================================================
@@ -56,6 +78,39 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 	 * Interface ===================================================================================
 	 */
 
+	/**
+	 * Callback used by {@link SimpleRecyclerAdapter} to compute differences between its current
+	 * items and the new ones passed to {@link #swapItems(List)}.
+	 * <p>
+	 * <b>Note</b>, that methods of this callback are invoked on a <b>background</b> thread.
+	 *
+	 * @param <I> Type of the items that this callback compares.
+	 * @author Martin Albedinsky
+	 * @see #setItemDiffCallback(ItemDiffCallback)
+	 */
+	public interface ItemDiffCallback<I> {
+
+		/**
+		 * Checks whether the given items represent the same item (usually by comparing theirs ids).
+		 *
+		 * @param oldItem The item from the old items data set.
+		 * @param newItem The item from the new items data set.
+		 * @return {@code True} if both items represent the same item, {@code false} otherwise.
+		 */
+		boolean areItemsTheSame(@NonNull I oldItem, @NonNull I newItem);
+
+		/**
+		 * Checks whether the given items, which has been already identified as the same items by
+		 * {@link #areItemsTheSame(Object, Object)}, have also the same content.
+		 *
+		 * @param oldItem The item from the old items data set.
+		 * @param newItem The item from the new items data set.
+		 * @return {@code True} if view for the old item does not need to be re-bound for the new
+		 * one, {@code false} otherwise.
+		 */
+		boolean areContentsTheSame(@NonNull I oldItem, @NonNull I newItem);
+	}
+
 	/**
 	 * Static members ==============================================================================
 	 */
@@ -64,6 +119,46 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 	 * Members =====================================================================================
 	 */
 
+	/**
+	 * Engine used to filter items of this adapter. Created lazily.
+	 */
+	private AdapterItemsFilter<I> mItemsFilter;
+
+	/**
+	 * Callback used to compute differences between old and new items. If {@code null}, items
+	 * diffing is disabled.
+	 */
+	private ItemDiffCallback<I> mItemDiffCallback;
+
+	/**
+	 * Executor used to compute items differences. If {@code null}, a default shared background
+	 * executor is used.
+	 */
+	private Executor mDiffExecutor;
+
+	/**
+	 * Flag indicating whether moves of items should be detected while computing items differences.
+	 */
+	private boolean mDetectMoves = true;
+
+	/**
+	 * Generation of the items changes requested via {@link #swapItems(List)}. Used to discard
+	 * results of diffs computed for already outdated items.
+	 */
+	private volatile int mItemsGeneration;
+
+	/**
+	 * Items requested via {@link #swapItems(List)} for which are differences being computed at this
+	 * time.
+	 */
+	private List<I> mPendingItems;
+
+	/**
+	 * Flag indicating whether the attached items have been changed in place since the differences
+	 * for the {@link #mPendingItems} have been requested, so the differences must be computed again.
+	 */
+	private boolean mPendingDiffOutdated;
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -111,11 +206,115 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 	}
 
 	/**
+	 * Specifies a callback that should be used to compute differences between the current items
+	 * of this adapter and the new ones whenever {@link #swapItems(List)} is called.
+	 * <p>
+	 * When specified, the differences are computed on a background thread and the new items are
+	 * attached to this adapter on the main thread only after the computation finishes.
+	 * <p>
+	 * Default value: <b>{@code null}</b>
+	 *
+	 * @param callback The desired callback. May be {@code null} to disable items diffing.
+	 * @see #getItemDiffCallback()
+	 * @see #setDiffExecutor(Executor)
+	 */
+	public void setItemDiffCallback(@Nullable ItemDiffCallback<I> callback) {
+		this.mItemDiffCallback = callback;
+	}
+
+	/**
+	 * Returns the callback used to compute items differences.
+	 *
+	 * @return Items diff callback or {@code null} if items diffing is disabled.
+	 * @see #setItemDiffCallback(ItemDiffCallback)
+	 */
+	@Nullable
+	public ItemDiffCallback<I> getItemDiffCallback() {
+		return mItemDiffCallback;
+	}
+
+	/**
+	 * Specifies an executor on which should be computed differences between old and new items.
+	 *
+	 * @param executor The desired executor. May be {@code null} to use the default one that runs
+	 *                 computations on a single shared background thread.
+	 * @see #getDiffExecutor()
+	 * @see #setItemDiffCallback(ItemDiffCallback)
+	 */
+	public void setDiffExecutor(@Nullable Executor executor) {
+		this.mDiffExecutor = executor;
+	}
+
+	/**
+	 * Returns the executor on which are computed differences between old and new items.
+	 * <p>
+	 * The returned executor may be also passed to modules of this adapter that perform background
+	 * work, so all such work shares a single background thread.
+	 *
+	 * @return The executor specified via {@link #setDiffExecutor(Executor)} or the default one.
+	 * @see #setDiffExecutor(Executor)
+	 */
+	@NonNull
+	public Executor getDiffExecutor() {
+		return mDiffExecutor == null ? AdapterExecutors.background() : mDiffExecutor;
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether moves of items should be also detected when computing
+	 * items differences. Detection of moves makes the computation more expensive.
+	 * <p>
+	 * Default value: <b>{@code true}</b>
+	 *
+	 * @param detectMoves {@code True} to detect moves, {@code false} otherwise.
+	 * @see #setItemDiffCallback(ItemDiffCallback)
+	 */
+	public void setDetectMoves(boolean detectMoves) {
+		this.mDetectMoves = detectMoves;
+	}
+
+	/**
+	 * <b>Note</b>, that if there is {@link ItemDiffCallback} specified and both the current and the
+	 * new items are not empty, the new items are attached only after differences between them and
+	 * the current ones are computed. In such case the returned items are still attached to this
+	 * adapter when this method returns. Also both lists should not be modified until the new items
+	 * are attached.
+	 * <p>
+	 * While the items are filtered, the given items become the new source items which are filtered
+	 * for the current query and the returned items are the previous source items.
+	 *
+	 * @see #setItemDiffCallback(ItemDiffCallback)
+	 * @see #filterItems(CharSequence)
 	 */
 	@Nullable
 	@Override
 	public List<I> swapItems(@Nullable List<I> items) {
+		if (mItemsFilter != null && mItemsFilter.isFiltering()) {
+			return mItemsFilter.swapSource(items);
+		}
+		return attachItems(items);
+	}
+
+	/**
+	 * Attaches the given <var>items</var> to this adapter and notifies the change, possibly after
+	 * differences between the current and the new items are computed.
+	 *
+	 * @param items The items to attach. May be {@code null}.
+	 * @return The previously attached items.
+	 */
+	final List<I> attachItems(@Nullable List<I> items) {
 		final List<I> oldData = mDataSet.getData();
+		// Each swap request makes result of a diff that may be still computed outdated.
+		final int generation = ++mItemsGeneration;
+		if (mItemDiffCallback != null && oldData != null && !oldData.isEmpty() && items != null && !items.isEmpty()) {
+			// The attached list may be modified in place while the diff is computed, so the diff
+			// must be computed against its snapshot.
+			calculateItemsDiff(new ArrayList<>(oldData), items, generation);
+			this.mPendingItems = items;
+			this.mPendingDiffOutdated = false;
+			return oldData;
+		}
+		this.mPendingItems = null;
+		this.mPendingDiffOutdated = false;
 		if (items == null) {
 			mDataSet.notifyDataChange(null);
 			mDataSet.attachData(null);
@@ -133,6 +332,139 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 		return oldData;
 	}
 
+	/**
+	 */
+	@Override
+	public void setItemFilter(@Nullable ItemFilter<I> filter) {
+		ensureItemsFilter().setFilter(filter);
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public ItemFilter<I> getItemFilter() {
+		return mItemsFilter == null ? null : mItemsFilter.getFilter();
+	}
+
+	/**
+	 */
+	@Override
+	public void setFilterExecutor(@Nullable Executor executor) {
+		ensureItemsFilter().setExecutor(executor);
+	}
+
+	/**
+	 */
+	@Override
+	public void filterItems(@Nullable CharSequence query) {
+		ensureItemsFilter().filterItems(query, getItems());
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	public CharSequence getFilterQuery() {
+		return mItemsFilter == null ? "" : mItemsFilter.getQuery();
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public List<I> getSourceItems() {
+		return mItemsFilter == null ? getItems() : mItemsFilter.getSourceItems(getItems());
+	}
+
+	/**
+	 * Ensures that the engine used to filter items of this adapter is created.
+	 *
+	 * @return The items filter engine.
+	 */
+	private AdapterItemsFilter<I> ensureItemsFilter() {
+		if (mItemsFilter == null) {
+			this.mItemsFilter = new AdapterItemsFilter<>(new AdapterItemsFilter.Callback<I>() {
+
+				/**
+				 */
+				@Override
+				public void onItemsFiltered(@Nullable List<I> items) {
+					attachItems(items);
+				}
+			});
+		}
+		return mItemsFilter;
+	}
+
+	/**
+	 * Computes differences between the given <var>oldItems</var> and <var>newItems</var> on the diff
+	 * executor and posts the result on the main thread where it is dispatched via
+	 * {@link #dispatchItemsDiff(List, DiffUtil.DiffResult, int)}.
+	 *
+	 * @param oldItems   Snapshot of the items that are currently attached to this adapter.
+	 * @param newItems   The new items to be attached.
+	 * @param generation Generation of the items change for which to compute the diff.
+	 */
+	private void calculateItemsDiff(final List<I> oldItems, final List<I> newItems, final int generation) {
+		final ItemDiffCallback<I> callback = mItemDiffCallback;
+		final boolean detectMoves = mDetectMoves;
+		getDiffExecutor().execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				// Do not waste time on diff that has become outdated while waiting for execution.
+				if (generation != mItemsGeneration) {
+					return;
+				}
+				final DiffUtil.DiffResult result = DiffUtil.calculateDiff(
+						new ItemsDiffUtilCallback<>(oldItems, newItems, callback),
+						detectMoves
+				);
+				AdapterExecutors.mainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						dispatchItemsDiff(newItems, result, generation);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Attaches the given <var>newItems</var> to this adapter and dispatches the given diff
+	 * <var>result</var> to the registered observers. If the specified <var>generation</var> is
+	 * already outdated, the result is discarded.
+	 *
+	 * @param newItems   The new items for which has been the diff result computed.
+	 * @param result     The computed diff result.
+	 * @param generation Generation of the items change for which has been the diff computed.
+	 */
+	final void dispatchItemsDiff(List<I> newItems, DiffUtil.DiffResult result, int generation) {
+		if (generation != mItemsGeneration) {
+			return;
+		}
+		if (mPendingDiffOutdated) {
+			// All in-place changes made in the meantime are covered by a single new computation.
+			this.mPendingDiffOutdated = false;
+			calculateItemsDiff(new ArrayList<>(mDataSet.getData()), newItems, generation);
+			return;
+		}
+		this.mPendingItems = null;
+		final List<I> oldData = mDataSet.getData();
+		mDataSet.notifyDataChange(newItems);
+		mDataSet.attachData(newItems);
+		if (!onItemsChange(newItems, oldData)) {
+			result.dispatchUpdatesTo(this);
+		}
+		mDataSet.notifyDataChanged(newItems);
+	}
+
 	/**
 	 * Called from {@link #swapItems(List)} in order to handle change in items of this adapter.
 	 * <p>
@@ -143,12 +475,89 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 	 * @param newItems The new items data set for this adapter.
 	 * @param oldItems The old items data set of this adapter that has been replaced by the new one.
 	 * @return {@code True} if change has been handled and appropriate callbacks has been fired to
-	 * registered observers, {@code false} if default {@link #notifyDataSetChanged()} should be invoked.
+	 * registered observers, {@code false} if default {@link #notifyDataSetChanged()} should be invoked
+	 * or, if items diffing is enabled, the computed differences should be dispatched.
 	 */
 	protected boolean onItemsChange(@Nullable List<I> newItems, @Nullable List<I> oldItems) {
 		return false;
 	}
 
+	/**
+	 * <b>Note</b>, that if there are items differences being computed at the time, the change is
+	 * applied to the currently attached items and the differences are computed again once the
+	 * current computation finishes.
+	 */
+	@Override
+	public void insertItems(int position, @NonNull List<I> items) {
+		mDataSet.notifyDataChange(items);
+		mDataSet.insertData(position, items);
+		if (mItemsFilter != null) mItemsFilter.onItemsInserted(getItems(), position, items);
+		notifyItemRangeInserted(position, items.size());
+		invalidatePendingDiff();
+		mDataSet.notifyDataChanged(items);
+	}
+
+	/**
+	 * <b>Note</b>, that if there are items differences being computed at the time, the change is
+	 * applied to the currently attached items and the differences are computed again once the
+	 * current computation finishes.
+	 */
+	@Override
+	public void removeItems(int position, int count) {
+		mDataSet.notifyDataChange(mDataSet.getDataRange(position, count));
+		final List<I> removedItems = mDataSet.removeData(position, count);
+		if (mItemsFilter != null) mItemsFilter.onItemsRemoved(removedItems);
+		notifyItemRangeRemoved(position, count);
+		invalidatePendingDiff();
+		mDataSet.notifyDataChanged(removedItems);
+	}
+
+	/**
+	 * <b>Note</b>, that if there are items differences being computed at the time, the change is
+	 * applied to the currently attached items and the differences are computed again once the
+	 * current computation finishes.
+	 */
+	@Override
+	public void moveItem(int fromPosition, int toPosition) {
+		mDataSet.assertValidRangeOrThrow(toPosition, 1);
+		final List<I> movedItems = Collections.singletonList(mDataSet.getItem(fromPosition));
+		mDataSet.notifyDataChange(movedItems);
+		mDataSet.moveData(fromPosition, toPosition);
+		if (mItemsFilter != null) mItemsFilter.onItemMoved(getItems(), toPosition);
+		notifyItemMoved(fromPosition, toPosition);
+		invalidatePendingDiff();
+		mDataSet.notifyDataChanged(movedItems);
+	}
+
+	/**
+	 * <b>Note</b>, that if there are items differences being computed at the time, the change is
+	 * applied to the currently attached items and the differences are computed again once the
+	 * current computation finishes.
+	 */
+	@NonNull
+	@Override
+	public I replaceItem(int position, @NonNull I item) {
+		final List<I> replacedItems = Collections.singletonList(item);
+		mDataSet.notifyDataChange(replacedItems);
+		final I oldItem = mDataSet.replaceData(position, item);
+		if (mItemsFilter != null) mItemsFilter.onItemReplaced(oldItem, item);
+		notifyItemChanged(position);
+		invalidatePendingDiff();
+		mDataSet.notifyDataChanged(replacedItems);
+		return oldItem;
+	}
+
+	/**
+	 * Marks differences being computed at this time (if any) as outdated due to an in-place change
+	 * of the attached items, so they are computed again once the current computation finishes.
+	 * <p>
+	 * This should be called by subclasses that change the attached items in place directly via the
+	 * data set.
+	 */
+	final void invalidatePendingDiff() {
+		if (mPendingItems != null) this.mPendingDiffOutdated = true;
+	}
+
 	/**
 	 */
 	@Nullable
@@ -182,4 +591,64 @@ public abstract class SimpleRecyclerAdapter<I, VH extends RecyclerView.ViewHolde
 	/**
 	 * Inner classes ===============================================================================
 	 */
+
+	/**
+	 * A {@link DiffUtil.Callback} implementation that compares items from two lists via
+	 * {@link ItemDiffCallback}.
+	 *
+	 * @param <I> Type of the compared items.
+	 */
+	private static final class ItemsDiffUtilCallback<I> extends DiffUtil.Callback {
+
+		/**
+		 * Lists of items to be compared.
+		 */
+		private final List<I> oldItems, newItems;
+
+		/**
+		 * Callback used to compare the items.
+		 */
+		private final ItemDiffCallback<I> callback;
+
+		/**
+		 * Creates a new instance of ItemsDiffUtilCallback for the given lists of items.
+		 *
+		 * @param oldItems The old items.
+		 * @param newItems The new items.
+		 * @param callback The callback used to compare the items.
+		 */
+		ItemsDiffUtilCallback(List<I> oldItems, List<I> newItems, ItemDiffCallback<I> callback) {
+			this.oldItems = oldItems;
+			this.newItems = newItems;
+			this.callback = callback;
+		}
+
+		/**
+		 */
+		@Override
+		public int getOldListSize() {
+			return oldItems.size();
+		}
+
+		/**
+		 */
+		@Override
+		public int getNewListSize() {
+			return newItems.size();
+		}
+
+		/**
+		 */
+		@Override
+		public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+			return callback.areItemsTheSame(oldItems.get(oldItemPosition), newItems.get(newItemPosition));
+		}
+
+		/**
+		 */
+		@Override
+		public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+			return callback.areContentsTheSame(oldItems.get(oldItemPosition), newItems.get(newItemPosition));
+		}
+	}
 }
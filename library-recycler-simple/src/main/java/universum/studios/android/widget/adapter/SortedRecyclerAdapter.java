@@ -0,0 +1,287 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link SimpleRecyclerAdapter} implementation which keeps its items sorted according to a
+ * {@link Comparator} specified during its initialization.
+ * <p>
+ * Single items may be added via {@link #addItem(Object)} and updated via {@link #updateItemAt(int, Object)}.
+ * Positions for such items are found via binary search, so each such change takes {@code O(log n)}
+ * comparisons and is notified only via granular {@code notifyItemInserted(...)}, {@code notifyItemChanged(...)}
+ * and {@code notifyItemMoved(...)} calls. Bursts of changes may be wrapped into {@link #beginUpdates()}
+ * and {@link #endUpdates()}, in which case the items are re-sorted only once when the updates are
+ * ended and all notifications are merged into a single one.
+ * <p>
+ * Items passed to {@link #swapItems(List)} are sorted before they are attached to this adapter.
+ * While differences for such items are being computed, single items are added and updated within
+ * the currently attached items, which stay sorted, as described in {@link SimpleRecyclerAdapter}.
+ * <b>Note</b>, that positional modifications inherited from {@link SimpleRecyclerAdapter}, like
+ * {@link #insertItems(int, List)} or {@link #moveItem(int, int)}, do not preserve the sort order.
+ * <p>
+ * In the simplest implementation case of this adapter, only {@link #onCreateViewHolder(ViewGroup, int)}
+ * and {@link #onBindViewHolder(RecyclerView.ViewHolder, int)} methods are required to be implemented
+ * to take a full advantage of this adapter class.
+ *
+ * @param <I>  Type of the item presented within a data set of a subclass of this SortedRecyclerAdapter.
+ * @param <VH> Type of the view holder used within a subclass of this SortedRecyclerAdapter.
+ * @author Martin Albedinsky
+ */
+public abstract class SortedRecyclerAdapter<I, VH extends RecyclerView.ViewHolder> extends SimpleRecyclerAdapter<I, VH> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "SortedRecyclerAdapter";
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Comparator by which are items of this adapter sorted.
+	 */
+	private final Comparator<? super I> mComparator;
+
+	/**
+	 * Depth of the nested updates began via {@link #beginUpdates()}.
+	 */
+	private int mUpdatesDepth;
+
+	/**
+	 * Flag indicating whether items of this adapter need to be re-sorted when the current updates
+	 * are ended.
+	 */
+	private boolean mSortRequired;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of SortedRecyclerAdapter without initial items data set.
+	 *
+	 * @param context    Context in which will be this adapter used.
+	 * @param comparator Comparator by which should be items of the new adapter sorted.
+	 * @see #SortedRecyclerAdapter(Context, Comparator, List)
+	 */
+	public SortedRecyclerAdapter(@NonNull Context context, @NonNull Comparator<? super I> comparator) {
+		super(context);
+		this.mComparator = comparator;
+	}
+
+	/**
+	 * Creates a new instance of SortedRecyclerAdapter with the given initial <var>items</var> data
+	 * set. The items are sorted before they are attached to the new adapter.
+	 *
+	 * @param context    Context in which will be this adapter used.
+	 * @param comparator Comparator by which should be items of the new adapter sorted.
+	 * @param items      List of items to be used as initial data set for this adapter.
+	 */
+	public SortedRecyclerAdapter(@NonNull Context context, @NonNull Comparator<? super I> comparator, @NonNull List<I> items) {
+		super(context);
+		this.mComparator = comparator;
+		mDataSet.attachData(sortedCopyOf(items));
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the comparator by which are items of this adapter sorted.
+	 *
+	 * @return This adapter's comparator.
+	 */
+	@NonNull
+	public Comparator<? super I> getComparator() {
+		return mComparator;
+	}
+
+	/**
+	 * Returns a sorted copy of the given <var>items</var>.
+	 */
+	private List<I> sortedCopyOf(List<I> items) {
+		final List<I> sortedItems = new ArrayList<>(items);
+		Collections.sort(sortedItems, mComparator);
+		return sortedItems;
+	}
+
+	/**
+	 * The given <var>items</var> are sorted before they are attached to this adapter, so the attached
+	 * items are a sorted copy of the given list.
+	 */
+	@Nullable
+	@Override
+	public List<I> swapItems(@Nullable List<I> items) {
+		return super.swapItems(items == null ? null : sortedCopyOf(items));
+	}
+
+	/**
+	 * Begins updates of items of this adapter.
+	 * <p>
+	 * While the updates are in progress, items added via {@link #addItem(Object)} are appended at the
+	 * end of the data set and items updated via {@link #updateItemAt(int, Object)} are left at theirs
+	 * positions. All items are re-sorted at once when the outermost updates are ended via {@link #endUpdates()}.
+	 * All notifications requested during the updates are merged as described in {@link #beginBatch()}.
+	 * <p>
+	 * Updates may be nested, but each call to this method must be paired with call to {@link #endUpdates()}.
+	 *
+	 * @see #isUpdating()
+	 */
+	public void beginUpdates() {
+		this.mUpdatesDepth++;
+		beginBatch();
+	}
+
+	/**
+	 * Returns a boolean flag indicating whether there are updates in progress.
+	 *
+	 * @return {@code True} if updates began via {@link #beginUpdates()} have not been ended yet,
+	 * {@code false} otherwise.
+	 */
+	public boolean isUpdating() {
+		return mUpdatesDepth > 0;
+	}
+
+	/**
+	 * Ends the current updates began via {@link #beginUpdates()}.
+	 * <p>
+	 * If the ended updates are the outermost ones and some items have been changed during them, items
+	 * of this adapter are re-sorted and the change is notified.
+	 *
+	 * @throws IllegalStateException If there are no updates to end.
+	 */
+	public void endUpdates() {
+		if (mUpdatesDepth == 0) {
+			throw new IllegalStateException("No updates to end. Each endUpdates() must be paired with beginUpdates().");
+		}
+		if (--mUpdatesDepth == 0 && mSortRequired) {
+			this.mSortRequired = false;
+			final List<I> items = mDataSet.getData();
+			mDataSet.notifyDataChange(items);
+			mDataSet.sortData(mComparator);
+			notifyDataSetChanged();
+			invalidatePendingDiff();
+			mDataSet.notifyDataChanged(items);
+		}
+		endBatch();
+	}
+
+	/**
+	 * Adds the given <var>item</var> into this adapter at the position which keeps the items sorted.
+	 * If there are items equal to the given one, the item is added after them.
+	 *
+	 * @param item The item to be added.
+	 * @return Position at which has been the item added.
+	 * @see #insertItems(int, List)
+	 */
+	public int addItem(@NonNull I item) {
+		final int itemCount = getItemCount();
+		final int position;
+		if (mUpdatesDepth > 0) {
+			position = itemCount;
+			this.mSortRequired = true;
+		} else {
+			position = mDataSet.searchData(item, mComparator, 0, itemCount);
+		}
+		insertItems(position, Collections.singletonList(item));
+		return position;
+	}
+
+	/**
+	 * Replaces an item at the specified <var>position</var> with the given <var>item</var> and moves
+	 * it to the position which keeps the items sorted. The change of the item is notified via
+	 * {@code notifyItemChanged(...)} and its move (if any) via {@code notifyItemMoved(...)}.
+	 *
+	 * @param position The position of the item to update.
+	 * @param item     The updated item.
+	 * @return Position of the item after the update.
+	 * @throws IndexOutOfBoundsException If the specified position is out of bounds of the current
+	 *                                   data set.
+	 * @see #replaceItem(int, Object)
+	 */
+	public int updateItemAt(int position, @NonNull I item) {
+		replaceItem(position, item);
+		if (mUpdatesDepth > 0) {
+			this.mSortRequired = true;
+			return position;
+		}
+		final int itemCount = getItemCount();
+		int toPosition = position;
+		if (position > 0 && mComparator.compare(item, mDataSet.getItem(position - 1)) < 0) {
+			toPosition = mDataSet.searchData(item, mComparator, 0, position);
+		} else if (position < itemCount - 1 && mComparator.compare(item, mDataSet.getItem(position + 1)) > 0) {
+			// Insertion position is computed with the item still in place, so it is one less after its removal.
+			toPosition = mDataSet.searchData(item, mComparator, position + 1, itemCount) - 1;
+		}
+		if (toPosition != position) {
+			moveItem(position, toPosition);
+		}
+		return toPosition;
+	}
+
+	/**
+	 * Searches for a position of the given <var>item</var> within this adapter via binary search.
+	 * Of all items equal to the given one according to the comparator, the position of the one
+	 * that is also equal via {@link Object#equals(Object)} is returned.
+	 * <p>
+	 * <b>Note</b>, that the result of this method is undefined while there are updates in progress.
+	 *
+	 * @param item The item of which position to find.
+	 * @return Position of the item or {@link #NO_POSITION} if there is no such item in this adapter.
+	 */
+	public int indexOfItem(@NonNull I item) {
+		int position = mDataSet.searchData(item, mComparator, 0, getItemCount()) - 1;
+		while (position >= 0) {
+			final I candidate = mDataSet.getItem(position);
+			if (mComparator.compare(candidate, item) != 0) break;
+			if (candidate.equals(item)) return position;
+			position--;
+		}
+		return NO_POSITION;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -23,6 +23,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,6 +32,9 @@ import java.util.List;
  * obtaining an item for a desired position via {@link #getItem(int)}. All items attached to the
  * adapter may be obtained via {@link #getItems()}.
  * <p>
+ * The items may be also changed in place via {@link #insertItems(int, List)}, {@link #removeItems(int, int)},
+ * {@link #moveItem(int, int)} and {@link #replaceItem(int, Object)}.
+ * <p>
  * In the simplest implementation case of this adapter, only {@link #onCreateView(android.view.ViewGroup, int)}
  * and {@link #onBindViewHolder(Object, int)} methods are required to be implemented to take a full
  * advantage of this adapter class. The simplest scenario assumes that both spinner view and drop down
@@ -150,6 +154,51 @@ public abstract class SimpleSpinnerAdapter<I, VH, DVH> extends BaseSpinnerAdapte
 		return false;
 	}
 
+	/**
+	 */
+	@Override
+	public void insertItems(int position, @NonNull List<I> items) {
+		mDataSet.notifyDataChange(items);
+		mDataSet.insertData(position, items);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(items);
+	}
+
+	/**
+	 */
+	@Override
+	public void removeItems(int position, int count) {
+		mDataSet.notifyDataChange(mDataSet.getDataRange(position, count));
+		final List<I> removedItems = mDataSet.removeData(position, count);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(removedItems);
+	}
+
+	/**
+	 */
+	@Override
+	public void moveItem(int fromPosition, int toPosition) {
+		mDataSet.assertValidRangeOrThrow(toPosition, 1);
+		final List<I> movedItems = Collections.singletonList(mDataSet.getItem(fromPosition));
+		mDataSet.notifyDataChange(movedItems);
+		mDataSet.moveData(fromPosition, toPosition);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(movedItems);
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	public I replaceItem(int position, @NonNull I item) {
+		final List<I> replacedItems = Collections.singletonList(item);
+		mDataSet.notifyDataChange(replacedItems);
+		final I oldItem = mDataSet.replaceData(position, item);
+		notifyDataSetChanged();
+		mDataSet.notifyDataChanged(replacedItems);
+		return oldItem;
+	}
+
 	/**
 	 */
 	@Nullable
@@ -19,6 +19,7 @@
 package universum.studios.android.widget.adapter;
 
 import android.content.Context;
+import android.os.Debug;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.test.runner.AndroidJUnit4;
@@ -28,6 +29,8 @@ import android.view.ViewGroup;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import universum.studios.android.widget.adapter.inner.ContextBaseTest;
@@ -194,6 +197,48 @@ public final class AdapterDataSetTest extends ContextBaseTest {
 		assertThat(mMultiDataSetListener.hasReceivedCallback(AdapterDataSet.CALLBACK_DATA_SET_ACTION_SELECTED), is(false));
 	}
 
+	@Test
+	public void testListenerUnregisteringItselfDuringDispatch() {
+		final SelfUnregisteringListener selfUnregisteringListener = new SelfUnregisteringListener(mDataSet);
+		mDataSet.registerOnDataSetListener(selfUnregisteringListener);
+		mDataSet.registerOnDataSetListener(mMultiDataSetListener);
+		mMultiDataSetListener.resetReceivedCallbacks();
+		mDataSet.notifyDataSetChanged();
+		assertThat(selfUnregisteringListener.receivedCallbacksCount, is(1));
+		assertThat(mMultiDataSetListener.hasReceivedCallback(AdapterDataSet.CALLBACK_DATA_SET_CHANGED), is(true));
+		mMultiDataSetListener.resetReceivedCallbacks();
+		mDataSet.notifyDataSetChanged();
+		assertThat(selfUnregisteringListener.receivedCallbacksCount, is(1));
+		assertThat(mMultiDataSetListener.hasReceivedCallback(AdapterDataSet.CALLBACK_DATA_SET_CHANGED), is(true));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testNotificationsDispatchDoesNotAllocate() {
+		mDataSet.registerOnDataChangeListener(mMultiDataSetListener);
+		mDataSet.registerOnDataSetListener(mMultiDataSetListener);
+		mDataSet.registerOnDataSetActionListener(mMultiDataSetListener);
+		// Warm up the dispatch code paths first.
+		dispatchAllNotifications();
+		Debug.resetThreadAllocCount();
+		Debug.startAllocCounting();
+		for (int i = 0; i < 100; i++) {
+			dispatchAllNotifications();
+		}
+		Debug.stopAllocCounting();
+		final int allocCount = Debug.getThreadAllocCount();
+		Debug.resetThreadAllocCount();
+		assertThat(allocCount, is(0));
+	}
+
+	private void dispatchAllNotifications() {
+		mDataSet.notifyDataChange(mItems);
+		mDataSet.notifyDataChanged(mItems);
+		mDataSet.notifyDataSetChanged();
+		mDataSet.notifyDataSetInvalidated();
+		mDataSet.notifyDataSetActionSelected(0, 0, null);
+	}
+
 	@Test
 	public void testAttachData() {
 		assertThat(mDataSet.getData(), is(not(nullValue())));
@@ -205,6 +250,60 @@ public final class AdapterDataSetTest extends ContextBaseTest {
 		assertThat(mDataSet.getItemCount(), is(0));
 	}
 
+	@Test
+	public void testInsertData() {
+		mDataSet.insertData(2, Arrays.asList("Inserted 1", "Inserted 2"));
+		assertThat(mDataSet.getItemCount(), is(mItems.size() + 2));
+		assertThat(mDataSet.getItem(1), is(mItems.get(1)));
+		assertThat(mDataSet.getItem(2), is("Inserted 1"));
+		assertThat(mDataSet.getItem(3), is("Inserted 2"));
+		assertThat(mDataSet.getItem(4), is(mItems.get(2)));
+		// The attached list should remain untouched.
+		assertThat(mItems.size(), is(10));
+		assertThat(mDataSet.getData(), is(not(mItems)));
+	}
+
+	@Test
+	public void testInsertDataIntoEmptyDataSet() {
+		mEmptyDataSet.insertData(0, Collections.singletonList("Inserted"));
+		assertThat(mEmptyDataSet.getItemCount(), is(1));
+		assertThat(mEmptyDataSet.getItem(0), is("Inserted"));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testInsertDataAtInvalidPosition() {
+		mDataSet.insertData(mItems.size() + 1, Collections.singletonList("Inserted"));
+	}
+
+	@Test
+	public void testRemoveData() {
+		final List<String> removed = mDataSet.removeData(1, 3);
+		assertThat(removed, is(mItems.subList(1, 4)));
+		assertThat(mDataSet.getItemCount(), is(mItems.size() - 3));
+		assertThat(mDataSet.getItem(0), is(mItems.get(0)));
+		assertThat(mDataSet.getItem(1), is(mItems.get(4)));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRemoveDataInInvalidRange() {
+		mDataSet.removeData(mItems.size() - 1, 2);
+	}
+
+	@Test
+	public void testMoveData() {
+		assertThat(mDataSet.moveData(0, 5), is(mItems.get(0)));
+		assertThat(mDataSet.getItem(5), is(mItems.get(0)));
+		assertThat(mDataSet.getItem(0), is(mItems.get(1)));
+		assertThat(mDataSet.getItemCount(), is(mItems.size()));
+	}
+
+	@Test
+	public void testReplaceData() {
+		assertThat(mDataSet.replaceData(3, "Replaced"), is(mItems.get(3)));
+		assertThat(mDataSet.getItem(3), is("Replaced"));
+		assertThat(mDataSet.getItemCount(), is(mItems.size()));
+	}
+
 	@Test
 	public void testGetData() {
 		assertThat(mDataSet.getData(), is(mItems));
@@ -258,6 +357,113 @@ public final class AdapterDataSetTest extends ContextBaseTest {
 		}
 	}
 
+	@Test
+	public void testPositionOfId() {
+		final TestAdapter adapter = new TestAdapter(mContext);
+		adapter.changeItems(mItems);
+		for (int i = 0; i < mItems.size(); i++) {
+			assertThat(adapter.mDataSet.positionOfId(i), is(i));
+		}
+		assertThat(adapter.mDataSet.positionOfId(mItems.size()), is(DataSet.NO_POSITION));
+		adapter.changeItems(mItems.subList(0, 2));
+		assertThat(adapter.mDataSet.positionOfId(5), is(DataSet.NO_POSITION));
+	}
+
+	@Test
+	public void testPositionOfIdIsPatchedOnDataModifications() {
+		final TestAdapter adapter = new TestAdapter(mContext);
+		adapter.changeItems(mItems);
+		adapter.setKeyExtractor(new CountingKeyExtractor());
+		final AdapterDataSet<BaseAdapter<String, View>, String> dataSet = adapter.mDataSet;
+		assertPositionsOfIds(adapter);
+		dataSet.insertData(3, Arrays.asList("Inserted 1", "Inserted 2"));
+		assertPositionsOfIds(adapter);
+		final List<String> removed = dataSet.removeData(1, 4);
+		assertPositionsOfIds(adapter);
+		for (final String item : removed) {
+			assertThat(dataSet.positionOfId(item.hashCode()), is(DataSet.NO_POSITION));
+		}
+		dataSet.moveData(0, 4);
+		assertPositionsOfIds(adapter);
+		dataSet.moveData(5, 1);
+		assertPositionsOfIds(adapter);
+		final String replaced = dataSet.replaceData(2, "Replaced");
+		assertPositionsOfIds(adapter);
+		assertThat(dataSet.positionOfId(replaced.hashCode()), is(DataSet.NO_POSITION));
+	}
+
+	@Test
+	public void testKeyExtractor() {
+		final TestAdapter adapter = new TestAdapter(mContext);
+		final CountingKeyExtractor extractor = new CountingKeyExtractor();
+		adapter.changeItems(mItems);
+		assertThat(adapter.hasStableIds(), is(false));
+		adapter.setKeyExtractor(extractor);
+		assertThat(adapter.hasStableIds(), is(true));
+		assertThat(adapter.getKeyExtractor(), is((KeyExtractor<String>) extractor));
+		for (int i = 0; i < mItems.size(); i++) {
+			assertThat(adapter.getItemId(i), is((long) mItems.get(i).hashCode()));
+		}
+		// Keys should be extracted only once.
+		adapter.getItemId(0);
+		assertThat(extractor.extractionsCount, is(mItems.size()));
+		adapter.setKeyExtractor(null);
+		assertThat(adapter.hasStableIds(), is(false));
+		assertThat(adapter.getItemId(3), is(3L));
+	}
+
+	@Test
+	public void testKeysArePatchedOnDataModifications() {
+		final TestAdapter adapter = new TestAdapter(mContext);
+		final CountingKeyExtractor extractor = new CountingKeyExtractor();
+		adapter.changeItems(mItems);
+		adapter.setKeyExtractor(extractor);
+		final AdapterDataSet<BaseAdapter<String, View>, String> dataSet = adapter.mDataSet;
+		assertKeys(adapter);
+		dataSet.insertData(3, Arrays.asList("Inserted 1", "Inserted 2"));
+		assertKeys(adapter);
+		dataSet.removeData(1, 4);
+		assertKeys(adapter);
+		dataSet.moveData(0, 4);
+		assertKeys(adapter);
+		dataSet.moveData(5, 1);
+		assertKeys(adapter);
+		dataSet.replaceData(2, "Replaced");
+		assertKeys(adapter);
+		// Only the inserted and replaced items should be extracted in addition to the initial ones.
+		assertThat(extractor.extractionsCount, is(mItems.size() + 3));
+		assertPositionsOfIds(adapter);
+	}
+
+	@Test
+	public void testKeysAreIndexedByDataPositions() {
+		final HeaderAdapter adapter = new HeaderAdapter(mContext);
+		adapter.changeItems(mItems);
+		adapter.setKeyExtractor(new CountingKeyExtractor());
+		final AdapterDataSet<BaseAdapter<String, View>, String> dataSet = adapter.mDataSet;
+		for (int i = 0; i < mItems.size(); i++) {
+			assertThat(dataSet.getItemId(i), is((long) mItems.get(i).hashCode()));
+		}
+		dataSet.insertData(0, Collections.singletonList("Inserted"));
+		assertThat(dataSet.getItemId(0), is((long) "Inserted".hashCode()));
+		assertThat(dataSet.getItemId(mItems.size()), is((long) mItems.get(mItems.size() - 1).hashCode()));
+		assertThat(dataSet.positionOfId("Inserted".hashCode()), is(0));
+		assertThat(dataSet.positionOfId(mItems.get(0).hashCode()), is(1));
+		assertThat(dataSet.positionOfId(HeaderAdapter.HEADER.hashCode()), is(DataSet.NO_POSITION));
+	}
+
+	private static void assertKeys(BaseAdapter<String, View> adapter) {
+		for (int i = 0; i < adapter.getItemCount(); i++) {
+			assertThat(adapter.getItemId(i), is((long) ((String) adapter.getItem(i)).hashCode()));
+		}
+	}
+
+	private static void assertPositionsOfIds(BaseAdapter<String, View> adapter) {
+		for (int i = 0; i < adapter.getItemCount(); i++) {
+			assertThat(adapter.mDataSet.positionOfId(adapter.getItemId(i)), is(i));
+		}
+	}
+
 	private static final class TestAdapter extends SimpleAdapter<String, View> {
 
 		TestAdapter(@NonNull Context context) {
@@ -275,6 +481,67 @@ public final class AdapterDataSetTest extends ContextBaseTest {
 		}
 	}
 
+	private static final class HeaderAdapter extends SimpleAdapter<String, View> {
+
+		private static final String HEADER = "Header";
+
+		HeaderAdapter(@NonNull Context context) {
+			super(context);
+		}
+
+		@Override
+		public int getItemCount() {
+			return super.getItemCount() + 1;
+		}
+
+		@NonNull
+		@Override
+		public String getItem(int position) {
+			return position == 0 ? HEADER : super.getItem(position - 1);
+		}
+
+		@NonNull
+		@Override
+		protected View onCreateView(@NonNull ViewGroup parent, int position) {
+			return new View(parent.getContext());
+		}
+
+		@Override
+		protected void onBindViewHolder(@NonNull View view, int position) {
+		}
+	}
+
+	private static final class CountingKeyExtractor implements KeyExtractor<String> {
+
+		int extractionsCount;
+
+		@Override
+		public long extractKey(@NonNull String item) {
+			this.extractionsCount++;
+			return item.hashCode();
+		}
+	}
+
+	private static final class SelfUnregisteringListener implements OnDataSetListener<TestAdapter> {
+
+		final AdapterDataSet<TestAdapter, String> dataSet;
+		int receivedCallbacksCount;
+
+		SelfUnregisteringListener(AdapterDataSet<TestAdapter, String> dataSet) {
+			this.dataSet = dataSet;
+		}
+
+		@Override
+		public void onDataSetChanged(@NonNull TestAdapter testAdapter) {
+			this.receivedCallbacksCount++;
+			dataSet.unregisterOnDataSetListener(this);
+		}
+
+		@Override
+		public void onDataSetInvalidated(@NonNull TestAdapter testAdapter) {
+		}
+	}
+
 	private static final class MultiDataSetListener
 			implements
 			OnDataChangeListener<TestAdapter, List<String>>,
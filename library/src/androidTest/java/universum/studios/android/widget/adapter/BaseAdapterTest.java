@@ -18,22 +18,46 @@
  */
 package universum.studios.android.widget.adapter;
 
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.ListView;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
-import universum.studios.android.widget.adapter.inner.BaseTest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.TestDataSets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 /**
  * @author Martin Albedinsky
  */
 @RunWith(AndroidJUnit4.class)
-public final class BaseAdapterTest extends BaseTest {
+public final class BaseAdapterTest extends ContextBaseTest {
 
 	@SuppressWarnings("unused")
 	private static final String TAG = "BaseAdapterTest";
 
+	private static final int ITEM_HEIGHT = 100;
+	private static final int LIST_WIDTH = 200;
+	// Items at positions [0, 4) are visible.
+	private static final int LIST_HEIGHT = 350;
+
+	private final TestObserver mObserver = new TestObserver();
+
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
@@ -43,4 +67,117 @@ public final class BaseAdapterTest extends BaseTest {
 	public void test() {
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testNotifyItemRangeChangedRebindsOnlyVisibleItems() {
+		final TestAdapter adapter = new TestAdapter(mContext, 1);
+		final ListView listView = layoutListView(adapter, false);
+		assertThat(listView.getChildCount(), is(4));
+		adapter.registerDataSetObserver(mObserver);
+		adapter.boundPositions.clear();
+		adapter.notifyItemRangeChanged(2, 10, null);
+		assertThat(adapter.boundPositions, is(Arrays.asList(2, 3)));
+		adapter.boundPositions.clear();
+		adapter.notifyItemRangeChanged(10, 5, null);
+		assertThat(adapter.boundPositions, is(Collections.<Integer>emptyList()));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testNotifyItemRangeChangedWithMultipleViewTypes() {
+		final TestAdapter adapter = new TestAdapter(mContext, 2);
+		layoutListView(adapter, false);
+		adapter.registerDataSetObserver(mObserver);
+		adapter.boundPositions.clear();
+		adapter.notifyItemRangeChanged(0, 2, null);
+		assertThat(adapter.boundPositions, is(Collections.<Integer>emptyList()));
+		assertThat(mObserver.changedCount, is(1));
+	}
+
+	@Test
+	public void testNotifyItemRangeChangedForWrappedAdapter() {
+		final TestAdapter adapter = new TestAdapter(mContext, 1);
+		// List view wraps its adapter in order to present the header view.
+		layoutListView(adapter, true);
+		adapter.registerDataSetObserver(mObserver);
+		adapter.boundPositions.clear();
+		adapter.notifyItemRangeChanged(0, 2, null);
+		assertThat(adapter.boundPositions, is(Collections.<Integer>emptyList()));
+		assertThat(mObserver.changedCount, is(1));
+	}
+
+	@Test
+	public void testNotifyItemRangeChangedWithoutListView() {
+		final TestAdapter adapter = new TestAdapter(mContext, 1);
+		adapter.registerDataSetObserver(mObserver);
+		adapter.notifyItemRangeChanged(0, 2, null);
+		assertThat(adapter.boundPositions, is(Collections.<Integer>emptyList()));
+		assertThat(mObserver.changedCount, is(1));
+	}
+
+	private ListView layoutListView(final TestAdapter adapter, final boolean withHeader) {
+		final ListView[] listView = new ListView[1];
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+				listView[0] = new ListView(mContext);
+				listView[0].setDividerHeight(0);
+				if (withHeader) {
+					listView[0].addHeaderView(new View(mContext));
+				}
+				listView[0].setAdapter(adapter);
+				listView[0].measure(
+						View.MeasureSpec.makeMeasureSpec(LIST_WIDTH, View.MeasureSpec.EXACTLY),
+						View.MeasureSpec.makeMeasureSpec(LIST_HEIGHT, View.MeasureSpec.EXACTLY)
+				);
+				listView[0].layout(0, 0, LIST_WIDTH, LIST_HEIGHT);
+			}
+		});
+		return listView[0];
+	}
+
+	private static final class TestAdapter extends SimpleAdapter<String, View> {
+
+		final List<Integer> boundPositions = new ArrayList<>();
+		final int viewTypeCount;
+
+		TestAdapter(@NonNull Context context, int viewTypeCount) {
+			super(context, TestDataSets.textItems(20));
+			this.viewTypeCount = viewTypeCount;
+		}
+
+		@Override
+		public int getViewTypeCount() {
+			return viewTypeCount;
+		}
+
+		@Override
+		public int getItemViewType(int position) {
+			return position % viewTypeCount;
+		}
+
+		@NonNull
+		@Override
+		protected View onCreateView(@NonNull ViewGroup parent, int position) {
+			final View view = new View(parent.getContext());
+			view.setLayoutParams(new AbsListView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+			return view;
+		}
+
+		@Override
+		protected void onBindViewHolder(@NonNull View view, int position) {
+			boundPositions.add(position);
+		}
+	}
+
+	private static final class TestObserver extends DataSetObserver {
+
+		int changedCount;
+
+		@Override
+		public void onChanged() {
+			this.changedCount++;
+		}
+	}
+}
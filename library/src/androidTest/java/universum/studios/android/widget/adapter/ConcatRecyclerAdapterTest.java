@@ -0,0 +1,163 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.RecordingDataObserver;
+import universum.studios.android.widget.adapter.inner.TestRecyclerAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class ConcatRecyclerAdapterTest extends ContextBaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "ConcatRecyclerAdapterTest";
+
+	private TestRecyclerAdapter mFirst, mEmpty, mLast;
+	private ConcatRecyclerAdapter mAdapter;
+	private RecordingDataObserver mObserver;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mFirst = new TestRecyclerAdapter(mContext, Arrays.asList("a", "b"));
+		this.mEmpty = new TestRecyclerAdapter(mContext, Collections.<String>emptyList());
+		this.mLast = new TestRecyclerAdapter(mContext, Arrays.asList("c", "d", "e"));
+		this.mAdapter = new ConcatRecyclerAdapter(mFirst, mEmpty, mLast);
+		this.mAdapter.registerAdapterDataObserver(mObserver = new RecordingDataObserver());
+	}
+
+	@Test
+	public void testPositionRouting() {
+		assertThat(mAdapter.getAdapterCount(), is(3));
+		assertThat(mAdapter.getItemCount(), is(5));
+		assertThat(mAdapter.getAdapterIndexForPosition(0), is(0));
+		assertThat(mAdapter.getAdapterIndexForPosition(1), is(0));
+		assertThat(mAdapter.getAdapterIndexForPosition(2), is(2));
+		assertThat(mAdapter.getAdapterIndexForPosition(4), is(2));
+		assertThat(mAdapter.getLocalPosition(3), is(1));
+		assertThat(mAdapter.getGlobalPosition(mLast, 2), is(4));
+		assertThat(mAdapter.getGlobalPosition(mEmpty, 0), is(2));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testPositionRoutingOutOfRange() {
+		mAdapter.getAdapterIndexForPosition(5);
+	}
+
+	@Test
+	public void testViewTypesDoNotCollide() {
+		final int firstViewType = mAdapter.getItemViewType(0);
+		final int lastViewType = mAdapter.getItemViewType(2);
+		assertThat(firstViewType, is(not(lastViewType)));
+		assertThat(mAdapter.getItemViewType(1), is(firstViewType));
+		assertThat(mAdapter.getItemViewType(4), is(lastViewType));
+		final ViewGroup parent = new FrameLayout(mContext);
+		mAdapter.onCreateViewHolder(parent, lastViewType);
+		assertThat(mFirst.createdCount, is(0));
+		assertThat(mLast.createdCount, is(1));
+	}
+
+	@Test
+	public void testBindViewHolderWithLocalPosition() {
+		final RecyclerView.ViewHolder holder = mAdapter.onCreateViewHolder(new FrameLayout(mContext), mAdapter.getItemViewType(3));
+		mAdapter.onBindViewHolder(holder, 3);
+		assertThat(mLast.boundPositions, is(Collections.singletonList(1)));
+		assertThat(mFirst.boundPositions.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testChildNotificationsAreTranslated() {
+		mLast.insertItems(1, Arrays.asList("x", "y"));
+		assertThat(mObserver.lastRange, is(new int[]{3, 2}));
+		assertThat(mAdapter.getItemCount(), is(7));
+		mEmpty.insertItems(0, Collections.singletonList("z"));
+		assertThat(mObserver.lastRange, is(new int[]{2, 1}));
+		assertThat(mAdapter.getLocalPosition(3), is(0));
+		mFirst.removeItems(0, 1);
+		assertThat(mObserver.lastRange, is(new int[]{0, 1}));
+		mLast.replaceItem(0, "w");
+		assertThat(mObserver.lastRange, is(new int[]{2, 1}));
+		mLast.moveItem(0, 2);
+		assertThat(mObserver.lastRange, is(new int[]{2, 4, 1}));
+		assertThat(mObserver.changedCount, is(0));
+		assertThat(mAdapter.getItemCount(), is(7));
+	}
+
+	@Test
+	public void testAddAndRemoveAdapter() {
+		final TestRecyclerAdapter adapter = new TestRecyclerAdapter(mContext, Arrays.asList("f", "g"));
+		mAdapter.addAdapter(adapter);
+		assertThat(mObserver.lastRange, is(new int[]{5, 2}));
+		assertThat(mAdapter.getAdapter(3), is(sameInstance((Object) adapter)));
+		assertThat(mAdapter.removeAdapter(mFirst), is(true));
+		assertThat(mObserver.lastRange, is(new int[]{0, 2}));
+		assertThat(mAdapter.getItemCount(), is(5));
+		assertThat(mAdapter.removeAdapter(mFirst), is(false));
+		// Removed adapter must not dispatch its changes through the concat adapter anymore.
+		mFirst.insertItems(0, Collections.singletonList("h"));
+		assertThat(mObserver.insertedCount, is(1));
+	}
+
+	@Test
+	public void testAdaptersAddedWhileAttachedAreAttached() {
+		final RecyclerView recyclerView = new RecyclerView(mContext);
+		mAdapter.onAttachedToRecyclerView(recyclerView);
+		assertThat(mFirst.attachedRecyclerViews, is(Collections.singletonList(recyclerView)));
+		final TestRecyclerAdapter adapter = new TestRecyclerAdapter(mContext, Arrays.asList("f", "g"));
+		mAdapter.addAdapter(adapter);
+		assertThat(adapter.attachedRecyclerViews, is(Collections.singletonList(recyclerView)));
+		mAdapter.removeAdapter(adapter);
+		assertThat(adapter.attachedRecyclerViews.isEmpty(), is(true));
+		mAdapter.onDetachedFromRecyclerView(recyclerView);
+		assertThat(mFirst.attachedRecyclerViews.isEmpty(), is(true));
+		mAdapter.addAdapter(adapter);
+		assertThat(adapter.attachedRecyclerViews.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testChildNotificationsAfterRemovalOfPrecedingAdapter() {
+		mAdapter.removeAdapter(mFirst);
+		mLast.removeItems(1, 1);
+		assertThat(mObserver.lastRange, is(new int[]{1, 1}));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testAddAlreadyAddedAdapter() {
+		mAdapter.addAdapter(mFirst);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.RecordingDataObserver;
+import universum.studios.android.widget.adapter.inner.TestRecyclerAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class HeaderFooterRecyclerWrapperTest extends ContextBaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "HeaderFooterRecyclerWrapperTest";
+
+	private static final KeyExtractor<String> KEY_EXTRACTOR = new KeyExtractor<String>() {
+
+		@Override
+		public long extractKey(@NonNull String item) {
+			return item.hashCode();
+		}
+	};
+
+	private TestRecyclerAdapter mAdapter;
+	private HeaderFooterRecyclerWrapper mWrapper;
+	private RecordingDataObserver mObserver;
+	private View mHeader, mFooter;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mAdapter = new TestRecyclerAdapter(mContext, Arrays.asList("a", "b", "c"));
+		this.mWrapper = new HeaderFooterRecyclerWrapper(mAdapter);
+		this.mWrapper.addHeaderView(mHeader = new View(mContext));
+		this.mWrapper.addFooterView(mFooter = new View(mContext));
+		this.mWrapper.registerAdapterDataObserver(mObserver = new RecordingDataObserver());
+	}
+
+	@Test
+	public void testPositions() {
+		assertThat(mWrapper.getItemCount(), is(5));
+		assertThat(mWrapper.isHeaderPosition(0), is(true));
+		assertThat(mWrapper.isHeaderPosition(1), is(false));
+		assertThat(mWrapper.isFooterPosition(4), is(true));
+		assertThat(mWrapper.isFooterPosition(3), is(false));
+		assertThat(mWrapper.getWrappedPosition(0), is(RecyclerView.NO_POSITION));
+		assertThat(mWrapper.getWrappedPosition(1), is(0));
+		assertThat(mWrapper.getWrappedPosition(3), is(2));
+		assertThat(mWrapper.getWrappedPosition(4), is(RecyclerView.NO_POSITION));
+		assertThat(mWrapper.getPosition(2), is(3));
+	}
+
+	@Test
+	public void testViewTypesAndViewHolders() {
+		final int headerViewType = mWrapper.getItemViewType(0);
+		final int footerViewType = mWrapper.getItemViewType(4);
+		assertThat(headerViewType, is(not(footerViewType)));
+		assertThat(mWrapper.getItemViewType(2), is(mAdapter.getItemViewType(1)));
+		final ViewGroup parent = new FrameLayout(mContext);
+		assertThat(mWrapper.onCreateViewHolder(parent, headerViewType).itemView, is(mHeader));
+		assertThat(mWrapper.onCreateViewHolder(parent, footerViewType).itemView, is(mFooter));
+		assertThat(mAdapter.createdCount, is(0));
+		final RecyclerView.ViewHolder holder = mWrapper.onCreateViewHolder(parent, mWrapper.getItemViewType(2));
+		assertThat(mAdapter.createdCount, is(1));
+		mWrapper.onBindViewHolder(holder, 2);
+		assertThat(mAdapter.boundPositions, is(Arrays.asList(1)));
+	}
+
+	@Test
+	public void testCreateViewHolderForAttachedFixedView() {
+		final ViewGroup oldParent = new FrameLayout(mContext);
+		oldParent.addView(mHeader);
+		final RecyclerView.ViewHolder holder = mWrapper.onCreateViewHolder(new FrameLayout(mContext), mWrapper.getItemViewType(0));
+		assertThat(holder.itemView, is(mHeader));
+		assertThat(mHeader.getParent(), is(nullValue()));
+		assertThat(oldParent.getChildCount(), is(0));
+	}
+
+	@Test
+	public void testWrappedNotificationsAreShifted() {
+		mAdapter.insertItems(1, Arrays.asList("x", "y"));
+		assertThat(mObserver.lastRange, is(new int[]{2, 2}));
+		mAdapter.removeItems(0, 1);
+		assertThat(mObserver.lastRange, is(new int[]{1, 1}));
+		mAdapter.replaceItem(2, "z");
+		assertThat(mObserver.lastRange, is(new int[]{3, 1}));
+		mAdapter.moveItem(0, 3);
+		assertThat(mObserver.lastRange, is(new int[]{1, 4, 1}));
+		assertThat(mObserver.changedCount, is(0));
+		assertThat(mWrapper.getItemCount(), is(6));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testChangeStableIdsOfWrappedAdapter() {
+		mAdapter.setKeyExtractor(KEY_EXTRACTOR);
+	}
+
+	@Test
+	public void testRelease() {
+		mWrapper.release();
+		mAdapter.insertItems(0, Arrays.asList("x"));
+		assertThat(mObserver.insertedCount, is(0));
+		mAdapter.setKeyExtractor(KEY_EXTRACTOR);
+		assertThat(mAdapter.hasStableIds(), is(true));
+		assertThat(new HeaderFooterRecyclerWrapper(mAdapter).hasStableIds(), is(true));
+	}
+
+	@Test
+	public void testAddAndRemoveFixedViews() {
+		final View header = new View(mContext);
+		mWrapper.addHeaderView(header);
+		assertThat(mObserver.lastRange, is(new int[]{1, 1}));
+		assertThat(mWrapper.getHeaderViewsCount(), is(2));
+		assertThat(mWrapper.getWrappedPosition(2), is(0));
+		final int viewType = mWrapper.getItemViewType(1);
+		assertThat(mWrapper.removeHeaderView(mHeader), is(true));
+		assertThat(mObserver.lastRange, is(new int[]{0, 1}));
+		// View type of the remaining header must not change when another one is removed.
+		assertThat(mWrapper.getItemViewType(0), is(viewType));
+		assertThat(mWrapper.removeHeaderView(mHeader), is(false));
+		assertThat(mWrapper.removeFooterView(mFooter), is(true));
+		assertThat(mObserver.lastRange, is(new int[]{4, 1}));
+		assertThat(mWrapper.getFooterViewsCount(), is(0));
+		assertThat(mWrapper.getItemCount(), is(4));
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class LongIntHashMapTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "LongIntHashMapTest";
+
+	@Test
+	public void testPutGetRemove() {
+		final LongIntHashMap map = new LongIntHashMap(0);
+		map.put(10L, 1);
+		map.put(-5L, 2);
+		map.put(Long.MAX_VALUE, 3);
+		assertThat(map.size(), is(3));
+		assertThat(map.get(10L, -1), is(1));
+		assertThat(map.get(-5L, -1), is(2));
+		assertThat(map.get(Long.MAX_VALUE, -1), is(3));
+		assertThat(map.get(11L, -1), is(-1));
+		map.put(10L, 4);
+		assertThat(map.size(), is(3));
+		assertThat(map.get(10L, -1), is(4));
+		map.remove(-5L);
+		map.remove(12L);
+		assertThat(map.size(), is(2));
+		assertThat(map.get(-5L, -1), is(-1));
+	}
+
+	@Test
+	public void testShiftValues() {
+		final LongIntHashMap map = new LongIntHashMap(4);
+		for (int i = 0; i < 4; i++) {
+			map.put(100 + i, i);
+		}
+		map.shiftValues(1, 3, 5);
+		assertThat(map.get(100, -1), is(0));
+		assertThat(map.get(101, -1), is(6));
+		assertThat(map.get(102, -1), is(7));
+		assertThat(map.get(103, -1), is(3));
+	}
+
+	@Test
+	public void testClear() {
+		final LongIntHashMap map = new LongIntHashMap(2);
+		map.put(1, 1);
+		map.clear(100);
+		assertThat(map.size(), is(0));
+		assertThat(map.get(1, -1), is(-1));
+	}
+
+	@Test
+	public void testRandomOperationsMatchHashMap() {
+		final Random random = new Random(42);
+		final LongIntHashMap map = new LongIntHashMap(0);
+		final Map<Long, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			// Small key range so there are many collisions and removals of colliding keys.
+			final long key = random.nextInt(512) * 1024L;
+			if (random.nextInt(3) == 0) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				final int value = random.nextInt(Integer.MAX_VALUE);
+				map.put(key, value);
+				expected.put(key, value);
+			}
+		}
+		assertThat(map.size(), is(expected.size()));
+		for (long key = 0; key < 512 * 1024L; key += 1024L) {
+			final Integer value = expected.get(key);
+			assertThat(map.get(key, -1), is(value == null ? -1 : value));
+		}
+	}
+}
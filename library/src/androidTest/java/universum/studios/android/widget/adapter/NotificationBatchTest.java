@@ -0,0 +1,166 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.Nullable;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class NotificationBatchTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "NotificationBatchTest";
+
+	private NotificationBatch mBatch;
+	private TestTarget mTarget;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mBatch = new NotificationBatch();
+		this.mTarget = new TestTarget();
+	}
+
+	@Test
+	public void testNesting() {
+		assertThat(mBatch.isActive(), is(false));
+		mBatch.begin();
+		mBatch.begin();
+		assertThat(mBatch.end(), is(false));
+		assertThat(mBatch.isActive(), is(true));
+		assertThat(mBatch.end(), is(true));
+		assertThat(mBatch.isActive(), is(false));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndWithoutBegin() {
+		mBatch.end();
+	}
+
+	@Test
+	public void testDispatchWithoutRecords() {
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is(""));
+	}
+
+	@Test
+	public void testMergeInsertions() {
+		mBatch.recordItemRangeInserted(2, 2);
+		mBatch.recordItemRangeInserted(4, 1);
+		mBatch.recordItemRangeInserted(2, 3);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("inserted(2,6)"));
+	}
+
+	@Test
+	public void testMergeRemovals() {
+		mBatch.recordItemRangeRemoved(5, 2);
+		mBatch.recordItemRangeRemoved(3, 2);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("removed(3,4)"));
+	}
+
+	@Test
+	public void testMergeChanges() {
+		final Object payload = new Object();
+		mBatch.recordItemRangeChanged(4, 2, payload);
+		mBatch.recordItemRangeChanged(1, 4, payload);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("changed(1,5)"));
+	}
+
+	@Test
+	public void testChangesOfInsertedItemsAreDropped() {
+		mBatch.recordItemRangeInserted(0, 3);
+		mBatch.recordItemRangeChanged(1, 2, null);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("inserted(0,3)"));
+	}
+
+	@Test
+	public void testIncompatibleRangesFallBackToChanged() {
+		mBatch.recordItemRangeInserted(0, 1);
+		mBatch.recordItemRangeRemoved(5, 1);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("changed"));
+	}
+
+	@Test
+	public void testInvalidatedWins() {
+		mBatch.recordInvalidated();
+		mBatch.recordChanged();
+		mBatch.recordItemRangeMoved(0, 1, 1);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("invalidated"));
+	}
+
+	@Test
+	public void testDispatchClearsRecords() {
+		mBatch.recordChanged();
+		mBatch.dispatch(mTarget);
+		mBatch.dispatch(mTarget);
+		assertThat(mTarget.log.toString(), is("changed"));
+	}
+
+	private static final class TestTarget implements NotificationBatch.Target {
+
+		final StringBuilder log = new StringBuilder();
+
+		@Override
+		public void onChanged() {
+			log.append("changed");
+		}
+
+		@Override
+		public void onInvalidated() {
+			log.append("invalidated");
+		}
+
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			log.append("inserted(").append(positionStart).append(",").append(itemCount).append(")");
+		}
+
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			log.append("removed(").append(positionStart).append(",").append(itemCount).append(")");
+		}
+
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			log.append("changed(").append(positionStart).append(",").append(itemCount).append(")");
+		}
+
+		@Override
+		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			log.append("moved(").append(fromPosition).append(",").append(toPosition).append(",").append(itemCount).append(")");
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class PagedDataSetTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "PagedDataSetTest";
+
+	private static final String PLACEHOLDER = "placeholder";
+	private static final int ITEM_COUNT = 95;
+	private static final int PAGE_SIZE = 10;
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override
+		public void execute(@NonNull Runnable command) {
+			command.run();
+		}
+	};
+
+	private TestSource mSource;
+	private PagedDataSet<String> mDataSet;
+	private final Semaphore mLoadedPages = new Semaphore(0);
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mSource = new TestSource();
+		this.mDataSet = new PagedDataSet<>(mSource, PAGE_SIZE, PLACEHOLDER);
+		this.mDataSet.setExecutor(DIRECT_EXECUTOR);
+		this.mDataSet.registerOnPageLoadListener(new PagedDataSet.OnPageLoadListener() {
+
+			@Override
+			public void onPageLoaded(@NonNull PagedDataSet<?> dataSet, int positionStart, int itemCount) {
+				mLoadedPages.release();
+			}
+		});
+	}
+
+	@Test
+	public void testItemCountIsExactBeforeLoad() {
+		assertThat(mDataSet.getItemCount(), is(ITEM_COUNT));
+		assertThat(mDataSet.asList().size(), is(ITEM_COUNT));
+		assertThat(mDataSet.isPlaceholderAt(0), is(true));
+		assertThat(mDataSet.isPlaceholderAt(ITEM_COUNT - 1), is(true));
+	}
+
+	@Test
+	public void testGetItemLoadsAndPrefetchesPages() throws Exception {
+		assertThat(mDataSet.getItem(15), is(PLACEHOLDER));
+		// Pages 0, 1 and 2 are within the default prefetch distance.
+		awaitLoadedPages(3);
+		assertThat(mDataSet.getItem(15), is("item:15"));
+		assertThat(mDataSet.isPlaceholderAt(0), is(false));
+		assertThat(mDataSet.isPlaceholderAt(29), is(false));
+		assertThat(mDataSet.isPlaceholderAt(30), is(true));
+	}
+
+	@Test
+	public void testLastPageIsPartial() throws Exception {
+		mDataSet.setPrefetchDistance(0);
+		mDataSet.loadAround(94);
+		awaitLoadedPages(1);
+		assertThat(mDataSet.getItem(94), is("item:94"));
+		assertThat(mDataSet.isPlaceholderAt(89), is(true));
+	}
+
+	@Test
+	public void testLeastRecentlyAccessedPageIsEvicted() throws Exception {
+		mDataSet.setPrefetchDistance(0);
+		mDataSet.setMaxLoadedPages(2);
+		mDataSet.loadAround(0);
+		awaitLoadedPages(1);
+		mDataSet.loadAround(30);
+		awaitLoadedPages(1);
+		mDataSet.loadAround(5);
+		mDataSet.loadAround(50);
+		awaitLoadedPages(1);
+		assertThat(mDataSet.isPlaceholderAt(0), is(false));
+		assertThat(mDataSet.isPlaceholderAt(30), is(true));
+		assertThat(mDataSet.isPlaceholderAt(50), is(false));
+	}
+
+	@Test
+	public void testInvalidateDropsLoadedPages() throws Exception {
+		mDataSet.setPrefetchDistance(0);
+		mDataSet.loadAround(0);
+		awaitLoadedPages(1);
+		mDataSet.setExecutor(new Executor() {
+
+			@Override
+			public void execute(@NonNull Runnable command) {
+				// Do not load anything.
+			}
+		});
+		mDataSet.invalidate();
+		assertThat(mDataSet.isPlaceholderAt(0), is(true));
+	}
+
+	@Test
+	public void testFailedLoadMayBeRequestedAgain() throws Exception {
+		mDataSet.setPrefetchDistance(0);
+		mSource.failNextLoad = true;
+		mDataSet.loadAround(0);
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mDataSet.isPlaceholderAt(0), is(true));
+		mDataSet.loadAround(0);
+		awaitLoadedPages(1);
+		assertThat(mDataSet.getItem(0), is("item:0"));
+	}
+
+	@Test
+	public void testPrefetchDistanceIsClampedToMaxLoadedPages() {
+		assertThat(mDataSet.getPrefetchDistance(), is(PAGE_SIZE));
+		mDataSet.setMaxLoadedPages(2);
+		assertThat(mDataSet.getPrefetchDistance(), is(PAGE_SIZE / 2));
+		mDataSet.setMaxLoadedPages(1);
+		assertThat(mDataSet.getPrefetchDistance(), is(0));
+		mDataSet.setMaxLoadedPages(8);
+		assertThat(mDataSet.getPrefetchDistance(), is(PAGE_SIZE));
+		mDataSet.setPrefetchDistance(1000);
+		assertThat(mDataSet.getPrefetchDistance(), is(7 * PAGE_SIZE / 2));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testLoadAroundOutOfBounds() {
+		mDataSet.loadAround(ITEM_COUNT);
+	}
+
+	private void awaitLoadedPages(int count) throws InterruptedException {
+		assertThat(mLoadedPages.tryAcquire(count, WAIT_MAX_DURATION, TimeUnit.MILLISECONDS), is(true));
+	}
+
+	private static final class TestSource implements PagedDataSet.PageSource<String> {
+
+		volatile boolean failNextLoad;
+
+		@Override
+		public int getItemCount() {
+			return ITEM_COUNT;
+		}
+
+		@NonNull
+		@Override
+		public List<String> loadPage(int startPosition, int loadSize) {
+			if (failNextLoad) {
+				this.failNextLoad = false;
+				throw new IllegalStateException("Failed to load.");
+			}
+			final List<String> items = new ArrayList<>(loadSize);
+			for (int i = 0; i < loadSize; i++) {
+				items.add("item:" + (startPosition + i));
+			}
+			return items;
+		}
+	}
+}
@@ -18,29 +18,454 @@
  */
 package universum.studios.android.widget.adapter;
 
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
-import universum.studios.android.widget.adapter.inner.BaseTest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.QueueExecutor;
+import universum.studios.android.widget.adapter.inner.RecordingDataObserver;
+import universum.studios.android.widget.adapter.inner.TestRecyclerAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 /**
  * @author Martin Albedinsky
  */
 @RunWith(AndroidJUnit4.class)
-public final class SimpleRecyclerAdapterTest extends BaseTest {
+public final class SimpleRecyclerAdapterTest extends ContextBaseTest {
 
 	@SuppressWarnings("unused")
 	private static final String TAG = "SimpleRecyclerAdapterTest";
 
+	private static final SimpleRecyclerAdapter.ItemDiffCallback<String> DIFF_CALLBACK = new SimpleRecyclerAdapter.ItemDiffCallback<String>() {
+
+		@Override
+		public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+			return oldItem.charAt(0) == newItem.charAt(0);
+		}
+
+		@Override
+		public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+			return oldItem.equals(newItem);
+		}
+	};
+
+	private static final ItemFilter<String> PREFIX_FILTER = new ItemFilter<String>() {
+
+		@Override
+		public boolean matches(@NonNull String item, @NonNull CharSequence query) {
+			return item.startsWith(query.toString());
+		}
+	};
+
+	private TestRecyclerAdapter mAdapter;
+	private RecordingDataObserver mObserver;
+
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
+		this.mAdapter = new TestRecyclerAdapter(mContext, Arrays.asList("a", "b", "c", "d"));
+		this.mAdapter.registerAdapterDataObserver(mObserver = new RecordingDataObserver());
+	}
+
+	@Test
+	public void testSwapItemsWithoutDiffCallback() {
+		final List<String> newItems = Arrays.asList("a", "c");
+		mAdapter.swapItems(newItems);
+		assertThat(mAdapter.getItems(), is(newItems));
+		assertThat(mObserver.changedCount, is(1));
+	}
+
+	@Test
+	public void testSwapItemsWithDiffCallback() throws Exception {
+		mAdapter.setItemDiffCallback(DIFF_CALLBACK);
+		final List<String> newItems = Arrays.asList("a", "c", "d2", "e");
+		mAdapter.swapItems(newItems);
+		waitForItems(newItems);
+		assertThat(mAdapter.getItems(), is(newItems));
+		assertThat(mObserver.changedCount, is(0));
+		assertThat(mObserver.removedCount, is(1));
+		assertThat(mObserver.insertedCount, is(1));
+		assertThat(mObserver.rangeChangedCount, is(1));
+	}
+
+	@Test
+	public void testSwapItemsDiscardsOutdatedDiff() {
+		final QueueExecutor executor = new QueueExecutor();
+		mAdapter.setDiffExecutor(executor);
+		mAdapter.setItemDiffCallback(DIFF_CALLBACK);
+		final List<String> outdatedItems = Arrays.asList("b", "c");
+		final List<String> newItems = Arrays.asList("a", "b");
+		mAdapter.swapItems(outdatedItems);
+		mAdapter.swapItems(newItems);
+		assertThat(executor.size(), is(2));
+		// Diff for the outdated items is skipped, so only the one for the new items is dispatched.
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(newItems));
+		assertThat(mObserver.removedCount, is(1));
+		assertThat(mObserver.insertedCount, is(0));
+	}
+
+	@Test
+	public void testSwapItemsDiscardsDiffOutdatedAfterComputation() {
+		final QueueExecutor executor = new QueueExecutor();
+		final List<String> oldItems = mAdapter.getItems();
+		final List<String> outdatedItems = Arrays.asList("a", "b", "c", "d", "e");
+		final List<String> newItems = Arrays.asList("a", "b");
+		mAdapter.setDiffExecutor(executor);
+		mAdapter.setItemDiffCallback(DIFF_CALLBACK);
+		InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+
+			@Override
+			public void run() {
+				mAdapter.swapItems(outdatedItems);
+				// Result of the computed diff is posted, but it becomes outdated before it is dispatched.
+				executor.runNext();
+				mAdapter.swapItems(newItems);
+			}
+		});
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(oldItems));
+		assertThat(mObserver.insertedCount, is(0));
+		assertThat(executor.size(), is(1));
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(newItems));
+		assertThat(mObserver.insertedCount, is(0));
+		assertThat(mObserver.removedCount, is(1));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testInsertItems() {
+		mAdapter.insertItems(1, Arrays.asList("x", "y"));
+		assertThat(mAdapter.getItemCount(), is(6));
+		assertThat(mAdapter.getItem(1), is("x"));
+		assertThat(mObserver.insertedCount, is(1));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testRemoveItems() {
+		mAdapter.removeItems(1, 2);
+		assertThat(mAdapter.getItemCount(), is(2));
+		assertThat(mAdapter.getItem(1), is("d"));
+		assertThat(mObserver.removedCount, is(1));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testMoveItem() {
+		mAdapter.moveItem(0, 3);
+		assertThat(mAdapter.getItem(3), is("a"));
+		assertThat(mObserver.movedCount, is(1));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testInPlaceChangesWhileDiffingAreAppliedToAttachedItems() {
+		final QueueExecutor executor = new QueueExecutor();
+		mAdapter.setDiffExecutor(executor);
+		mAdapter.setItemDiffCallback(DIFF_CALLBACK);
+		final List<String> newItems = Arrays.asList("b", "e", "f");
+		mAdapter.swapItems(newItems);
+		mAdapter.insertItems(mAdapter.getItemCount(), Arrays.asList("g"));
+		mAdapter.removeItems(0, 1);
+		mAdapter.moveItem(0, 2);
+		assertThat(mAdapter.replaceItem(0, "c2"), is("c"));
+		assertThat(mAdapter.getItems(), is(Arrays.asList("c2", "d", "b", "g")));
+		assertThat(mObserver.insertedCount, is(1));
+		assertThat(mObserver.removedCount, is(1));
+		assertThat(mObserver.movedCount, is(1));
+		assertThat(mObserver.rangeChangedCount, is(1));
+		// Diff computed against the outdated items is not dispatched, but computed again.
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(Arrays.asList("c2", "d", "b", "g")));
+		assertThat(executor.size(), is(1));
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(newItems));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testMoveItemToInvalidPositionDoesNotNotifyChange() {
+		final TestDataChangeListener listener = new TestDataChangeListener();
+		mAdapter.registerOnDataChangeListener(listener);
+		try {
+			mAdapter.moveItem(0, 4);
+		} catch (IndexOutOfBoundsException e) {
+			assertThat(listener.dataChangeCount, is(0));
+			assertThat(mAdapter.getItems(), is(Arrays.asList("a", "b", "c", "d")));
+			return;
+		}
+		throw new AssertionError("Expected IndexOutOfBoundsException.");
+	}
+
+	@Test
+	public void testReplaceItem() {
+		assertThat(mAdapter.replaceItem(2, "z"), is("c"));
+		assertThat(mAdapter.getItem(2), is("z"));
+		assertThat(mObserver.rangeChangedCount, is(1));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testBatchMergesAdjacentInsertions() {
+		mAdapter.beginBatch();
+		mAdapter.insertItems(1, Arrays.asList("x", "y"));
+		mAdapter.insertItems(3, Arrays.asList("z"));
+		mAdapter.replaceItem(2, "w");
+		assertThat(mObserver.insertedCount, is(0));
+		mAdapter.endBatch();
+		assertThat(mAdapter.getItemCount(), is(7));
+		assertThat(mObserver.insertedCount, is(1));
+		assertThat(mObserver.rangeChangedCount, is(0));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testNestedBatchesDispatchSingleChange() {
+		mAdapter.beginBatch();
+		mAdapter.removeItems(0, 1);
+		mAdapter.beginBatch();
+		mAdapter.moveItem(0, 2);
+		mAdapter.notifyDataSetChanged();
+		mAdapter.endBatch();
+		assertThat(mObserver.changedCount, is(0));
+		mAdapter.endBatch();
+		assertThat(mObserver.changedCount, is(1));
+		assertThat(mObserver.removedCount, is(0));
+		assertThat(mObserver.movedCount, is(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndBatchWithoutBegin() {
+		mAdapter.endBatch();
+	}
+
+	@Test
+	public void testFilterItems() throws Exception {
+		final List<String> items = Arrays.asList("apple", "apricot", "banana", "avocado");
+		mAdapter.swapItems(items);
+		mAdapter.setItemFilter(PREFIX_FILTER);
+		mAdapter.filterItems("ap");
+		waitForItemCount(2);
+		assertThat(mAdapter.getItems(), is(Arrays.asList("apple", "apricot")));
+		assertThat(mAdapter.getSourceItems(), is(items));
+		assertThat(mAdapter.getFilterQuery().toString(), is("ap"));
+		mAdapter.filterItems("apr");
+		waitForItemCount(1);
+		assertThat(mAdapter.getItems(), is(Arrays.asList("apricot")));
+		mAdapter.filterItems(null);
+		assertThat(mAdapter.getItems(), is(items));
+		assertThat(mAdapter.getFilterQuery().length(), is(0));
+	}
+
+	@Test
+	public void testInPlaceChangesWhileFilteringAreAppliedToSourceItems() throws Exception {
+		mAdapter.swapItems(Arrays.asList("apple", "apricot", "banana", "avocado"));
+		mAdapter.setItemFilter(PREFIX_FILTER);
+		mAdapter.filterItems("ap");
+		waitForItemCount(2);
+		mAdapter.insertItems(1, Arrays.asList("apex"));
+		mAdapter.removeItems(0, 1);
+		mAdapter.replaceItem(1, "apricots");
+		assertThat(mAdapter.getItems(), is(Arrays.asList("apex", "apricots")));
+		assertThat(mAdapter.getSourceItems(), is(Arrays.asList("apex", "apricots", "banana", "avocado")));
+		mAdapter.filterItems(null);
+		assertThat(mAdapter.getItems(), is(Arrays.asList("apex", "apricots", "banana", "avocado")));
+	}
+
+	@Test
+	public void testInPlaceChangeBeforeFilteringFinishesIsNotLost() {
+		final QueueExecutor executor = new QueueExecutor();
+		mAdapter.setFilterExecutor(executor);
+		mAdapter.setItemFilter(PREFIX_FILTER);
+		mAdapter.filterItems("a");
+		// The filtered items are not attached yet, so the change is applied to all items.
+		mAdapter.insertItems(0, Arrays.asList("ab"));
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(Arrays.asList("ab", "a")));
+		assertThat(mAdapter.getSourceItems(), is(Arrays.asList("ab", "a", "b", "c", "d")));
 	}
 
 	@Test
-	public void test() {
+	public void testSwapItemsWhileFiltering() throws Exception {
+		mAdapter.setItemFilter(PREFIX_FILTER);
+		mAdapter.filterItems("b");
+		waitForItemCount(1);
+		final List<String> newItems = Arrays.asList("b1", "c", "b2");
+		mAdapter.swapItems(newItems);
+		waitForItemCount(2);
+		assertThat(mAdapter.getItems(), is(Arrays.asList("b1", "b2")));
+		assertThat(mAdapter.getSourceItems(), is(newItems));
+	}
+
+	@Test
+	public void testDataSetChangeInvalidatesIdsOfOwnedItems() {
+		final List<long[]> items = Arrays.asList(new long[]{1}, new long[]{2});
+		final IdsAdapter adapter = new IdsAdapter(mContext, items);
+		// Inserted item makes the data owned by the data set of the adapter.
+		adapter.insertItems(2, Collections.singletonList(new long[]{3}));
+		assertThat(adapter.positionOfId(2), is(1));
+		adapter.getItem(1)[0] = 5;
+		// No observers are registered upon the adapter.
+		adapter.notifyDataSetChanged();
+		assertThat(adapter.positionOfId(2), is(DataSet.NO_POSITION));
+		assertThat(adapter.positionOfId(5), is(1));
+	}
+
+	@Test
+	public void testRangeListenerReceivesRanges() {
+		final TestRangeListener rangeListener = new TestRangeListener();
+		final TestRangeListener plainListener = new TestRangeListener();
+		mAdapter.registerOnDataSetListener(rangeListener);
+		mAdapter.registerOnDataSetListener(new OnDataSetListener<SimpleRecyclerAdapter<String, RecyclerView.ViewHolder>>() {
+
+			@Override
+			public void onDataSetChanged(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter) {
+				plainListener.changedCount++;
+			}
+
+			@Override
+			public void onDataSetInvalidated(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter) {
+			}
+		});
+		mAdapter.insertItems(1, Arrays.asList("x", "y"));
+		assertThat(rangeListener.lastRange, is(new int[]{1, 2}));
+		mAdapter.removeItems(0, 1);
+		assertThat(rangeListener.lastRange, is(new int[]{0, 1}));
+		mAdapter.replaceItem(2, "z");
+		assertThat(rangeListener.lastRange, is(new int[]{2, 1}));
+		mAdapter.moveItem(0, 3);
+		assertThat(rangeListener.lastRange, is(new int[]{0, 3, 1}));
+		assertThat(rangeListener.insertedCount, is(1));
+		assertThat(rangeListener.removedCount, is(1));
+		assertThat(rangeListener.rangeChangedCount, is(1));
+		assertThat(rangeListener.movedCount, is(1));
+		assertThat(rangeListener.changedCount, is(0));
+		assertThat(plainListener.changedCount, is(4));
+	}
+
+	@Test
+	public void testRangeListenerReregistration() {
+		final TestRangeListener listener = new TestRangeListener();
+		mAdapter.registerOnDataSetListener(listener);
+		mAdapter.unregisterOnDataSetListener(listener);
+		mAdapter.insertItems(0, Arrays.asList("x"));
+		assertThat(listener.insertedCount, is(0));
+		mAdapter.registerOnDataSetListener(listener);
+		mAdapter.insertItems(0, Arrays.asList("y"));
+		assertThat(listener.insertedCount, is(1));
+	}
+
+	private void waitForItemCount(int count) throws InterruptedException {
+		long duration = 0;
+		while (mAdapter.getItemCount() != count && duration < WAIT_MAX_DURATION) {
+			Thread.sleep(50);
+			duration += 50;
+		}
+	}
+
+	private void waitForItems(List<String> items) throws InterruptedException {
+		long duration = 0;
+		while (mAdapter.getItems() != items && duration < WAIT_MAX_DURATION) {
+			Thread.sleep(50);
+			duration += 50;
+		}
+	}
+
+	private static final class IdsAdapter extends SimpleRecyclerAdapter<long[], RecyclerView.ViewHolder> {
+
+		IdsAdapter(@NonNull Context context, @NonNull List<long[]> items) {
+			super(context, items);
+			setKeyExtractor(new KeyExtractor<long[]>() {
+
+				@Override
+				public long extractKey(@NonNull long[] item) {
+					return item[0];
+				}
+			});
+		}
+
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+			return new SimpleViewHolder(new View(parent.getContext()));
+		}
+
+		@Override
+		public void onBindViewHolder(@NonNull RecyclerView.ViewHolder viewHolder, int position) {
+		}
+	}
+
+	private static final class TestDataChangeListener implements OnDataChangeListener<SimpleRecyclerAdapter<String, RecyclerView.ViewHolder>, List<String>> {
+
+		int dataChangeCount;
+
+		@Override
+		public void onDataChange(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, @Nullable List<String> data) {
+			this.dataChangeCount++;
+		}
+
+		@Override
+		public void onDataChanged(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, @Nullable List<String> data) {
+		}
+	}
+
+	private static final class TestRangeListener implements OnDataSetRangeListener<SimpleRecyclerAdapter<String, RecyclerView.ViewHolder>> {
+
+		int changedCount, rangeChangedCount, insertedCount, removedCount, movedCount;
+		int[] lastRange;
+
+		@Override
+		public void onDataSetChanged(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter) {
+			this.changedCount++;
+		}
+
+		@Override
+		public void onDataSetInvalidated(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter) {
+		}
+
+		@Override
+		public void onItemRangeInserted(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, int positionStart, int itemCount) {
+			this.insertedCount++;
+			this.lastRange = new int[]{positionStart, itemCount};
+		}
+
+		@Override
+		public void onItemRangeRemoved(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, int positionStart, int itemCount) {
+			this.removedCount++;
+			this.lastRange = new int[]{positionStart, itemCount};
+		}
+
+		@Override
+		public void onItemRangeChanged(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, int positionStart, int itemCount, Object payload) {
+			this.rangeChangedCount++;
+			this.lastRange = new int[]{positionStart, itemCount};
+		}
 
+		@Override
+		public void onItemRangeMoved(@NonNull SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> adapter, int fromPosition, int toPosition, int itemCount) {
+			this.movedCount++;
+			this.lastRange = new int[]{fromPosition, toPosition, itemCount};
+		}
 	}
-}
\ No newline at end of file
+}
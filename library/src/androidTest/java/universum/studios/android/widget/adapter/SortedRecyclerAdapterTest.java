@@ -0,0 +1,185 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.QueueExecutor;
+import universum.studios.android.widget.adapter.inner.RecordingDataObserver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class SortedRecyclerAdapterTest extends ContextBaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "SortedRecyclerAdapterTest";
+
+	private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+
+		@Override
+		public int compare(Integer first, Integer second) {
+			return first.compareTo(second);
+		}
+	};
+
+	private static final SimpleRecyclerAdapter.ItemDiffCallback<Integer> DIFF_CALLBACK = new SimpleRecyclerAdapter.ItemDiffCallback<Integer>() {
+
+		@Override
+		public boolean areItemsTheSame(@NonNull Integer oldItem, @NonNull Integer newItem) {
+			return oldItem.equals(newItem);
+		}
+
+		@Override
+		public boolean areContentsTheSame(@NonNull Integer oldItem, @NonNull Integer newItem) {
+			return oldItem.equals(newItem);
+		}
+	};
+
+	private TestAdapter mAdapter;
+	private RecordingDataObserver mObserver;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mAdapter = new TestAdapter(mContext, Arrays.asList(40, 10, 30, 20));
+		this.mAdapter.registerAdapterDataObserver(mObserver = new RecordingDataObserver());
+	}
+
+	@Test
+	public void testInstantiationSortsItems() {
+		assertThat(mAdapter.getItems(), is(Arrays.asList(10, 20, 30, 40)));
+	}
+
+	@Test
+	public void testSwapItemsSortsItems() {
+		mAdapter.swapItems(Arrays.asList(3, 1, 2));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(1, 2, 3)));
+	}
+
+	@Test
+	public void testAddItem() {
+		assertThat(mAdapter.addItem(25), is(2));
+		assertThat(mAdapter.addItem(5), is(0));
+		assertThat(mAdapter.addItem(50), is(6));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(5, 10, 20, 25, 30, 40, 50)));
+		assertThat(mObserver.insertedCount, is(3));
+		assertThat(mObserver.changedCount, is(0));
+	}
+
+	@Test
+	public void testUpdateItemAtMovesItemDown() {
+		assertThat(mAdapter.updateItemAt(0, 35), is(2));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(20, 30, 35, 40)));
+		assertThat(mObserver.rangeChangedCount, is(1));
+		assertThat(mObserver.movedCount, is(1));
+	}
+
+	@Test
+	public void testUpdateItemAtMovesItemUp() {
+		assertThat(mAdapter.updateItemAt(3, 15), is(1));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(10, 15, 20, 30)));
+		assertThat(mObserver.movedCount, is(1));
+	}
+
+	@Test
+	public void testUpdateItemAtInPlace() {
+		assertThat(mAdapter.updateItemAt(1, 25), is(1));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(10, 25, 30, 40)));
+		assertThat(mObserver.rangeChangedCount, is(1));
+		assertThat(mObserver.movedCount, is(0));
+	}
+
+	@Test
+	public void testChangesWhileDiffingKeepAttachedItemsSorted() {
+		final QueueExecutor executor = new QueueExecutor();
+		mAdapter.setDiffExecutor(executor);
+		mAdapter.setItemDiffCallback(DIFF_CALLBACK);
+		mAdapter.swapItems(Arrays.asList(3, 1, 2));
+		assertThat(mAdapter.addItem(25), is(2));
+		assertThat(mAdapter.updateItemAt(0, 45), is(4));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(20, 25, 30, 40, 45)));
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mAdapter.getItems(), is(Arrays.asList(1, 2, 3)));
+	}
+
+	@Test
+	public void testIndexOfItem() {
+		assertThat(mAdapter.indexOfItem(30), is(2));
+		assertThat(mAdapter.indexOfItem(35), is(DataSet.NO_POSITION));
+	}
+
+	@Test
+	public void testUpdatesAreSortedOnce() {
+		mAdapter.beginUpdates();
+		mAdapter.addItem(5);
+		mAdapter.updateItemAt(0, 45);
+		mAdapter.addItem(35);
+		assertThat(mAdapter.isUpdating(), is(true));
+		assertThat(mObserver.insertedCount, is(0));
+		mAdapter.endUpdates();
+		assertThat(mAdapter.isUpdating(), is(false));
+		assertThat(mAdapter.getItems(), is(Arrays.asList(5, 20, 30, 35, 40, 45)));
+		assertThat(mObserver.changedCount, is(1));
+		assertThat(mObserver.insertedCount, is(0));
+		assertThat(mObserver.movedCount, is(0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndUpdatesWithoutBegin() {
+		mAdapter.endUpdates();
+	}
+
+	private static final class TestAdapter extends SortedRecyclerAdapter<Integer, RecyclerView.ViewHolder> {
+
+		TestAdapter(@NonNull Context context, @NonNull List<Integer> items) {
+			super(context, COMPARATOR, items);
+		}
+
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+			return new SimpleViewHolder(new View(parent.getContext()));
+		}
+
+		@Override
+		public void onBindViewHolder(@NonNull RecyclerView.ViewHolder viewHolder, int position) {
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.inner;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class QueueExecutor implements Executor {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "QueueExecutor";
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	@Override
+	public void execute(@NonNull Runnable task) {
+		tasks.add(task);
+	}
+
+	public int size() {
+		return tasks.size();
+	}
+
+	public void runNext() {
+		tasks.remove(0).run();
+	}
+
+	public void runAll() {
+		while (!tasks.isEmpty()) {
+			runNext();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.inner;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class RecordingDataObserver extends RecyclerView.AdapterDataObserver {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "RecordingDataObserver";
+
+	public volatile int changedCount, rangeChangedCount, insertedCount, removedCount, movedCount;
+	public volatile int[] lastRange;
+
+	@Override
+	public void onChanged() {
+		this.changedCount++;
+	}
+
+	@Override
+	public void onItemRangeChanged(int positionStart, int itemCount) {
+		this.rangeChangedCount++;
+		this.lastRange = new int[]{positionStart, itemCount};
+	}
+
+	@Override
+	public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+		this.rangeChangedCount++;
+		this.lastRange = new int[]{positionStart, itemCount};
+	}
+
+	@Override
+	public void onItemRangeInserted(int positionStart, int itemCount) {
+		this.insertedCount++;
+		this.lastRange = new int[]{positionStart, itemCount};
+	}
+
+	@Override
+	public void onItemRangeRemoved(int positionStart, int itemCount) {
+		this.removedCount++;
+		this.lastRange = new int[]{positionStart, itemCount};
+	}
+
+	@Override
+	public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+		this.movedCount++;
+		this.lastRange = new int[]{fromPosition, toPosition, itemCount};
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.inner;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.module.AdapterModule;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class RecordingModuleAdapter implements AdapterModule.ModuleAdapter {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "RecordingModuleAdapter";
+
+	public final List<String> notifications = new ArrayList<>();
+	public int itemCount;
+
+	@Nullable
+	public String lastNotification() {
+		return notifications.isEmpty() ? null : notifications.get(notifications.size() - 1);
+	}
+
+	@Override
+	public void notifyDataSetChanged() {
+		notifications.add("dataSetChanged");
+	}
+
+	@Override
+	public void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		notifications.add("changed(" + positionStart + ", " + itemCount + ", " + payload + ")");
+	}
+
+	@Override
+	public void notifyItemRangeInserted(int positionStart, int itemCount) {
+		notifications.add("inserted(" + positionStart + ", " + itemCount + ")");
+	}
+
+	@Override
+	public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+		notifications.add("removed(" + positionStart + ", " + itemCount + ")");
+	}
+
+	@Override
+	public void notifyItemMoved(int fromPosition, int toPosition) {
+		notifications.add("moved(" + fromPosition + ", " + toPosition + ")");
+	}
+
+	@Override
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	@Override
+	public long getItemId(int position) {
+		return position;
+	}
+
+	@Override
+	public int positionOfId(long id) {
+		return (int) id;
+	}
+}
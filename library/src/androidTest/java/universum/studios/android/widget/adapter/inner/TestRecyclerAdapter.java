@@ -0,0 +1,70 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.inner;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.SimpleRecyclerAdapter;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class TestRecyclerAdapter extends SimpleRecyclerAdapter<String, RecyclerView.ViewHolder> {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "TestRecyclerAdapter";
+
+	public final List<Integer> boundPositions = new ArrayList<>();
+	public int createdCount;
+	public final List<RecyclerView> attachedRecyclerViews = new ArrayList<>();
+
+	public TestRecyclerAdapter(@NonNull Context context, @NonNull List<String> items) {
+		super(context, new ArrayList<>(items));
+	}
+
+	@Override
+	public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+		this.createdCount++;
+		return new SimpleViewHolder(new View(parent.getContext()));
+	}
+
+	@Override
+	public void onBindViewHolder(@NonNull RecyclerView.ViewHolder viewHolder, int position) {
+		boundPositions.add(position);
+	}
+
+	@Override
+	public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+		super.onAttachedToRecyclerView(recyclerView);
+		attachedRecyclerViews.add(recyclerView);
+	}
+
+	@Override
+	public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+		super.onDetachedFromRecyclerView(recyclerView);
+		attachedRecyclerViews.remove(recyclerView);
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.inner;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import universum.studios.android.widget.adapter.SimpleAdapter;
+import universum.studios.android.widget.adapter.module.AdapterModule;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class TestSelectionAdapter extends SimpleAdapter<String, View> implements AdapterModule.ModuleAdapter {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "TestSelectionAdapter";
+
+	public boolean notifyDataSetChangedReceived;
+	public int notifyDataSetChangedCount;
+	public int[] lastChangedRange;
+	public Object lastPayload;
+	public final List<int[]> changedRanges = new ArrayList<>();
+
+	public TestSelectionAdapter(@NonNull Context context) {
+		super(context, new String[]{
+				"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"
+		});
+	}
+
+	public TestSelectionAdapter(@NonNull Context context, int itemCount) {
+		super(context, new String[itemCount]);
+	}
+
+	public void resetReceivedCallbacks() {
+		this.notifyDataSetChangedReceived = false;
+	}
+
+	@Override
+	public void notifyDataSetChanged() {
+		super.notifyDataSetChanged();
+		this.notifyDataSetChangedReceived = true;
+		this.notifyDataSetChangedCount++;
+	}
+
+	@Override
+	public void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		super.notifyItemRangeChanged(positionStart, itemCount, payload);
+		this.lastChangedRange = new int[]{positionStart, itemCount};
+		this.lastPayload = payload;
+		changedRanges.add(lastChangedRange);
+	}
+
+	@NonNull
+	@Override
+	protected View onCreateView(@NonNull ViewGroup parent, int position) {
+		return new View(parent.getContext());
+	}
+
+	@Override
+	protected void onBindViewHolder(@NonNull View viewHolder, int position) {
+	}
+}
@@ -24,6 +24,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import universum.studios.android.widget.adapter.inner.BaseTest;
+import universum.studios.android.widget.adapter.inner.RecordingModuleAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * @author Martin Albedinsky
@@ -34,13 +39,41 @@ public final class AdapterModuleTest extends BaseTest {
 	@SuppressWarnings("unused")
 	private static final String TAG = "AdapterModuleTest";
 
+	private TestModule mModule;
+	private RecordingModuleAdapter mAdapter;
+
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
+		this.mModule = new TestModule();
+		this.mModule.attachToAdapter(mAdapter = new RecordingModuleAdapter());
+		this.mAdapter.itemCount = 10;
+	}
+
+	@Test
+	public void testRangedNotifications() {
+		mModule.notifyAdapterItemRangeChanged(1, 2, "payload");
+		assertThat(mAdapter.lastNotification(), is("changed(1, 2, payload)"));
+		mModule.notifyAdapterItemRangeInserted(3, 4);
+		assertThat(mAdapter.lastNotification(), is("inserted(3, 4)"));
+		mModule.notifyAdapterItemRangeRemoved(5, 6);
+		assertThat(mAdapter.lastNotification(), is("removed(5, 6)"));
+		mModule.notifyAdapterItemMoved(7, 8);
+		assertThat(mAdapter.lastNotification(), is("moved(7, 8)"));
+		mModule.notifyAdapter();
+		assertThat(mAdapter.lastNotification(), is("dataSetChanged"));
 	}
 
 	@Test
-	public void test() {
+	public void testRangedNotificationsWhenDisabled() {
+		mModule.setAdapterNotificationEnabled(false);
+		mModule.notifyAdapterItemRangeChanged(1, 2, null);
+		mModule.notifyAdapterItemRangeInserted(3, 4);
+		mModule.notifyAdapterItemRangeRemoved(5, 6);
+		mModule.notifyAdapterItemMoved(7, 8);
+		assertThat(mAdapter.lastNotification(), is(nullValue()));
+	}
 
+	private static final class TestModule extends AdapterModule {
 	}
 }
\ No newline at end of file
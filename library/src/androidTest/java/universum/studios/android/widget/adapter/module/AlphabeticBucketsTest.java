@@ -0,0 +1,108 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class AlphabeticBucketsTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "AlphabeticBucketsTest";
+
+	@Test
+	public void testForLocale() {
+		final AlphabeticBuckets buckets = AlphabeticBuckets.forLocale(Locale.ENGLISH);
+		assertThat(buckets.size(), is(28));
+		assertThat(buckets.getLocale(), is(Locale.ENGLISH));
+		assertThat(buckets.getLabel(0), is(AlphabeticBuckets.UNDERFLOW_LABEL));
+		assertThat(buckets.getLabel(27), is(AlphabeticBuckets.OVERFLOW_LABEL));
+		assertThat(AlphabeticBuckets.forLocale(Locale.ENGLISH), is(sameInstance(buckets)));
+	}
+
+	@Test
+	public void testBucketOf() {
+		final AlphabeticBuckets buckets = AlphabeticBuckets.forLocale(Locale.ENGLISH);
+		final int bucket = buckets.bucketOf('E');
+		assertThat(buckets.getLabel(bucket), is("E"));
+		assertThat(buckets.bucketOf('e'), is(bucket));
+		assertThat(buckets.bucketOf('\u00C9'), is(bucket));
+		assertThat(buckets.bucketOf('\u00EA'), is(bucket));
+		assertThat(buckets.getLabel(buckets.bucketOf('z')), is("Z"));
+		assertThat(buckets.getLabel(buckets.bucketOf('\u017D')), is("Z"));
+		assertThat(buckets.bucketOf('1'), is(0));
+	}
+
+	@Test
+	public void testBucketOfCodePointsAfterLastLabel() {
+		final AlphabeticBuckets buckets = AlphabeticBuckets.forLocale(Locale.ENGLISH);
+		final int overflowBucket = buckets.size() - 1;
+		// Cyrillic and CJK letters are sorted after the Latin ones.
+		assertThat(buckets.bucketOf('\u0416'), is(overflowBucket));
+		assertThat(buckets.bucketOf('\u044F'), is(overflowBucket));
+		assertThat(buckets.bucketOf('\u4E2D'), is(overflowBucket));
+	}
+
+	@Test
+	public void testCyrillicBuckets() {
+		final String[] labels = new String['\u042F' - '\u0410' + 1];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = String.valueOf((char) ('\u0410' + i));
+		}
+		final AlphabeticBuckets buckets = AlphabeticBuckets.create(new Locale("ru"), labels);
+		assertThat(buckets.size(), is(labels.length + 2));
+		assertThat(buckets.getLabel(buckets.bucketOf('\u0436')), is("\u0416"));
+		assertThat(buckets.getLabel(buckets.bucketOf('\u044F')), is("\u042F"));
+		assertThat(buckets.getLabel(buckets.bucketOf('A')), is(AlphabeticBuckets.UNDERFLOW_LABEL));
+		assertThat(buckets.getLabel(buckets.bucketOf('\u4E2D')), is(AlphabeticBuckets.OVERFLOW_LABEL));
+	}
+
+	@Test
+	public void testCreate() {
+		final AlphabeticBuckets buckets = AlphabeticBuckets.create(new Locale("sv"), "\u00C4", "B", "A", "Z", "a");
+		// Labels are sorted and the duplicate one is dropped.
+		assertThat(buckets.size(), is(6));
+		assertThat(buckets.getLabel(1), is("A"));
+		assertThat(buckets.getLabel(2), is("B"));
+		assertThat(buckets.getLabel(3), is("Z"));
+		assertThat(buckets.getLabel(4), is("\u00C4"));
+		assertThat(buckets.getLabel(buckets.bucketOf('\u00E4')), is("\u00C4"));
+		assertThat(buckets.getLabel(buckets.bucketOf('C')), is("B"));
+		assertThat(buckets.getLabel(5), is(AlphabeticBuckets.OVERFLOW_LABEL));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateWithoutLabels() {
+		AlphabeticBuckets.create(Locale.ENGLISH);
+	}
+}
@@ -18,12 +18,26 @@
  */
 package universum.studios.android.widget.adapter.module;
 
+import android.os.Debug;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
 import universum.studios.android.widget.adapter.inner.BaseTest;
+import universum.studios.android.widget.adapter.inner.QueueExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 
 /**
  * @author Martin Albedinsky
@@ -34,13 +48,127 @@ public final class AlphabeticHeadersTest extends BaseTest {
 	@SuppressWarnings("unused")
 	private static final String TAG = "AlphabeticHeadersTest";
 
+	private AlphabeticHeaders mHeaders;
+
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
+		this.mHeaders = new AlphabeticHeaders();
+	}
+
+	@Test
+	public void testFromAlphabeticList() {
+		mHeaders.fromAlphabeticList(items("Apple", "Avocado", "Banana", "", "Cherry"));
+		assertThat(mHeaders.size(), is(3));
+		assertThat(mHeaders.getHeader(0).getText().toString(), is("A"));
+		assertThat(mHeaders.getHeader(3).getText().toString(), is("B"));
+		assertThat(mHeaders.getHeader(6).getText().toString(), is("C"));
+	}
+
+	@Test
+	public void testFromAlphabeticListWithSupplementaryLetters() {
+		// Both texts start with a surrogate pair, but with different low surrogates.
+		mHeaders.fromAlphabeticList(items("\uD835\uDC00a", "\uD835\uDC00b", "\uD835\uDC01"));
+		assertThat(mHeaders.size(), is(2));
+		assertThat(mHeaders.getHeader(0).getText().toString(), is("\uD835\uDC00"));
+		assertThat(mHeaders.getHeader(3).getText().toString(), is("\uD835\uDC01"));
+	}
+
+	@Test
+	public void testFromAlphabeticListWithBuckets() {
+		mHeaders.setBuckets(AlphabeticBuckets.forLocale(Locale.ENGLISH));
+		mHeaders.fromAlphabeticList(items("Eagle", "\u00C9clair", "Echo", "Zebra"));
+		assertThat(mHeaders.size(), is(2));
+		assertThat(mHeaders.getHeader(0).getText().toString(), is("E"));
+		assertThat(mHeaders.getHeader(4).getText().toString(), is("Z"));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testAllocationsPerProcessedItem() {
+		final int itemCount = 100000;
+		final int sectionCount = 26;
+		final List<TestItem> items = new ArrayList<>(itemCount);
+		for (int i = 0; i < itemCount; i++) {
+			final StringBuilder text = new StringBuilder();
+			text.append((char) ('A' + i * sectionCount / itemCount)).append("item");
+			items.add(new TestItem(text));
+		}
+		// Warm up the processing code paths first.
+		mHeaders.fromAlphabeticList(items);
+		Debug.resetThreadAllocCount();
+		Debug.startAllocCounting();
+		mHeaders.fromAlphabeticList(items);
+		Debug.stopAllocCounting();
+		final int allocCount = Debug.getThreadAllocCount();
+		Debug.resetThreadAllocCount();
+		Log.d(TAG, "Allocations per processed item: " + ((float) allocCount / itemCount));
+		assertThat(mHeaders.size(), is(sectionCount));
+		// Only headers of the sections (and theirs texts) may be allocated.
+		assertThat(allocCount, is(lessThan(sectionCount * 8)));
 	}
 
 	@Test
-	public void test() {
+	public void testFromAlphabeticListAsync() throws Exception {
+		mHeaders.fromAlphabeticListAsync(items("Apple", "Avocado", "Banana", "", "Cherry"));
+		waitForHeadersCount(3);
+		assertThat(mHeaders.size(), is(3));
+		assertThat(mHeaders.getHeader(0).getText().toString(), is("A"));
+		assertThat(mHeaders.getHeader(3).getText().toString(), is("B"));
+		assertThat(mHeaders.getHeader(6).getText().toString(), is("C"));
+	}
+
+	@Test
+	public void testFromAlphabeticListAsyncDropsOutdatedResult() {
+		final QueueExecutor executor = new QueueExecutor();
+		mHeaders.setExecutor(executor);
+		mHeaders.fromAlphabeticListAsync(items("Apple", "Banana", "Cherry"));
+		mHeaders.fromAlphabeticListAsync(items("Date", "Dewberry"));
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mHeaders.size(), is(1));
+		assertThat(mHeaders.getHeader(0).getText().toString(), is("D"));
+	}
+
+	@Test
+	public void testFromAlphabeticListAsyncDropsResultAfterClear() {
+		final QueueExecutor executor = new QueueExecutor();
+		mHeaders.setExecutor(executor);
+		mHeaders.fromAlphabeticListAsync(items("Apple", "Banana", "Cherry"));
+		mHeaders.clearHeaders();
+		executor.runAll();
+		InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+		assertThat(mHeaders.isEmpty(), is(true));
+	}
+
+	private void waitForHeadersCount(int count) throws InterruptedException {
+		long duration = 0;
+		while (mHeaders.size() != count && duration < WAIT_MAX_DURATION) {
+			Thread.sleep(50);
+			duration += 50;
+		}
+	}
+
+	private static List<TestItem> items(String... texts) {
+		final List<TestItem> items = new ArrayList<>(texts.length);
+		for (final String text : Arrays.asList(texts)) {
+			items.add(new TestItem(text));
+		}
+		return items;
+	}
+
+	private static final class TestItem implements AlphabeticHeaders.AlphabeticItem {
+
+		private final CharSequence text;
+
+		TestItem(CharSequence text) {
+			this.text = text;
+		}
 
+		@NonNull
+		@Override
+		public CharSequence getText() {
+			return text;
+		}
 	}
-}
\ No newline at end of file
+}
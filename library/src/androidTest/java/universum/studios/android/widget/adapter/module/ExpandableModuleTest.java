@@ -0,0 +1,155 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.os.Parcel;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+import universum.studios.android.widget.adapter.inner.RecordingModuleAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class ExpandableModuleTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "ExpandableModuleTest";
+
+	private RecordingModuleAdapter mAdapter;
+	private ExpandableModule mModule;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mModule = new ExpandableModule();
+		this.mModule.attachToAdapter(mAdapter = new RecordingModuleAdapter());
+		mModule.setGroups(new int[]{2, 0, 3});
+		mAdapter.notifications.clear();
+	}
+
+	@Test
+	public void testCollapsedByDefault() {
+		assertThat(mModule.getGroupCount(), is(3));
+		assertThat(mModule.getItemCount(), is(3));
+		assertThat(mModule.isExpanded(0), is(false));
+		assertThat(mModule.getFlatPosition(2), is(2));
+		assertThat(mModule.getFlatPosition(2, 1), is(-1));
+	}
+
+	@Test
+	public void testExpandGroup() {
+		assertThat(mModule.expandGroup(2), is(true));
+		assertThat(mModule.expandGroup(2), is(false));
+		assertThat(mModule.getItemCount(), is(6));
+		assertThat(mAdapter.notifications.get(0), is("inserted(3, 3)"));
+		assertThat(mAdapter.notifications.get(1), is("changed(2, 1, " + ExpandableModule.PAYLOAD_EXPANSION + ")"));
+		mModule.expandGroup(0);
+		assertThat(mAdapter.notifications.get(2), is("inserted(1, 2)"));
+		assertThat(mModule.getFlatPosition(2), is(4));
+		assertThat(mModule.getFlatPosition(2, 2), is(7));
+	}
+
+	@Test
+	public void testCollapseGroup() {
+		mModule.expandGroup(0);
+		mModule.expandGroup(2);
+		mAdapter.notifications.clear();
+		assertThat(mModule.collapseGroup(0), is(true));
+		assertThat(mAdapter.notifications.get(0), is("removed(1, 2)"));
+		assertThat(mModule.getItemCount(), is(6));
+		assertThat(mModule.toggleGroup(2), is(false));
+		assertThat(mAdapter.notifications.get(2), is("removed(3, 3)"));
+		assertThat(mModule.getItemCount(), is(3));
+	}
+
+	@Test
+	public void testGetPackedPosition() {
+		mModule.expandGroup(0);
+		mModule.expandGroup(2);
+		// G0, C0, C1, G1, G2, C0, C1, C2
+		final int[][] expected = {{0, -1}, {0, 0}, {0, 1}, {1, -1}, {2, -1}, {2, 0}, {2, 1}, {2, 2}};
+		for (int position = 0; position < expected.length; position++) {
+			final long packedPosition = mModule.getPackedPosition(position);
+			assertThat(ExpandableModule.getPackedGroup(packedPosition), is(expected[position][0]));
+			assertThat(ExpandableModule.getPackedChild(packedPosition), is(expected[position][1]));
+			assertThat(mModule.getFlatPosition(expected[position][0], expected[position][1]), is(position));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetPackedPositionOutOfBounds() {
+		mModule.getPackedPosition(3);
+	}
+
+	@Test
+	public void testSetChildCount() {
+		mModule.expandGroup(0);
+		mAdapter.notifications.clear();
+		mModule.setChildCount(0, 5);
+		assertThat(mAdapter.notifications.get(0), is("inserted(3, 3)"));
+		mModule.setChildCount(0, 1);
+		assertThat(mAdapter.notifications.get(1), is("removed(2, 4)"));
+		mModule.setChildCount(1, 4);
+		assertThat(mAdapter.notifications.size(), is(2));
+		assertThat(mModule.getItemCount(), is(4));
+	}
+
+	@Test
+	public void testLargeGroupCount() {
+		final int[] childCounts = new int[100000];
+		for (int i = 0; i < childCounts.length; i++) {
+			childCounts[i] = i % 7;
+		}
+		mModule.setGroups(childCounts);
+		for (int group = 0; group < childCounts.length; group += 3) {
+			mModule.expandGroup(group);
+		}
+		int position = 0;
+		for (int group = 0; group < childCounts.length; group++) {
+			assertThat(mModule.getFlatPosition(group), is(position));
+			position += 1 + (mModule.isExpanded(group) ? childCounts[group] : 0);
+		}
+		assertThat(mModule.getItemCount(), is(position));
+		final long packedPosition = mModule.getPackedPosition(mModule.getFlatPosition(99999, 1));
+		assertThat(ExpandableModule.getPackedGroup(packedPosition), is(99999));
+		assertThat(ExpandableModule.getPackedChild(packedPosition), is(1));
+	}
+
+	@Test
+	public void testSaveAndRestoreState() {
+		mModule.expandGroup(2);
+		final Parcel parcel = Parcel.obtain();
+		mModule.saveInstanceState().writeToParcel(parcel, 0);
+		parcel.setDataPosition(0);
+		final ExpandableModule module = new ExpandableModule();
+		module.restoreInstanceState(ExpandableModule.SavedState.CREATOR.createFromParcel(parcel));
+		parcel.recycle();
+		module.setGroups(new int[]{2, 0, 3});
+		assertThat(module.isExpanded(2), is(true));
+		assertThat(module.getItemCount(), is(6));
+	}
+}
@@ -25,6 +25,10 @@ import org.junit.runner.RunWith;
 
 import universum.studios.android.widget.adapter.inner.BaseTest;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
 /**
  * @author Martin Albedinsky
  */
@@ -34,13 +38,102 @@ public final class HeadersModuleTest extends BaseTest {
 	@SuppressWarnings("unused")
 	private static final String TAG = "HeadersModuleTest";
 
+	private TestModule mModule;
+
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
+		this.mModule = new TestModule();
+		// Headers at 0, 3 and 7 for sections with 2, 3 and 1 items.
+		mModule.addHeader(new HeadersModule.SimpleHeader("A"), 0);
+		mModule.addHeader(new HeadersModule.SimpleHeader("B"), 3);
+		mModule.addHeader(new HeadersModule.SimpleHeader("C"), 7);
+	}
+
+	@Test
+	public void testGetHeadersCountBeforePosition() {
+		assertThat(mModule.getHeadersCountBeforePosition(0), is(0));
+		assertThat(mModule.getHeadersCountBeforePosition(1), is(1));
+		assertThat(mModule.getHeadersCountBeforePosition(3), is(1));
+		assertThat(mModule.getHeadersCountBeforePosition(4), is(2));
+		assertThat(mModule.getHeadersCountBeforePosition(7), is(2));
+		assertThat(mModule.getHeadersCountBeforePosition(100), is(3));
+	}
+
+	@Test
+	public void testCorrectPosition() {
+		assertThat(mModule.correctPosition(1), is(0));
+		assertThat(mModule.correctPosition(2), is(1));
+		assertThat(mModule.correctPosition(4), is(2));
+		assertThat(mModule.correctPosition(8), is(5));
+	}
+
+	@Test
+	public void testGetHeadersCountBeforePositionAfterRemoval() {
+		mModule.removeHeaderAt(3);
+		assertThat(mModule.getHeadersCountBeforePosition(4), is(1));
+		mModule.clearHeaders();
+		assertThat(mModule.getHeadersCountBeforePosition(4), is(0));
+	}
+
+	@Test
+	public void testAdapterPositionOf() {
+		assertThat(mModule.adapterPositionOf(0), is(1));
+		assertThat(mModule.adapterPositionOf(1), is(2));
+		assertThat(mModule.adapterPositionOf(2), is(4));
+		assertThat(mModule.adapterPositionOf(4), is(6));
+		assertThat(mModule.adapterPositionOf(5), is(8));
+		for (int dataPosition = 0; dataPosition < 10; dataPosition++) {
+			assertThat(mModule.correctPosition(mModule.adapterPositionOf(dataPosition)), is(dataPosition));
+		}
 	}
 
 	@Test
-	public void test() {
+	public void testAdapterPositionsOf() {
+		assertThat(mModule.adapterPositionsOf(new int[]{0, 1, 2, 4, 5, 9}), is(new int[]{1, 2, 4, 6, 8, 12}));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdapterPositionsOfUnsorted() {
+		mModule.adapterPositionsOf(new int[]{2, 1});
+	}
+
+	@Test
+	public void testGetSections() {
+		final Object[] sections = mModule.getSections();
+		assertThat(sections.length, is(3));
+		assertThat(sections[0].toString(), is("A"));
+		assertThat(sections[1].toString(), is("B"));
+		assertThat(sections[2].toString(), is("C"));
+		assertThat(mModule.getSections(), is(sameInstance(sections)));
+		mModule.removeHeaderAt(3);
+		assertThat(mModule.getSections().length, is(2));
+		assertThat(mModule.getSections()[1].toString(), is("C"));
+	}
+
+	@Test
+	public void testGetPositionForSection() {
+		assertThat(mModule.getPositionForSection(0), is(0));
+		assertThat(mModule.getPositionForSection(1), is(3));
+		assertThat(mModule.getPositionForSection(2), is(7));
+		assertThat(mModule.getPositionForSection(-1), is(0));
+		assertThat(mModule.getPositionForSection(10), is(7));
+		mModule.clearHeaders();
+		assertThat(mModule.getPositionForSection(1), is(0));
+	}
+
+	@Test
+	public void testGetSectionForPosition() {
+		assertThat(mModule.getSectionForPosition(0), is(0));
+		assertThat(mModule.getSectionForPosition(2), is(0));
+		assertThat(mModule.getSectionForPosition(3), is(1));
+		assertThat(mModule.getSectionForPosition(6), is(1));
+		assertThat(mModule.getSectionForPosition(7), is(2));
+		assertThat(mModule.getSectionForPosition(100), is(2));
+		mModule.clearHeaders();
+		assertThat(mModule.getSectionForPosition(5), is(0));
+	}
 
+	private static final class TestModule extends HeadersModule<HeadersModule.SimpleHeader> {
 	}
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class LongHashSetTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "LongHashSetTest";
+
+	@Test
+	public void testAddContainsRemove() {
+		final LongHashSet set = new LongHashSet(0);
+		assertThat(set.add(10L), is(true));
+		assertThat(set.add(0L), is(true));
+		assertThat(set.add(Long.MIN_VALUE), is(true));
+		assertThat(set.add(10L), is(false));
+		assertThat(set.size(), is(3));
+		assertThat(set.contains(10L), is(true));
+		assertThat(set.contains(0L), is(true));
+		assertThat(set.contains(Long.MIN_VALUE), is(true));
+		assertThat(set.contains(11L), is(false));
+		assertThat(set.remove(0L), is(true));
+		assertThat(set.remove(0L), is(false));
+		assertThat(set.remove(12L), is(false));
+		assertThat(set.size(), is(2));
+		assertThat(set.contains(0L), is(false));
+	}
+
+	@Test
+	public void testToArray() {
+		final LongHashSet set = new LongHashSet(2);
+		set.add(5L);
+		set.add(0L);
+		set.add(-3L);
+		assertThat(set.toArray(), is(new long[]{-3L, 0L, 5L}));
+		set.clear();
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set.toArray().length, is(0));
+	}
+
+	@Test
+	public void testAgainstHashSet() {
+		final LongHashSet set = new LongHashSet(0);
+		final Set<Long> expected = new HashSet<>();
+		final Random random = new Random(42);
+		for (int i = 0; i < 10000; i++) {
+			final long value = random.nextInt(500);
+			if (random.nextBoolean()) {
+				assertThat(set.add(value), is(expected.add(value)));
+			} else {
+				assertThat(set.remove(value), is(expected.remove(value)));
+			}
+		}
+		assertThat(set.size(), is(expected.size()));
+		for (long value = 0; value < 500; value++) {
+			assertThat(set.contains(value), is(expected.contains(value)));
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class PositionBitSetTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "PositionBitSetTest";
+
+	@Test
+	public void testSetRange() {
+		final PositionBitSet set = new PositionBitSet();
+		assertThat(set.setRange(10, 100000, true), is(99990));
+		assertThat(set.cardinality(), is(99990));
+		assertThat(set.get(9), is(false));
+		assertThat(set.get(10), is(true));
+		assertThat(set.get(99999), is(true));
+		assertThat(set.get(100000), is(false));
+		assertThat(set.setRange(0, 20, true), is(10));
+		assertThat(set.setRange(50, 70000, false), is(69950));
+		assertThat(set.cardinality(), is(50 + 30000));
+		assertThat(set.nextSetBit(50), is(70000));
+		assertThat(set.lastSetBit(), is(99999));
+		set.clear();
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set.nextSetBit(0), is(-1));
+		assertThat(set.lastSetBit(), is(-1));
+	}
+
+	@Test
+	public void testNextClearBit() {
+		final PositionBitSet set = new PositionBitSet();
+		assertThat(set.nextClearBit(0), is(0));
+		set.setRange(10, 100000, true);
+		assertThat(set.nextClearBit(0), is(0));
+		assertThat(set.nextClearBit(10), is(100000));
+		assertThat(set.nextClearBit(99999), is(100000));
+		assertThat(set.nextClearBit(200000), is(200000));
+		set.setRange(0, 8192, true);
+		// Bits after the last chunk are clear.
+		assertThat(set.nextClearBit(0), is(100000));
+	}
+
+	@Test
+	public void testInsert() {
+		final PositionBitSet set = new PositionBitSet();
+		set.setRange(0, 10, true);
+		set.insert(5, 100);
+		assertThat(set.cardinality(), is(10));
+		assertThat(set.get(4), is(true));
+		assertThat(set.get(5), is(false));
+		assertThat(set.get(104), is(false));
+		assertThat(set.get(105), is(true));
+		assertThat(set.lastSetBit(), is(109));
+	}
+
+	@Test
+	public void testRemove() {
+		final PositionBitSet set = new PositionBitSet();
+		set.setRange(0, 10, true);
+		set.setRange(5000, 5010, true);
+		set.remove(5, 4995);
+		assertThat(set.cardinality(), is(15));
+		assertThat(set.toArray(), is(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}));
+	}
+
+	@Test
+	public void testAgainstList() {
+		final PositionBitSet set = new PositionBitSet();
+		final List<Boolean> expected = new ArrayList<>();
+		final Random random = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			expected.add(false);
+		}
+		for (int i = 0; i < 500; i++) {
+			final int position = random.nextInt(expected.size());
+			final int count = random.nextInt(random.nextBoolean() ? 100 : 10000);
+			switch (random.nextInt(3)) {
+				case 0:
+					final int end = Math.min(expected.size(), position + count);
+					final boolean value = random.nextBoolean();
+					set.setRange(position, end, value);
+					for (int j = position; j < end; j++) {
+						expected.set(j, value);
+					}
+					break;
+				case 1:
+					set.insert(position, count);
+					for (int j = 0; j < count; j++) {
+						expected.add(position, false);
+					}
+					break;
+				default:
+					final int removeCount = Math.min(count, expected.size() - position);
+					set.remove(position, removeCount);
+					for (int j = 0; j < removeCount; j++) {
+						expected.remove(position);
+					}
+					break;
+			}
+			while (expected.size() < 1000) {
+				expected.add(false);
+			}
+			int cardinality = 0;
+			for (int j = 0; j < expected.size(); j++) {
+				assertThat(set.get(j), is(expected.get(j)));
+				if (expected.get(j)) cardinality++;
+			}
+			assertThat(set.cardinality(), is(cardinality));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.os.Parcel;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.TestSelectionAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class PositionSelectionModuleTest extends ContextBaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "PositionSelectionModuleTest";
+
+	private TestSelectionAdapter mAdapter;
+	private PositionSelectionModule mModule;
+
+	@Override
+	public void beforeTest() throws Exception {
+		super.beforeTest();
+		this.mModule = new PositionSelectionModule();
+		this.mModule.attachToAdapter(mAdapter = new TestSelectionAdapter(mContext, 100000));
+	}
+
+	@Test
+	public void testSetSelected() {
+		mModule.setSelected(5, true);
+		assertThat(mModule.isSelected(5), is(true));
+		assertThat(mAdapter.lastChangedRange, is(new int[]{5, 1}));
+		assertThat(mAdapter.lastPayload, is((Object) SelectionModule.PAYLOAD_SELECTION));
+		assertThat(mModule.toggleSelection(5), is(0));
+		assertThat(mModule.isSelected(5), is(false));
+	}
+
+	@Test
+	public void testSelectRange() {
+		mModule.selectRange(1000, 50000);
+		assertThat(mModule.getSelectionSize(), is(50000));
+		assertThat(mModule.isSelected(999), is(false));
+		assertThat(mModule.isSelected(1000), is(true));
+		assertThat(mModule.isSelected(50999), is(true));
+		assertThat(mAdapter.lastChangedRange, is(new int[]{1000, 50000}));
+		mModule.clearSelectionInRange(2000, 1000);
+		assertThat(mModule.getSelectionSize(), is(49000));
+		mModule.selectAll();
+		assertThat(mModule.getSelectionSize(), is(100000));
+		mModule.clearSelection();
+		assertThat(mModule.getSelectionSize(), is(0));
+		assertThat(mAdapter.lastChangedRange, is(new int[]{0, 100000}));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSelectRangeOutOfBounds() {
+		mModule.selectRange(99990, 20);
+	}
+
+	@Test
+	public void testRemapOnStructuralChanges() {
+		mModule.selectRange(10, 5);
+		mModule.onItemRangeInserted(12, 3);
+		assertThat(mModule.getSelection(), is(new int[]{10, 11, 15, 16, 17}));
+		mModule.onItemRangeRemoved(0, 11);
+		assertThat(mModule.getSelection(), is(new int[]{0, 4, 5, 6}));
+		mModule.onItemMoved(0, 8);
+		assertThat(mModule.getSelection(), is(new int[]{3, 4, 5, 8}));
+	}
+
+	@Test
+	public void testSaveAndRestoreState() {
+		mModule.selectRange(0, 70000);
+		mModule.setSelected(90000, true);
+		final Parcel parcel = Parcel.obtain();
+		mModule.saveInstanceState().writeToParcel(parcel, 0);
+		parcel.setDataPosition(0);
+		final PositionSelectionModule module = new PositionSelectionModule();
+		module.restoreInstanceState(PositionSelectionModule.SavedState.CREATOR.createFromParcel(parcel));
+		parcel.recycle();
+		assertThat(module.getSelectionSize(), is(70001));
+		assertThat(module.isSelected(69999), is(true));
+		assertThat(module.isSelected(70000), is(false));
+		assertThat(module.isSelected(90000), is(true));
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * =================================================================================================
+ *                             Copyright (C) 2017 Universum Studios
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package universum.studios.android.widget.adapter.module;
+
+import android.os.SystemClock;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import universum.studios.android.widget.adapter.inner.BaseTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * @author Martin Albedinsky
+ */
+@RunWith(AndroidJUnit4.class)
+public final class SelectionCodecTest extends BaseTest {
+
+	@SuppressWarnings("unused")
+	private static final String TAG = "SelectionCodecTest";
+
+	@Test
+	public void testRoundTrip() {
+		assertRoundTrip(new long[0]);
+		assertRoundTrip(new long[]{0L});
+		assertRoundTrip(new long[]{-5L, -4L, -3L, 0L, 2L, 3L, 10L});
+		assertRoundTrip(new long[]{Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L, 1L, Long.MAX_VALUE - 1, Long.MAX_VALUE});
+	}
+
+	@Test
+	public void testEncodeContiguousSelection() {
+		final long[] ids = contiguousIds(100000);
+		// Count, runs, start and length of a single run.
+		assertThat(SelectionCodec.encode(ids).length, is(lessThan(16)));
+		assertRoundTrip(ids);
+	}
+
+	@Test
+	public void testEncodePositionBitSet() {
+		final PositionBitSet positions = new PositionBitSet();
+		positions.setRange(3, 5, true);
+		positions.setRange(64, 100000, true);
+		positions.setRange(100001, 100002, true);
+		final long[] ids = new long[positions.cardinality()];
+		int index = 0;
+		for (final int position : positions.toArray()) {
+			ids[index++] = position;
+		}
+		final byte[] data = SelectionCodec.encode(positions);
+		assertThat(data, is(SelectionCodec.encode(ids)));
+		final PositionBitSet decoded = new PositionBitSet();
+		SelectionCodec.decode(data, decoded);
+		assertThat(decoded.toArray(), is(positions.toArray()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeNegativePositions() {
+		SelectionCodec.decode(SelectionCodec.encode(new long[]{-1L, 0L}), new PositionBitSet());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeTruncatedData() {
+		final byte[] data = SelectionCodec.encode(new long[]{1L, 5L, 9L});
+		SelectionCodec.decode(Arrays.copyOf(data, data.length - 1));
+	}
+
+	@Test
+	public void testBenchmarkSizes() {
+		for (final int count : new int[]{1000, 100000, 1000000}) {
+			benchmark("contiguous", contiguousIds(count));
+			final long[] sparseIds = sparseIds(count);
+			final int size = benchmark("sparse", sparseIds);
+			// Gaps of sparse ids are small, so each id takes less than a half of its raw size.
+			assertThat(size, is(lessThan(count * 4)));
+		}
+	}
+
+	private static int benchmark(String pattern, long[] ids) {
+		final long encodeStart = SystemClock.elapsedRealtime();
+		final byte[] data = SelectionCodec.encode(ids);
+		final long decodeStart = SystemClock.elapsedRealtime();
+		final long[] decodedIds = SelectionCodec.decode(data);
+		final long decodeEnd = SystemClock.elapsedRealtime();
+		assertThat(decodedIds, is(ids));
+		Log.d(TAG, pattern + " ids(" + ids.length + "): raw " + ids.length * 8 + " B, encoded " + data.length +
+				" B, encode " + (decodeStart - encodeStart) + " ms, decode " + (decodeEnd - decodeStart) + " ms");
+		return data.length;
+	}
+
+	private static void assertRoundTrip(long[] ids) {
+		assertThat(SelectionCodec.decode(SelectionCodec.encode(ids)), is(ids));
+	}
+
+	private static long[] contiguousIds(int count) {
+		final long[] ids = new long[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = 1000L + i;
+		}
+		return ids;
+	}
+
+	private static long[] sparseIds(int count) {
+		final Random random = new Random(42);
+		final long[] ids = new long[count];
+		long id = 0;
+		for (int i = 0; i < count; i++) {
+			id += 1 + random.nextInt(64);
+			ids[i] = id;
+		}
+		return ids;
+	}
+}
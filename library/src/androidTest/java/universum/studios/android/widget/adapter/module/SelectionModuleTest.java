@@ -18,23 +18,21 @@
  */
 package universum.studios.android.widget.adapter.module;
 
-import android.content.Context;
-import android.support.annotation.NonNull;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.test.runner.AndroidJUnit4;
-import android.view.View;
-import android.view.ViewGroup;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.File;
 
-import universum.studios.android.widget.adapter.SimpleAdapter;
 import universum.studios.android.widget.adapter.inner.ContextBaseTest;
+import universum.studios.android.widget.adapter.inner.TestSelectionAdapter;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.nullValue;
 
@@ -47,16 +45,16 @@ public final class SelectionModuleTest extends ContextBaseTest {
 	@SuppressWarnings("unused")
 	private static final String TAG = "SelectionModuleTest";
 
-	private static final List<Long> TEST_SELECTION = Arrays.asList(0L, 8L, 9L);
+	private static final long[] TEST_SELECTION = {9L, 0L, 8L};
 
-	private TestAdapter mAdapter;
+	private TestSelectionAdapter mAdapter;
 	private SelectionModule mModule;
 
 	@Override
 	public void beforeTest() throws Exception {
 		super.beforeTest();
 		this.mModule = new SelectionModule();
-		this.mModule.attachToAdapter(mAdapter = new TestAdapter(mContext));
+		this.mModule.attachToAdapter(mAdapter = new TestSelectionAdapter(mContext));
 	}
 
 	@Test
@@ -190,25 +188,25 @@ public final class SelectionModuleTest extends ContextBaseTest {
 	@Test
 	public void testSetSelection() {
 		mModule.setSelection(TEST_SELECTION);
-		final List<Long> selection = mModule.getSelection();
+		final long[] selection = mModule.getSelection();
 		assertThat(selection, is(not(nullValue())));
-		assertThat(selection.size(), is(3));
-		assertThat(selection.get(0), is(0L));
-		assertThat(selection.get(1), is(8L));
-		assertThat(selection.get(2), is(9L));
+		assertThat(selection.length, is(3));
+		assertThat(selection[0], is(0L));
+		assertThat(selection[1], is(8L));
+		assertThat(selection[2], is(9L));
 	}
 
 	@Test
 	public void testGetDefaultSelection() {
-		final List<Long> selection = mModule.getSelection();
+		final long[] selection = mModule.getSelection();
 		assertThat(selection, is(not(nullValue())));
-		assertThat(selection.isEmpty(), is(true));
+		assertThat(selection.length, is(0));
 	}
 
 	@Test
 	public void testClearSelection() {
 		mModule.setSelection(TEST_SELECTION);
-		assertThat(mModule.getSelectionSize(), is(TEST_SELECTION.size()));
+		assertThat(mModule.getSelectionSize(), is(TEST_SELECTION.length));
 		mModule.clearSelection();
 		assertThat(mModule.getSelectionSize(), is(0));
 		assertThat(mModule.getSelection(), is(not(nullValue())));
@@ -234,6 +232,100 @@ public final class SelectionModuleTest extends ContextBaseTest {
 		mModule.clearSelectionInRange(0, mAdapter.getItemCount() + 10);
 	}
 
+	@Test
+	public void testSelectAllLargeAdapter() {
+		final SelectionModule module = new SelectionModule();
+		module.setMode(SelectionModule.MULTIPLE);
+		final TestSelectionAdapter adapter = new TestSelectionAdapter(mContext, 20000);
+		module.attachToAdapter(adapter);
+		module.selectAll();
+		assertThat(module.getSelectionSize(), is(20000));
+		assertThat(adapter.notifyDataSetChangedCount, is(1));
+		module.clearSelectionInRange(0, 20000);
+		assertThat(module.getSelectionSize(), is(0));
+		assertThat(adapter.notifyDataSetChangedCount, is(2));
+	}
+
+	@Test
+	public void testSetSelectedForIds() {
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.setSelected(new long[]{1L, 3L, 5L}, true);
+		assertThat(mModule.getSelection(), is(new long[]{1L, 3L, 5L}));
+		mModule.setSelected(new long[]{3L, 7L}, false);
+		assertThat(mModule.getSelection(), is(new long[]{1L, 5L}));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSetSelectedForIdsInSingleMode() {
+		mModule.setSelected(new long[]{1L}, true);
+	}
+
+	@Test
+	public void testRangeSelectionWithoutChangeDoesNotNotify() {
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.selectRange(0, 5);
+		mAdapter.resetReceivedCallbacks();
+		mModule.selectRange(1, 3);
+		assertThat(mAdapter.notifyDataSetChangedReceived, is(false));
+		mModule.clearSelectionInRange(5, 5);
+		assertThat(mAdapter.notifyDataSetChangedReceived, is(false));
+	}
+
+	@Test
+	public void testNotifiesChangedPositionsOnly() {
+		mModule.setSelected(2L, true);
+		assertThat(mAdapter.lastChangedRange, is(new int[]{2, 1}));
+		assertThat(mAdapter.lastPayload, is((Object) SelectionModule.PAYLOAD_SELECTION));
+		// Selecting another id in SINGLE mode changes also the previously selected one.
+		mAdapter.changedRanges.clear();
+		mModule.setSelected(6L, true);
+		assertThat(mAdapter.changedRanges.size(), is(2));
+		assertThat(mAdapter.changedRanges.get(0), is(new int[]{2, 1}));
+		assertThat(mAdapter.changedRanges.get(1), is(new int[]{6, 1}));
+		mAdapter.resetReceivedCallbacks();
+		mModule.setSelected(6L, true);
+		assertThat(mAdapter.notifyDataSetChangedReceived, is(false));
+		mModule.setSelected(6L, false);
+		assertThat(mAdapter.lastChangedRange, is(new int[]{6, 1}));
+	}
+
+	@Test
+	public void testNotifiesChangedPositionsOnlyInMultipleMode() {
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.setSelected(2L, true);
+		mAdapter.changedRanges.clear();
+		mModule.setSelected(7L, true);
+		mModule.toggleSelection(8L);
+		assertThat(mModule.getSelection(), is(new long[]{2L, 7L, 8L}));
+		assertThat(mAdapter.changedRanges.size(), is(2));
+		assertThat(mAdapter.changedRanges.get(0), is(new int[]{7, 1}));
+		assertThat(mAdapter.changedRanges.get(1), is(new int[]{8, 1}));
+		mAdapter.changedRanges.clear();
+		mModule.setSelected(new long[]{1L, 3L, 5L}, true);
+		assertThat(mModule.getSelectionSize(), is(6));
+		assertThat(mAdapter.changedRanges.size(), is(3));
+		assertThat(mAdapter.changedRanges.get(0), is(new int[]{1, 1}));
+		assertThat(mAdapter.changedRanges.get(1), is(new int[]{3, 1}));
+		assertThat(mAdapter.changedRanges.get(2), is(new int[]{5, 1}));
+		mAdapter.changedRanges.clear();
+		mModule.clearSelection();
+		assertThat(mModule.getSelectionSize(), is(0));
+		assertThat(mAdapter.changedRanges.size(), is(3));
+		assertThat(mAdapter.changedRanges.get(0), is(new int[]{1, 3}));
+		assertThat(mAdapter.changedRanges.get(1), is(new int[]{5, 1}));
+		assertThat(mAdapter.changedRanges.get(2), is(new int[]{7, 2}));
+	}
+
+	@Test
+	public void testNotifiesChangedRange() {
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.setSelected(3L, true);
+		mModule.selectRange(1, 5);
+		assertThat(mAdapter.lastChangedRange, is(new int[]{1, 5}));
+		mModule.clearSelectionInRange(4, 6);
+		assertThat(mAdapter.lastChangedRange, is(new int[]{4, 2}));
+	}
+
 	@Test
 	public void testAdapterNotifications() {
 		testAdapterNotifications(true);
@@ -271,39 +363,89 @@ public final class SelectionModuleTest extends ContextBaseTest {
 		// Clear selection in range.
 		mModule.setSelection(TEST_SELECTION);
 		mAdapter.resetReceivedCallbacks();
-		mModule.clearSelectionInRange(0, TEST_SELECTION.size() - 1);
+		mModule.clearSelectionInRange(0, TEST_SELECTION.length - 1);
 		assertThat(mAdapter.notifyDataSetChangedReceived, is(enabled));
 		mModule.clearSelection();
 	}
 
-	private static final class TestAdapter extends SimpleAdapter<String, View> implements AdapterModule.ModuleAdapter {
-
-		private boolean notifyDataSetChangedReceived;
-
-		TestAdapter(@NonNull Context context) {
-			super(context, new String[]{
-					"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"
-			});
-		}
+	@Test
+	public void testSaveAndRestoreState() {
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.setSelection(TEST_SELECTION);
+		final SelectionModule module = new SelectionModule();
+		module.restoreInstanceState(parcelAndUnparcel(mModule.saveInstanceState()));
+		assertThat(module.getMode(), is(SelectionModule.MULTIPLE));
+		assertThat(module.getSelection(), is(new long[]{0L, 8L, 9L}));
+	}
 
-		void resetReceivedCallbacks() {
-			this.notifyDataSetChangedReceived = false;
+	@Test
+	public void testSaveAndRestoreStateSpilledToFile() {
+		final File file = new File(mContext.getCacheDir(), "selection-test.state");
+		mModule.setStateSpillFile(file, 16);
+		mModule.setMode(SelectionModule.MULTIPLE);
+		final long[] selection = new long[100000];
+		for (int i = 0; i < selection.length; i++) {
+			selection[i] = i * 3L;
 		}
+		mModule.setSelection(selection);
+		final Parcel parcel = Parcel.obtain();
+		mModule.saveInstanceState().writeToParcel(parcel, 0);
+		// Only handle of the file should be kept within the saved state.
+		assertThat(parcel.dataSize(), is(lessThan(1024)));
+		parcel.recycle();
+		assertThat(file.exists(), is(true));
+		final SelectionModule module = new SelectionModule();
+		module.restoreInstanceState(parcelAndUnparcel(mModule.saveInstanceState()));
+		assertThat(module.getSelection(), is(selection));
+		assertThat(file.delete(), is(true));
+	}
 
-		@Override
-		public void notifyDataSetChanged() {
-			super.notifyDataSetChanged();
-			this.notifyDataSetChangedReceived = true;
+	@Test
+	public void testSaveStateUnderThresholdDeletesStaleSpillFile() {
+		final File file = new File(mContext.getCacheDir(), "selection-test-stale.state");
+		mModule.setStateSpillFile(file, 16);
+		mModule.setMode(SelectionModule.MULTIPLE);
+		final long[] selection = new long[1000];
+		for (int i = 0; i < selection.length; i++) {
+			selection[i] = i * 3L;
 		}
+		mModule.setSelection(selection);
+		mModule.saveInstanceState();
+		assertThat(file.exists(), is(true));
+		mModule.setSelection(TEST_SELECTION);
+		final Parcelable state = parcelAndUnparcel(mModule.saveInstanceState());
+		assertThat(file.exists(), is(false));
+		final SelectionModule module = new SelectionModule();
+		module.restoreInstanceState(state);
+		assertThat(module.getSelection(), is(new long[]{0L, 8L, 9L}));
+		mModule.setSelection(selection);
+		mModule.saveInstanceState();
+		assertThat(file.exists(), is(true));
+		mModule.clearSelection();
+		mModule.saveInstanceState();
+		assertThat(file.exists(), is(false));
+	}
 
-		@NonNull
-		@Override
-		protected View onCreateView(@NonNull ViewGroup parent, int position) {
-			return new View(parent.getContext());
-		}
+	@Test
+	public void testRestoreStateWithMissingSpillFile() {
+		final File file = new File(mContext.getCacheDir(), "selection-test-missing.state");
+		mModule.setStateSpillFile(file, 0);
+		mModule.setMode(SelectionModule.MULTIPLE);
+		mModule.setSelection(TEST_SELECTION);
+		final Parcelable state = parcelAndUnparcel(mModule.saveInstanceState());
+		assertThat(file.delete(), is(true));
+		final SelectionModule module = new SelectionModule();
+		module.restoreInstanceState(state);
+		assertThat(module.getMode(), is(SelectionModule.MULTIPLE));
+		assertThat(module.getSelectionSize(), is(0));
+	}
 
-		@Override
-		protected void onBindViewHolder(@NonNull View viewHolder, int position) {
-		}
+	private static Parcelable parcelAndUnparcel(Parcelable state) {
+		final Parcel parcel = Parcel.obtain();
+		state.writeToParcel(parcel, 0);
+		parcel.setDataPosition(0);
+		final Parcelable unparceledState = SelectionModule.SavedState.CREATOR.createFromParcel(parcel);
+		parcel.recycle();
+		return unparceledState;
 	}
 }
\ No newline at end of file
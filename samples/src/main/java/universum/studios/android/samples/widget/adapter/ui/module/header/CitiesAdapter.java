@@ -49,13 +49,17 @@ final class CitiesAdapter extends SimpleRecyclerAdapter<City, RecyclerView.ViewH
 		super(context);
 		this.mHeaders = new AlphabeticHeaders();
 		this.mHeaders.attachToAdapter(this);
+		// Share the background thread used to compute differences of items.
+		this.mHeaders.setExecutor(getDiffExecutor());
 	}
 
 	@Override
 	protected boolean onItemsChange(@Nullable List<City> newItems, @Nullable List<City> oldItems) {
-		mHeaders.clearHeaders();
-		if (newItems != null) {
-			mHeaders.fromAlphabeticList(newItems);
+		if (newItems == null) {
+			mHeaders.clearHeaders();
+		} else {
+			// Clears the current headers until the new ones are computed.
+			mHeaders.fromAlphabeticListAsync(newItems);
 		}
 		return super.onItemsChange(newItems, oldItems);
 	}
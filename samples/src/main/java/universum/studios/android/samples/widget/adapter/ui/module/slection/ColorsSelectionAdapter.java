@@ -29,6 +29,8 @@ import android.support.v7.widget.RecyclerView;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.List;
+
 import universum.studios.android.samples.widget.adapter.R;
 import universum.studios.android.samples.widget.adapter.databinding.ItemListColorBinding;
 import universum.studios.android.widget.adapter.AdapterSavedState;
@@ -78,6 +80,16 @@ final class ColorsSelectionAdapter extends SimpleRecyclerAdapter<Integer, Colors
 		holder.binding.executePendingBindings();
 	}
 
+	@Override
+	public void onBindViewHolder(@NonNull ItemHolder holder, int position, @NonNull List<Object> payloads) {
+		if (payloads.contains(SelectionModule.PAYLOAD_SELECTION)) {
+			holder.binding.setSelected(mSelection.isSelected(getItemId(position)));
+			holder.binding.executePendingBindings();
+		} else {
+			super.onBindViewHolder(holder, position, payloads);
+		}
+	}
+
 	private static String colorName(@ColorInt int color, boolean withAlpha) {
 		final String aHex = Integer.toString(Color.alpha(color), 16);
 		final String rHex = Integer.toString(Color.red(color), 16);